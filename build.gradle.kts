@@ -2,6 +2,7 @@ plugins {
     `java-library`
     id("org.springframework.boot") version "3.1.4"
     id("io.spring.dependency-management") version "1.1.3"
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 group = "com.infernalsuite"
@@ -17,15 +18,67 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.2.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("org.msgpack:jackson-dataformat-msgpack:0.9.6")
+    implementation("com.aayushatharva.brotli4j:brotli4j:1.13.0")
+    implementation("org.apache.commons:commons-fileupload2-jakarta-servlet6:2.0.0-M2")
+    runtimeOnly("com.aayushatharva.brotli4j:native-linux-x86_64:1.13.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-linux-aarch64:1.13.0")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
     implementation("org.checkerframework:checker-qual:3.32.0")
     implementation("org.jetbrains:annotations:24.0.1")
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.0")
     testImplementation("org.springframework.boot:spring-boot-starter-test:3.1.5")
+    testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:mongodb")
 
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("openapi")
+    }
+}
+
+val openApiDir = layout.buildDirectory.dir("generated/openapi")
+
+// springdoc is disabled at runtime, the document it would produce is generated here and packed into the jar.
+// Pass -PapiBaseUrl to set the server URL the document advertises.
+val generateOpenApi by tasks.registering(Test::class) {
+    description = "Generates the OpenAPI document served by OpenApiController."
+    group = "documentation"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("openapi")
+    }
+    systemProperty("openapi.output", openApiDir.get().asFile.absolutePath)
+    findProperty("apiBaseUrl")?.let { systemProperty("app.api-base-url", it) }
+    outputs.dir(openApiDir)
+}
+
+tasks.bootJar {
+    dependsOn(generateOpenApi)
+    from(openApiDir) {
+        into("BOOT-INF/classes/openapi")
+    }
+}
+
+tasks.bootRun {
+    systemProperty("springdoc.api-docs.enabled", "true")
+}
+
+// -Paot processes the application ahead of time, so the jar carries generated bean definitions instead of
+// scanning at startup. Conditions such as app.webhooks.enabled are evaluated at build time in that case.
+// The Dockerfile expects a jar built this way.
+if (project.hasProperty("aot")) {
+    apply(plugin = "org.springframework.boot.aot")
+}
+
+jmh {
+    jmhVersion.set("1.37")
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Measures how long a container takes until it answers /v1/projects, and its resident memory at that point,
+# for the image built from the Dockerfile against the plain fat jar on a stock JRE.
+#
+#   ./gradlew bootJar -Paot && scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS="${1:-5}"
+JAR="build/libs/IS-API-1.0-SNAPSHOT.jar"
+NETWORK="isdownload-benchmark"
+IMAGE="isdownload-api:benchmark"
+
+cleanup() {
+    docker rm -f isdownload-mongo isdownload-app >/dev/null 2>&1 || true
+    docker network rm "${NETWORK}" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker build --quiet --tag "${IMAGE}" . >/dev/null
+docker network create "${NETWORK}" >/dev/null
+docker run --detach --name isdownload-mongo --network "${NETWORK}" mongo:6.0 >/dev/null
+
+now_ms() {
+    date +%s%3N
+}
+
+# runs one container with the given arguments and prints "<milliseconds> <rss kB>"
+measure() {
+    docker create --name isdownload-app --network "${NETWORK}" --publish 18080:8080 \
+        --env SPRING_DATA_MONGODB_URI=mongodb://isdownload-mongo:27017/library "$@" >/dev/null
+    local start
+    start="$(now_ms)"
+    docker start isdownload-app >/dev/null
+    until curl --silent --fail --output /dev/null http://127.0.0.1:18080/v1/projects; do
+        sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    local rss
+    rss="$(docker exec isdownload-app sh -c "grep VmRSS /proc/1/status" | awk '{print $2}')"
+    docker rm -f isdownload-app >/dev/null
+    echo "${elapsed} ${rss}"
+}
+
+report() {
+    local name="$1"
+    shift
+    local total_ms=0 total_rss=0
+    for run in $(seq "${RUNS}"); do
+        read -r ms rss < <(measure "$@")
+        echo "${name} run ${run}: ${ms} ms, ${rss} kB RSS"
+        total_ms=$(( total_ms + ms ))
+        total_rss=$(( total_rss + rss ))
+    done
+    echo "${name} mean: $(( total_ms / RUNS )) ms, $(( total_rss / RUNS )) kB RSS"
+}
+
+report "fat jar" --volume "$(pwd)/${JAR}:/app.jar:ro" eclipse-temurin:17-jre java -jar /app.jar
+report "aot+cds" "${IMAGE}"
@@ -0,0 +1,65 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures taking a token for a client picked from a population of addresses, alone and with threads contending
+ * for the same shards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    private static final RateLimiter.Limit LIMIT = RateLimiter.Limit.of(600, Duration.ofMinutes(1));
+
+    @Param({"100", "1000000"})
+    private int clients;
+
+    private RateLimiter limiter;
+    private String[] addresses;
+
+    @Setup
+    public void setup() {
+        this.limiter = new RateLimiter(16, 16_384);
+        this.addresses = new String[Math.min(this.clients, 65_536)];
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < this.addresses.length; i++) {
+            this.addresses[i] = random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+        }
+    }
+
+    @Benchmark
+    public long acquire() {
+        return this.acquireAny();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long acquireContended() {
+        return this.acquireAny();
+    }
+
+    private long acquireAny() {
+        // beyond the pooled addresses, a varying group stands in for distinct clients without building strings
+        final int client = ThreadLocalRandom.current().nextInt(this.clients);
+        return this.limiter.acquire(this.addresses[client % this.addresses.length], client / this.addresses.length, LIMIT);
+    }
+}
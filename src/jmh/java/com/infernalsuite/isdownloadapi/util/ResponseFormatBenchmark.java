@@ -0,0 +1,106 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary response formats against JSON on a builds listing shaped like the API's, reporting the
+ * encoded size next to the time to write and to parse it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseFormatBenchmark {
+    @Param({"JSON", "CBOR", "SMILE", "MSGPACK"})
+    private ResponseFormat format;
+
+    @Param({"10", "500"})
+    private int builds;
+
+    private ObjectMapper mapper;
+    private JsonNode document;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        this.mapper = new ResponseFormat.Mappers(new ObjectMapper()).get(this.format);
+        this.document = listing(this.builds);
+        this.encoded = this.mapper.writeValueAsBytes(this.document);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return this.mapper.writeValueAsBytes(this.document);
+    }
+
+    @Benchmark
+    public JsonNode parse(final Size size) throws IOException {
+        size.payloadBytes = this.encoded.length;
+        return this.mapper.readTree(this.encoded);
+    }
+
+    private static JsonNode listing(final int count) {
+        final Random random = new Random(42);
+        final ObjectMapper json = new ObjectMapper();
+        final ObjectNode root = json.createObjectNode()
+                .put("project_id", "aspaper")
+                .put("project_name", "ASPaper")
+                .put("version", "1.20.2");
+        final ArrayNode builds = root.putArray("builds");
+        Instant time = Instant.parse("2023-10-01T00:00:00Z");
+        for (int number = 1; number <= count; number++) {
+            time = time.plusSeconds(random.nextInt(86_400));
+            final ObjectNode build = builds.addObject()
+                    .put("build", number)
+                    .put("time", time.toString())
+                    .put("channel", random.nextInt(4) == 0 ? "experimental" : "default")
+                    .put("promoted", false);
+            build.putArray("changes").addObject()
+                    .put("commit", Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()))
+                    .put("summary", "Update upstream (" + Integer.toHexString(random.nextInt()) + ")")
+                    .put("message", "Update upstream\n\nUpstream has released updates that appear to apply and compile correctly.");
+            build.putObject("downloads").putObject("application")
+                    .put("name", "aspaper-1.20.2-" + number + ".jar")
+                    .put("sha256", Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong())
+                            + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+        }
+        return root;
+    }
+
+    /**
+     * The encoded size of the listing, reported as a secondary result of {@link #parse(Size)}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.payloadBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting version listings with the name based comparator that was used before sort keys were
+ * introduced against {@link Version#COMPARATOR}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VersionOrderBenchmark {
+    private static final Comparator<Version> NAME_COMPARATOR = (o1, o2) -> {
+        final Instant t1 = o1.time();
+        final Instant t2 = o2.time();
+        if (t1 != null && t2 != null) {
+            return t1.compareTo(t2);
+        }
+        final String n1 = Objects.requireNonNull(o1.name(), () -> "name of " + o1);
+        final String n2 = Objects.requireNonNull(o2.name(), () -> "name of " + o2);
+        return n1.compareTo(n2);
+    };
+
+    @Param({"16", "256"})
+    private int size;
+
+    private List<Version> shuffled;
+    private List<Version> scratch;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        final ObjectId project = new ObjectId();
+        final ObjectId group = new ObjectId();
+        this.shuffled = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final String name = switch (random.nextInt(4)) {
+                case 0 -> "1." + random.nextInt(21) + "." + random.nextInt(5) + "-pre" + (1 + random.nextInt(9));
+                case 1 -> "1." + random.nextInt(21) + "-SNAPSHOT";
+                default -> "1." + random.nextInt(21) + "." + random.nextInt(5);
+            };
+            this.shuffled.add(new Version(new ObjectId(), project, group, name, null));
+        }
+        this.scratch = new ArrayList<>(this.shuffled);
+    }
+
+    @Benchmark
+    public List<Version> nameComparator() {
+        Collections.copy(this.scratch, this.shuffled);
+        this.scratch.sort(NAME_COMPARATOR);
+        return this.scratch;
+    }
+
+    @Benchmark
+    public List<Version> sortKeyComparator() {
+        Collections.copy(this.scratch, this.shuffled);
+        this.scratch.sort(Version.COMPARATOR);
+        return this.scratch;
+    }
+
+    @Benchmark
+    public long parseSortKey() {
+        long accumulator = 0;
+        for (final Version version : this.shuffled) {
+            accumulator += SemanticVersion.sortKey(version.name());
+        }
+        return accumulator;
+    }
+}
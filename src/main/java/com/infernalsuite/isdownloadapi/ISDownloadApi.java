@@ -1,20 +1,50 @@
 package com.infernalsuite.isdownloadapi;
 
 import com.infernalsuite.isdownloadapi.configuration.AppConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.CompressionConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.FeedConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.IndexConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.InvalidationConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.NegativeCacheConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.RateLimitConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.ReadRoutingConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.ResponseCacheConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.UploadConfiguration;
+import com.infernalsuite.isdownloadapi.configuration.WebhookConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.ServletComponentScan;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @EnableConfigurationProperties({
-        AppConfiguration.class
+        AppConfiguration.class,
+        CompressionConfiguration.class,
+        FeedConfiguration.class,
+        IndexConfiguration.class,
+        InvalidationConfiguration.class,
+        NegativeCacheConfiguration.class,
+        RateLimitConfiguration.class,
+        ResponseCacheConfiguration.class,
+        ReadRoutingConfiguration.class,
+        UploadConfiguration.class,
+        WebhookConfiguration.class
 })
 @SpringBootApplication
 @ServletComponentScan
 public class ISDownloadApi {
 
+    /**
+     * When set, the application stops again as soon as it has started. The container image build uses such a run,
+     * without a database, to record the classes loaded during startup into a CDS archive.
+     */
+    static final String TRAINING_RUN = "app.training-run";
+
     public static void main(String[] args) {
-        SpringApplication.run(ISDownloadApi.class, args);
+        final ConfigurableApplicationContext context = SpringApplication.run(ISDownloadApi.class, args);
+        if (Boolean.getBoolean(TRAINING_RUN)) {
+            context.close();
+        }
     }
 
 }
@@ -0,0 +1,16 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
+import com.infernalsuite.isdownloadapi.feed.BuildFeed;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class BuildFeedConfiguration {
+    @Bean
+    BuildFeed buildFeed(final BuildViewCollection views, final ObjectMapper json, final InvalidationBus invalidations, final FeedConfiguration configuration) {
+        return new BuildFeed(views, json, invalidations, configuration.getDispatchThreads());
+    }
+}
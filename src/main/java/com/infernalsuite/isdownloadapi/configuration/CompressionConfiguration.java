@@ -0,0 +1,59 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.compression")
+@Validated
+public class CompressionConfiguration {
+    private boolean enabled = true;
+    private DataSize minSize = DataSize.ofKilobytes(1);
+    private List<MediaType> mediaTypes = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_PROBLEM_JSON);
+    private @Min(0) @Max(11) int brotliQuality = 4;
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public DataSize getMinSize() {
+        return this.minSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMinSize(final DataSize minSize) {
+        this.minSize = minSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public List<MediaType> getMediaTypes() {
+        return this.mediaTypes;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMediaTypes(final List<MediaType> mediaTypes) {
+        this.mediaTypes = mediaTypes;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getBrotliQuality() {
+        return this.brotliQuality;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setBrotliQuality(final int brotliQuality) {
+        this.brotliQuality = brotliQuality;
+    }
+}
@@ -0,0 +1,56 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.feed")
+@Validated
+public class FeedConfiguration {
+    private @Positive int dispatchThreads = 4;
+    private @Positive int maxProjects = 50;
+    private Duration streamTimeout = Duration.ofMinutes(30);
+    private Duration pollTimeout = Duration.ofSeconds(30);
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getDispatchThreads() {
+        return this.dispatchThreads;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setDispatchThreads(final int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getMaxProjects() {
+        return this.maxProjects;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxProjects(final int maxProjects) {
+        this.maxProjects = maxProjects;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getStreamTimeout() {
+        return this.streamTimeout;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setStreamTimeout(final Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getPollTimeout() {
+        return this.pollTimeout;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setPollTimeout(final Duration pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+}
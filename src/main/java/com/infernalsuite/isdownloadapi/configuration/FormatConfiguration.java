@@ -0,0 +1,42 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.util.MessagePackHttpMessageConverter;
+import com.infernalsuite.isdownloadapi.util.ResponseFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+class FormatConfiguration implements WebMvcConfigurer {
+    private final ResponseFormat.Mappers mappers;
+
+    @Autowired
+    private FormatConfiguration(final ObjectMapper json) {
+        this.mappers = new ResponseFormat.Mappers(json);
+    }
+
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        // the converters Spring registers on its own do not share the application's object mapper settings
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        // after the JSON converter, so that requests without a preference keep getting JSON
+        final int position = Math.min(json + 1, converters.size());
+        converters.addAll(position, List.of(
+                new MappingJackson2CborHttpMessageConverter(this.mappers.get(ResponseFormat.CBOR)),
+                new MappingJackson2SmileHttpMessageConverter(this.mappers.get(ResponseFormat.SMILE)),
+                new MessagePackHttpMessageConverter(this.mappers.get(ResponseFormat.MSGPACK))
+        ));
+    }
+}
@@ -0,0 +1,53 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.indexes")
+@Validated
+public class IndexConfiguration {
+    private boolean migrate = true;
+    private boolean verify = true;
+    private boolean create = true;
+    private boolean failOnMissing = false;
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isMigrate() {
+        return this.migrate;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMigrate(final boolean migrate) {
+        this.migrate = migrate;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isVerify() {
+        return this.verify;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setVerify(final boolean verify) {
+        this.verify = verify;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isCreate() {
+        return this.create;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setCreate(final boolean create) {
+        this.create = create;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isFailOnMissing() {
+        return this.failOnMissing;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setFailOnMissing(final boolean failOnMissing) {
+        this.failOnMissing = failOnMissing;
+    }
+}
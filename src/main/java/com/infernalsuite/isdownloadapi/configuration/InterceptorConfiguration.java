@@ -0,0 +1,31 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import com.infernalsuite.isdownloadapi.interceptor.ReadRoutingInterceptor;
+import com.infernalsuite.isdownloadapi.interceptor.VaryAcceptInterceptor;
+import com.infernalsuite.isdownloadapi.lookup.NegativeLookupCache;
+import com.infernalsuite.isdownloadapi.lookup.NegativeLookupInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+class InterceptorConfiguration implements WebMvcConfigurer {
+    private final ReadRoutingConfiguration readRouting;
+    private final ObjectProvider<NegativeLookupCache> negativeLookups;
+
+    @Autowired
+    private InterceptorConfiguration(final ReadRoutingConfiguration readRouting, final ObjectProvider<NegativeLookupCache> negativeLookups) {
+        this.readRouting = readRouting;
+        this.negativeLookups = negativeLookups;
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadRoutingInterceptor(this.readRouting));
+        registry.addInterceptor(new VaryAcceptInterceptor());
+        // absent when disabled, and in web slice tests
+        this.negativeLookups.ifAvailable(cache -> registry.addInterceptor(new NegativeLookupInterceptor(cache)));
+    }
+}
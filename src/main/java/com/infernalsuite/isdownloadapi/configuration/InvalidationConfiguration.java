@@ -0,0 +1,71 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.invalidation")
+@Validated
+public class InvalidationConfiguration {
+    private Transport transport = Transport.LOCAL;
+    private String collection = "invalidations";
+    private DataSize cappedSize = DataSize.ofMegabytes(1);
+    private Duration retention = Duration.ofHours(1);
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Transport getTransport() {
+        return this.transport;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setTransport(final Transport transport) {
+        this.transport = transport;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public String getCollection() {
+        return this.collection;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setCollection(final String collection) {
+        this.collection = collection;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public DataSize getCappedSize() {
+        return this.cappedSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setCappedSize(final DataSize cappedSize) {
+        this.cappedSize = cappedSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getRetention() {
+        return this.retention;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setRetention(final Duration retention) {
+        this.retention = retention;
+    }
+
+    public enum Transport {
+        /**
+         * Events stay within this process.
+         */
+        LOCAL,
+        /**
+         * Events are followed through a change stream, which requires a replica set.
+         */
+        CHANGE_STREAM,
+        /**
+         * Events are followed through a tailable cursor on a capped collection.
+         */
+        CAPPED
+    }
+}
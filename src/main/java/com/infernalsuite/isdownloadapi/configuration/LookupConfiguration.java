@@ -0,0 +1,31 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.lookup.NegativeLookupCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class LookupConfiguration {
+    @Bean
+    @ConditionalOnProperty(prefix = "app.negative-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    NegativeLookupCache negativeLookupCache(
+            final ProjectCollection projects,
+            final VersionCollection versions,
+            final VersionFamilyCollection families,
+            final InvalidationBus invalidations,
+            final NegativeCacheConfiguration configuration
+    ) {
+        return new NegativeLookupCache(projects, versions, families, invalidations, new NegativeLookupCache.Settings(
+                configuration.getExpectedNames(),
+                configuration.getFalsePositiveRate(),
+                configuration.getMissTtl(),
+                configuration.getMaxMisses(),
+                configuration.getRebuildInterval()
+        ));
+    }
+}
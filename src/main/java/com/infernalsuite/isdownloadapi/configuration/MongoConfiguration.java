@@ -1,8 +1,30 @@
 package com.infernalsuite.isdownloadapi.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.database.BuildImporter;
+import com.infernalsuite.isdownloadapi.database.BuildViewMigration;
+import com.infernalsuite.isdownloadapi.database.IndexManager;
+import com.infernalsuite.isdownloadapi.database.LatestMigration;
+import com.infernalsuite.isdownloadapi.database.RoutingMongoTemplate;
+import com.infernalsuite.isdownloadapi.database.Sequences;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookDeliveryCollection;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookSubscriptionCollection;
+import com.infernalsuite.isdownloadapi.invalidation.CappedInvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.ChangeStreamInvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.LocalInvalidationBus;
+import com.infernalsuite.isdownloadapi.storage.MongoUploadSessionStore;
+import com.infernalsuite.isdownloadapi.storage.UploadSessionStore;
+import com.infernalsuite.isdownloadapi.webhook.WebhookClient;
+import com.infernalsuite.isdownloadapi.webhook.WebhookDispatcher;
+import com.infernalsuite.isdownloadapi.webhook.WebhookOutbox;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.*;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 
@@ -20,4 +42,90 @@ class MongoConfiguration {
         mappingConverter.setTypeMapper(new DefaultMongoTypeMapper(null)); // to remove _class
         return mappingConverter;
     }
+
+    @Bean
+    MongoTemplate mongoTemplate(final MongoDatabaseFactory mongoDatabaseFactory, final MappingMongoConverter mappingMongoConverter) {
+        return new RoutingMongoTemplate(mongoDatabaseFactory, mappingMongoConverter);
+    }
+
+    @Bean
+    IndexManager indexManager(final MongoTemplate mongoTemplate, final MongoMappingContext context) {
+        return new IndexManager(mongoTemplate, context);
+    }
+
+    @Bean
+    LatestMigration latestMigration(final MongoTemplate mongoTemplate) {
+        return new LatestMigration(mongoTemplate);
+    }
+
+    @Bean
+    BuildViewMigration buildViewMigration(final MongoTemplate mongoTemplate, final Sequences sequences) {
+        return new BuildViewMigration(mongoTemplate, sequences);
+    }
+
+    @Bean
+    Sequences sequences(final MongoTemplate mongoTemplate) {
+        return new Sequences(mongoTemplate);
+    }
+
+    @Bean
+    BuildImporter buildImporter(final MongoTemplate mongoTemplate, final LatestCollection latest, final Sequences sequences) {
+        return new BuildImporter(mongoTemplate, latest, sequences);
+    }
+
+    @Bean
+    SmartInitializingSingleton indexVerification(
+            final IndexManager indexManager,
+            final IndexConfiguration configuration,
+            final LatestMigration latestMigration,
+            final BuildViewMigration buildViewMigration
+    ) {
+        return () -> {
+            // migrations run first, so that the unique indexes they make room for can be built
+            if (configuration.isMigrate()) {
+                latestMigration.run();
+                buildViewMigration.run();
+            }
+            if (!configuration.isVerify()) {
+                return;
+            }
+            final IndexManager.Report report = indexManager.reconcile(configuration.isCreate());
+            if (configuration.isFailOnMissing() && !report.missing().isEmpty()) {
+                throw new IllegalStateException("Missing indexes: " + String.join(", ", report.missing()));
+            }
+        };
+    }
+
+    @Bean
+    InvalidationBus invalidationBus(final MongoTemplate mongoTemplate, final InvalidationConfiguration configuration) {
+        return switch (configuration.getTransport()) {
+            case LOCAL -> new LocalInvalidationBus();
+            case CHANGE_STREAM -> new ChangeStreamInvalidationBus(mongoTemplate, configuration.getCollection(), configuration.getRetention());
+            case CAPPED -> new CappedInvalidationBus(mongoTemplate, configuration.getCollection(), configuration.getCappedSize());
+        };
+    }
+
+    @Bean
+    UploadSessionStore uploadSessionStore(final MongoTemplate mongoTemplate) {
+        return new MongoUploadSessionStore(mongoTemplate);
+    }
+
+    @Bean
+    WebhookOutbox webhookOutbox(final WebhookSubscriptionCollection subscriptions, final WebhookDeliveryCollection deliveries) {
+        return new WebhookOutbox(subscriptions, deliveries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.webhooks", name = "enabled", havingValue = "true", matchIfMissing = true)
+    WebhookDispatcher webhookDispatcher(final MongoTemplate mongoTemplate, final ObjectMapper json, final WebhookConfiguration configuration) {
+        return new WebhookDispatcher(mongoTemplate, new WebhookClient(json, configuration.getTimeout()), new WebhookDispatcher.Settings(
+                configuration.getWorkers(),
+                configuration.getBatchSize(),
+                configuration.getMaxAttempts(),
+                configuration.getPollInterval(),
+                configuration.getLease(),
+                configuration.getBackoff(),
+                configuration.getMaxBackoff()
+        ));
+    }
 }
@@ -0,0 +1,91 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.negative-cache")
+@Validated
+public class NegativeCacheConfiguration {
+    private boolean enabled = true;
+    private @Positive int expectedNames = 100_000;
+    private @DecimalMin("0.0001") @DecimalMax("0.5") double falsePositiveRate = 0.01;
+    private Duration missTtl = Duration.ofSeconds(30);
+    private @Positive long maxMisses = 100_000;
+    private Duration notFoundMaxAge = Duration.ofSeconds(30);
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getExpectedNames() {
+        return this.expectedNames;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setExpectedNames(final int expectedNames) {
+        this.expectedNames = expectedNames;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public double getFalsePositiveRate() {
+        return this.falsePositiveRate;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setFalsePositiveRate(final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getMissTtl() {
+        return this.missTtl;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMissTtl(final Duration missTtl) {
+        this.missTtl = missTtl;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public long getMaxMisses() {
+        return this.maxMisses;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxMisses(final long maxMisses) {
+        this.maxMisses = maxMisses;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getNotFoundMaxAge() {
+        return this.notFoundMaxAge;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setNotFoundMaxAge(final Duration notFoundMaxAge) {
+        this.notFoundMaxAge = notFoundMaxAge;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getRebuildInterval() {
+        return this.rebuildInterval;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setRebuildInterval(final Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+}
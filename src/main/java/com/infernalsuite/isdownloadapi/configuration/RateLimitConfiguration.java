@@ -0,0 +1,123 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import com.infernalsuite.isdownloadapi.util.RateLimiter;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+public class RateLimitConfiguration {
+    private boolean enabled = true;
+    private @Positive @Max(RateLimiter.MAX_SHARDS) int shards = 16;
+    private @Positive @Max(RateLimiter.MAX_SLOTS_PER_SHARD) int slotsPerShard = 16_384;
+    private @Valid List<Group> groups = List.of(
+            group("download", List.of(
+                    "/v1/projects/*/versions/*/builds/*/artifacts/*/downloads/*",
+                    "/v1/projects/*/latest/download"
+            ), 60, Duration.ofMinutes(1)),
+            group("api", List.of("/v1/**"), 600, Duration.ofMinutes(1))
+    );
+
+    private static Group group(final String name, final List<String> paths, final int requests, final Duration period) {
+        final Group group = new Group();
+        group.setName(name);
+        group.setPaths(paths);
+        group.setRequests(requests);
+        group.setPeriod(period);
+        return group;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getShards() {
+        return this.shards;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setShards(final int shards) {
+        this.shards = shards;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getSlotsPerShard() {
+        return this.slotsPerShard;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setSlotsPerShard(final int slotsPerShard) {
+        this.slotsPerShard = slotsPerShard;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public List<Group> getGroups() {
+        return this.groups;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setGroups(final List<Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+        private @NotEmpty String name;
+        private @NotEmpty List<String> paths = List.of();
+        private @Positive int requests;
+        private Duration period = Duration.ofMinutes(1);
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public String getName() {
+            return this.name;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public List<String> getPaths() {
+            return this.paths;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public void setPaths(final List<String> paths) {
+            this.paths = paths;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public int getRequests() {
+            return this.requests;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public void setRequests(final int requests) {
+            this.requests = requests;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public Duration getPeriod() {
+            return this.period;
+        }
+
+        @SuppressWarnings("checkstyle:MethodName")
+        public void setPeriod(final Duration period) {
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.read-routing")
+@Validated
+public class ReadRoutingConfiguration {
+    private boolean enabled = false;
+    private String readPreference = "secondaryPreferred";
+    private Duration maxStaleness = Duration.ofSeconds(90);
+    private boolean allowPrimaryOverride = true;
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public String getReadPreference() {
+        return this.readPreference;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setReadPreference(final String readPreference) {
+        this.readPreference = readPreference;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getMaxStaleness() {
+        return this.maxStaleness;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxStaleness(final Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isAllowPrimaryOverride() {
+        return this.allowPrimaryOverride;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setAllowPrimaryOverride(final boolean allowPrimaryOverride) {
+        this.allowPrimaryOverride = allowPrimaryOverride;
+    }
+}
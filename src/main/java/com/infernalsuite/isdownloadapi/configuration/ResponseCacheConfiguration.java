@@ -0,0 +1,56 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.response-cache")
+@Validated
+public class ResponseCacheConfiguration {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofHours(1);
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getTtl() {
+        return this.ttl;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setTtl(final Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public DataSize getMaxSize() {
+        return this.maxSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxSize(final DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public DataSize getMaxEntrySize() {
+        return this.maxEntrySize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxEntrySize(final DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+}
@@ -0,0 +1,24 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import com.infernalsuite.isdownloadapi.storage.ArtifactStorage;
+import com.infernalsuite.isdownloadapi.storage.UploadSessionStore;
+import com.infernalsuite.isdownloadapi.storage.UploadSessions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class StorageConfiguration {
+    @Bean
+    ArtifactStorage artifactStorage(final AppConfiguration configuration) {
+        return new ArtifactStorage(configuration.getStoragePath());
+    }
+
+    @Bean
+    UploadSessions uploadSessions(final ArtifactStorage storage, final UploadConfiguration configuration, final UploadSessionStore store) {
+        return new UploadSessions(storage, store, new UploadSessions.Settings(
+                configuration.getSessionTtl(),
+                configuration.getSweepInterval(),
+                configuration.getMaxFileSize().toBytes()
+        ));
+    }
+}
@@ -0,0 +1,57 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.uploads")
+@Validated
+public class UploadConfiguration {
+    private DataSize maxFileSize = DataSize.ofGigabytes(2);
+    private Duration sessionTtl = Duration.ofHours(24);
+    private Duration sweepInterval = Duration.ofMinutes(10);
+    private @Positive int importBatchSize = 1000;
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public DataSize getMaxFileSize() {
+        return this.maxFileSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxFileSize(final DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getSessionTtl() {
+        return this.sessionTtl;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setSessionTtl(final Duration sessionTtl) {
+        this.sessionTtl = sessionTtl;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getSweepInterval() {
+        return this.sweepInterval;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setSweepInterval(final Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getImportBatchSize() {
+        return this.importBatchSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setImportBatchSize(final int importBatchSize) {
+        this.importBatchSize = importBatchSize;
+    }
+}
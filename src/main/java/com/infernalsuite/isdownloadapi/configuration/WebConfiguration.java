@@ -1,14 +1,76 @@
 package com.infernalsuite.isdownloadapi.configuration;
 
+import com.infernalsuite.isdownloadapi.filter.CompressionFilter;
+import com.infernalsuite.isdownloadapi.filter.CompressionPolicy;
+import com.infernalsuite.isdownloadapi.filter.RateLimitFilter;
+import com.infernalsuite.isdownloadapi.filter.ResponseCacheFilter;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.util.RateLimiter;
 import jakarta.servlet.Filter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 @Configuration
 class WebConfiguration {
+    // filters run from the lowest order to the highest; the response cache wraps the ETag filter so it can reuse its tags,
+    // and compression wraps both so that it sees the final body and leaves the cache's precompressed variants alone;
+    // rate limiting comes first, right after the forwarded headers have set the client address, so rejections are cheap
+    static final int RATE_LIMIT_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+    static final int COMPRESSION_ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+    static final int RESPONSE_CACHE_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+    static final int SHALLOW_ETAG_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    @Bean
+    FilterRegistrationBean<Filter> shallowETagHeaderFilter() {
+        final FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.setOrder(SHALLOW_ETAG_ORDER);
+        return registration;
+    }
+
+    @Bean
+    CompressionPolicy compressionPolicy(final CompressionConfiguration configuration) {
+        return new CompressionPolicy(
+                Math.toIntExact(configuration.getMinSize().toBytes()),
+                configuration.getMediaTypes(),
+                configuration.getBrotliQuality()
+        );
+    }
+
+    @Bean
+    FilterRegistrationBean<CompressionFilter> compressionFilter(final CompressionConfiguration configuration, final CompressionPolicy policy) {
+        final FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(new CompressionFilter(policy));
+        registration.setOrder(COMPRESSION_ORDER);
+        registration.setEnabled(configuration.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(final RateLimitConfiguration configuration) {
+        final FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(
+                new RateLimiter(configuration.getShards(), configuration.getSlotsPerShard()),
+                configuration.getGroups().stream()
+                        .map(group -> new RateLimitFilter.Group(group.getName(), group.getPaths(), group.getRequests(), group.getPeriod()))
+                        .toList()
+        ));
+        registration.setOrder(RATE_LIMIT_ORDER);
+        registration.setEnabled(configuration.isEnabled());
+        return registration;
+    }
+
     @Bean
-    Filter shallowETagHeaderFilter() {
-        return new ShallowEtagHeaderFilter();
+    FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(final ResponseCacheConfiguration configuration, final InvalidationBus invalidations, final CompressionPolicy compression) {
+        final FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(
+                invalidations,
+                configuration.getTtl(),
+                configuration.getMaxSize().toBytes(),
+                Math.toIntExact(configuration.getMaxEntrySize().toBytes()),
+                compression
+        ));
+        registration.setOrder(RESPONSE_CACHE_ORDER);
+        registration.setEnabled(configuration.isEnabled());
+        return registration;
     }
 }
@@ -0,0 +1,111 @@
+package com.infernalsuite.isdownloadapi.configuration;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.webhooks")
+@Validated
+public class WebhookConfiguration {
+    private boolean enabled = true;
+    private @Positive int workers = 8;
+    private @Positive int batchSize = 50;
+    private @Positive int maxAttempts = 15;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration lease = Duration.ofMinutes(1);
+    private Duration timeout = Duration.ofSeconds(10);
+    private Duration backoff = Duration.ofSeconds(5);
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setWorkers(final int workers) {
+        this.workers = workers;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxAttempts(final int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getPollInterval() {
+        return this.pollInterval;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setPollInterval(final Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getLease() {
+        return this.lease;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setLease(final Duration lease) {
+        this.lease = lease;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setTimeout(final Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getBackoff() {
+        return this.backoff;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setBackoff(final Duration backoff) {
+        this.backoff = backoff;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public Duration getMaxBackoff() {
+        return this.maxBackoff;
+    }
+
+    @SuppressWarnings("checkstyle:MethodName")
+    public void setMaxBackoff(final Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+}
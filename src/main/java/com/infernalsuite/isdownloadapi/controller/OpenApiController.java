@@ -0,0 +1,70 @@
+package com.infernalsuite.isdownloadapi.controller;
+
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Serves the OpenAPI document generated at build time, see {@code generateOpenApi} in the build script, in place
+ * of springdoc, which is only enabled to generate it.
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", havingValue = "false")
+@SuppressWarnings("checkstyle:FinalClass")
+public class OpenApiController {
+    private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofHours(1));
+    private static final MediaType APPLICATION_OPENAPI_YAML = new MediaType("application", "vnd.oai.openapi");
+    private final Document json;
+    private final Document yaml;
+
+    private OpenApiController() {
+        this.json = Document.load("openapi/openapi.json", MediaType.APPLICATION_JSON);
+        this.yaml = Document.load("openapi/openapi.yaml", APPLICATION_OPENAPI_YAML);
+    }
+
+    @GetMapping("/openapi")
+    public ResponseEntity<?> json(final WebRequest request) {
+        return this.json.serve(request);
+    }
+
+    @GetMapping("/openapi.yaml")
+    public ResponseEntity<?> yaml(final WebRequest request) {
+        return this.yaml.serve(request);
+    }
+
+    private record Document(byte[] body, MediaType type, String etag) {
+        static Document load(final String path, final MediaType type) {
+            final ClassPathResource resource = new ClassPathResource(path);
+            if (!resource.exists()) {
+                throw new IllegalStateException("Missing " + path + ", build with the generateOpenApi task or set springdoc.api-docs.enabled to generate it at runtime");
+            }
+            try (final InputStream in = resource.getInputStream()) {
+                final byte[] body = in.readAllBytes();
+                return new Document(body, type, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        ResponseEntity<?> serve(final WebRequest request) {
+            if (request.checkNotModified(this.etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(CACHE).eTag(this.etag).contentType(this.type).body(this.body);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.infernalsuite.isdownloadapi.controller.v1;
+
+import com.infernalsuite.isdownloadapi.database.model.Artifact;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
+@SuppressWarnings("checkstyle:FinalClass")
+public class BatchLatestController {
+    private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofMinutes(1));
+    private static final int MAX_TARGETS = 50;
+    private final ProjectCollection projects;
+    private final LatestCollection latest;
+    private final VersionCollection versions;
+    private final BuildCollection builds;
+    private final ArtifactCollection artifacts;
+
+    @Autowired
+    private BatchLatestController(
+            final ProjectCollection projects,
+            final LatestCollection latest,
+            final VersionCollection versions,
+            final BuildCollection builds,
+            final ArtifactCollection artifacts
+    ) {
+        this.projects = projects;
+        this.latest = latest;
+        this.versions = versions;
+        this.builds = builds;
+        this.artifacts = artifacts;
+    }
+
+    @ApiResponse(
+            content = @Content(
+                    schema = @Schema(implementation = BatchLatestResponse.class)
+            ),
+            responseCode = "200"
+    )
+    @GetMapping("/v1/latest")
+    @Operation(summary = "Gets the latest builds of several projects at once.")
+    public ResponseEntity<?> latest(
+            @Parameter(description = "A project, or a version of a project as project:version. Repeat for up to 50 targets.", example = "aspaper")
+            @RequestParam("project")
+            final List<String> requested,
+            @Parameter(description = "Only consider builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channelName
+    ) {
+        final List<Target> targets = requested.stream().distinct().map(Target::parse).toList();
+        if (targets.isEmpty() || targets.size() > MAX_TARGETS) {
+            throw new InvalidParameter("project");
+        }
+        final Build.Channel channel = channelName == null ? null : channel(channelName);
+
+        // the number of queries below does not depend on the number of targets
+        final Map<String, Project> projects = this.projects.findAllByNameIn(targets.stream().map(Target::project).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Project::name, Function.identity(), (first, second) -> first));
+        final Set<ObjectId> versionedProjects = new HashSet<>();
+        final Set<String> versionNames = new HashSet<>();
+        for (final Target target : targets) {
+            final Project project = projects.get(target.project());
+            if (project != null && target.version() != null) {
+                versionedProjects.add(project._id());
+                versionNames.add(target.version());
+            }
+        }
+
+        final Map<ObjectId, Version> versions = new HashMap<>();
+        final Map<VersionKey, Version> namedVersions = new HashMap<>();
+        if (!versionedProjects.isEmpty()) {
+            for (final Version version : this.versions.findAllByProjectInAndNameIn(versionedProjects, versionNames)) {
+                versions.put(version._id(), version);
+                namedVersions.put(new VersionKey(version.project(), version.name()), version);
+            }
+        }
+
+        // every target is answered by the pointer of its scope, which only ever moves to a more recent build
+        final Map<Target, PointerKey> wanted = new HashMap<>();
+        for (final Target target : targets) {
+            final Project project = projects.get(target.project());
+            if (project == null) {
+                continue;
+            }
+            if (target.version() == null) {
+                wanted.put(target, new PointerKey(project._id(), Latest.Scope.of(false, false, channel != null), Latest.key(null, channel)));
+            } else {
+                final Version version = namedVersions.get(new VersionKey(project._id(), target.version()));
+                if (version != null) {
+                    wanted.put(target, new PointerKey(project._id(), Latest.Scope.of(true, false, channel != null), Latest.key(version._id(), channel)));
+                }
+            }
+        }
+        final Map<PointerKey, Latest> pointers = new HashMap<>();
+        if (!wanted.isEmpty()) {
+            final Collection<PointerKey> keys = wanted.values();
+            for (final Latest pointer : this.latest.findAllByProjectInAndScopeInAndKeyIn(
+                    keys.stream().map(PointerKey::project).collect(Collectors.toSet()),
+                    keys.stream().map(PointerKey::scope).collect(Collectors.toSet()),
+                    keys.stream().map(PointerKey::key).collect(Collectors.toSet())
+            )) {
+                pointers.put(new PointerKey(pointer.project(), pointer.scope(), pointer.key()), pointer);
+            }
+        }
+
+        // pointers written before snapshots are answered from their build instead
+        final Set<ObjectId> bare = pointers.values().stream()
+                .filter(pointer -> pointer.snapshot() == null)
+                .map(Latest::build)
+                .collect(Collectors.toSet());
+        final Map<ObjectId, Build> builds = new HashMap<>();
+        Map<ObjectId, List<Artifact>> artifacts = Map.of();
+        if (!bare.isEmpty()) {
+            for (final Build build : this.builds.findAllById(bare)) {
+                builds.put(build._id(), build);
+            }
+            final Set<ObjectId> unknownVersions = builds.values().stream()
+                    .map(Build::version)
+                    .filter(version -> !versions.containsKey(version))
+                    .collect(Collectors.toSet());
+            if (!unknownVersions.isEmpty()) {
+                for (final Version version : this.versions.findAllById(unknownVersions)) {
+                    versions.put(version._id(), version);
+                }
+            }
+            if (!builds.isEmpty()) {
+                artifacts = this.artifacts.findAllByProjectInAndVersionInAndBuildIn(
+                        builds.values().stream().map(Build::project).collect(Collectors.toSet()),
+                        builds.values().stream().map(Build::version).collect(Collectors.toSet()),
+                        builds.keySet()
+                ).stream().collect(Collectors.groupingBy(Artifact::build));
+            }
+        }
+
+        final List<LatestEntry> entries = new ArrayList<>(targets.size());
+        final List<String> notFound = new ArrayList<>();
+        for (final Target target : targets) {
+            final PointerKey key = wanted.get(target);
+            final Latest pointer = key == null ? null : pointers.get(key);
+            LatestEntry entry = null;
+            if (pointer != null && pointer.snapshot() != null) {
+                entry = LatestEntry.from(pointer.snapshot(), pointer.number());
+            } else if (pointer != null) {
+                final Build build = builds.get(pointer.build());
+                final Version version = build == null ? null : versions.get(build.version());
+                if (version != null) {
+                    entry = LatestEntry.from(projects.get(target.project()), version, build, artifacts.getOrDefault(build._id(), List.of()));
+                }
+            }
+            if (entry == null) {
+                notFound.add(target.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        return HTTP.cachedOk(new BatchLatestResponse(entries, notFound), CACHE);
+    }
+
+    private static Build.Channel channel(final String name) {
+        return Build.Channel.fromName(name).orElseThrow(() -> new InvalidParameter("channel"));
+    }
+
+    private record Target(String project, @Nullable String version) {
+        private static final Pattern PATTERN = Pattern.compile("([a-z]+)(?::(" + Version.PATTERN + "))?");
+
+        static Target parse(final String value) {
+            final Matcher matcher = PATTERN.matcher(value.trim());
+            if (!matcher.matches()) {
+                throw new InvalidParameter("project");
+            }
+            return new Target(matcher.group(1), matcher.group(2));
+        }
+
+        @Override
+        public String toString() {
+            return this.version == null ? this.project : this.project + ":" + this.version;
+        }
+    }
+
+    private record VersionKey(ObjectId project, String name) {
+    }
+
+    private record PointerKey(ObjectId project, Latest.Scope scope, String key) {
+    }
+
+    @Schema
+    private record BatchLatestResponse(
+            @Schema(name = "latest")
+            List<LatestEntry> latest,
+            @Schema(name = "not_found", description = "Requested targets without a latest build.", example = "[\"aspaper:1.8\"]")
+            List<String> not_found
+    ) {
+    }
+
+    @Schema
+    private record LatestEntry(
+            @Schema(name = "project_id", pattern = "[a-z]+", example = "aspaper")
+            String project_id,
+            @Schema(name = "project_name", example = "ASPaper")
+            String project_name,
+            @Schema(name = "version", pattern = Version.PATTERN, example = "1.20.2")
+            String version,
+            @Schema(name = "build", example = "10")
+            int build,
+            @Schema(name = "channel")
+            Build.Channel channel,
+            @Schema(name = "artifacts")
+            List<LatestController.LatestArtifact> artifacts
+    ) {
+        static LatestEntry from(final Project project, final Version version, final Build build, final List<Artifact> artifacts) {
+            return new LatestEntry(
+                    project.name(),
+                    project.friendlyName(),
+                    version.name(),
+                    build.number(),
+                    build.channelOrDefault(),
+                    artifacts.stream()
+                            .sorted(Comparator.comparing(Artifact::name))
+                            .map(artifact -> new LatestController.LatestArtifact(artifact.name(), artifact.downloads()))
+                            .toList()
+            );
+        }
+
+        static LatestEntry from(final Latest.Snapshot snapshot, final int number) {
+            return new LatestEntry(
+                    snapshot.project(),
+                    snapshot.projectName(),
+                    snapshot.version(),
+                    number,
+                    snapshot.channel(),
+                    snapshot.artifacts().stream()
+                            .sorted(Comparator.comparing(BuildView.ArtifactView::name))
+                            .map(artifact -> new LatestController.LatestArtifact(artifact.name(), artifact.downloads()))
+                            .toList()
+            );
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.infernalsuite.isdownloadapi.controller.v1;
 
 import com.infernalsuite.isdownloadapi.database.model.Artifact;
 import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.exception.ArtifactNotFound;
@@ -30,27 +32,36 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 public class BuildArtifactController {
     private static CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
     private final ProjectCollection projects;
     private final VersionCollection versions;
     private final BuildCollection builds;
     private final ArtifactCollection artifacts;
+    private final BuildViewCollection views;
 
     @Autowired
     private BuildArtifactController(
             final ProjectCollection projects,
             final VersionCollection versions,
             final BuildCollection builds,
-            final ArtifactCollection artifacts
+            final ArtifactCollection artifacts,
+            final BuildViewCollection views
     ) {
         this.projects = projects;
         this.versions = versions;
         this.builds = builds;
         this.artifacts = artifacts;
+        this.views = views;
     }
 
     @ApiResponse(
@@ -76,10 +87,16 @@ public class BuildArtifactController {
             @PathVariable("artifact")
             final String artifactName
     ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-        final Build build = this.builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(BuildNotFound::new);
-        final Artifact artifact = this.artifacts.findByProjectAndVersionAndBuildAndName(project._id(), version._id(), build._id(), artifactName).orElseThrow(ArtifactNotFound::new);
+        final Optional<BuildView> view = this.views.findByProjectAndVersionAndNumber(projectName, versionName, buildNumber);
+        if (view.isPresent()) {
+            final BuildView.ArtifactView artifact = view.get().artifact(artifactName).orElseThrow(() -> ArtifactNotFound.INSTANCE);
+            return HTTP.cachedOk(ArtifactResponse.from(view.get(), artifact), CACHE);
+        }
+        // builds without a view yet, and misses, resolve through the source collections
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        final Build build = this.builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(() -> BuildNotFound.INSTANCE);
+        final Artifact artifact = this.artifacts.findByProjectAndVersionAndBuildAndName(project._id(), version._id(), build._id(), artifactName).orElseThrow(() -> ArtifactNotFound.INSTANCE);
         return HTTP.cachedOk(ArtifactResponse.from(project, version, build, artifact), CACHE);
     }
 
@@ -108,5 +125,16 @@ public class BuildArtifactController {
                     artifact.downloads()
             );
         }
+
+        static ArtifactResponse from(final BuildView view, final BuildView.ArtifactView artifact) {
+            return new ArtifactResponse(
+                    view.project(),
+                    view.projectName(),
+                    view.version(),
+                    view.number(),
+                    artifact.name(),
+                    artifact.downloads()
+            );
+        }
     }
 }
@@ -2,10 +2,12 @@ package com.infernalsuite.isdownloadapi.controller.v1;
 
 import com.infernalsuite.isdownloadapi.database.model.Artifact;
 import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.exception.BuildNotFound;
@@ -29,27 +31,36 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 public class BuildArtifactsController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofMinutes(5));
     private final ProjectCollection projects;
     private final VersionCollection versions;
     private final BuildCollection builds;
     private final ArtifactCollection artifacts;
+    private final BuildViewCollection views;
 
     @Autowired
     private BuildArtifactsController(
             final ProjectCollection projects,
             final VersionCollection versions,
             final BuildCollection builds,
-            final ArtifactCollection artifacts
+            final ArtifactCollection artifacts,
+            final BuildViewCollection views
     ) {
         this.projects = projects;
         this.versions = versions;
         this.builds = builds;
         this.artifacts = artifacts;
+        this.views = views;
     }
 
     @ApiResponse(
@@ -73,9 +84,14 @@ public class BuildArtifactsController {
             @PathVariable("build")
             final int buildNumber
     ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-        final Build build = this.builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(BuildNotFound::new);
+        final Optional<BuildView> view = this.views.findByProjectAndVersionAndNumber(projectName, versionName, buildNumber);
+        if (view.isPresent()) {
+            return HTTP.cachedOk(ArtifactsResponse.from(view.get()), CACHE);
+        }
+        // builds without a view yet, and misses, resolve through the source collections
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        final Build build = this.builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(() -> BuildNotFound.INSTANCE);
         final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
         return HTTP.cachedOk(ArtifactsResponse.from(project, version, build, artifacts), CACHE);
     }
@@ -104,6 +120,18 @@ public class BuildArtifactsController {
                             artifact.downloads()
                     )).toList());
         }
+
+        static ArtifactsResponse from(final BuildView view) {
+            return new ArtifactsResponse(
+                    view.project(),
+                    view.projectName(),
+                    view.version(),
+                    view.number(),
+                    view.artifacts().stream().map(artifact -> new BuildArtifact(
+                            artifact.name(),
+                            artifact.downloads()
+                    )).toList());
+        }
     }
 
     @Schema
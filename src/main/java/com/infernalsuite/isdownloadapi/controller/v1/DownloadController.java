@@ -110,14 +110,14 @@ public class DownloadController {
             @Pattern(regexp = Artifact.Download.PATTERN)
             final String downloadName
     ) {
-        final Project project = projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Version version = versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-        final Build build = builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(BuildNotFound::new);
-        final Artifact artifact = artifacts.findByProjectAndVersionAndBuildAndName(project._id(), version._id(), build._id(), artifactName).orElseThrow(ArtifactNotFound::new);
+        final Project project = projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final Version version = versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        final Build build = builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(() -> BuildNotFound.INSTANCE);
+        final Artifact artifact = artifacts.findByProjectAndVersionAndBuildAndName(project._id(), version._id(), build._id(), artifactName).orElseThrow(() -> ArtifactNotFound.INSTANCE);
 
 //        Artifact.Download download = artifact.downloads().get(downloadName);
 //        if (download == null) {
-//            throw new DownloadNotFound();
+//            throw DownloadNotFound.INSTANCE;
 //        } else {
 //            try {
 //                return new JavaArchive(
@@ -152,7 +152,7 @@ public class DownloadController {
                 }
             }
         }
-        throw new DownloadNotFound();
+        throw DownloadNotFound.INSTANCE;
     }
 
     @ApiResponse(
@@ -187,10 +187,10 @@ public class DownloadController {
 //            @Pattern(regexp = "[a-z]+")
 //            final String projectName
 //    ) {
-//        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-//        final Latest latest = this.latest.findByProject(project._id()).orElseThrow(LatestNotFound::new);
-//        final Version version = this.versions.findById(latest.version()).orElseThrow(VersionNotFound::new);
-//        final Build build = this.builds.findById(latest.build()).orElseThrow(BuildNotFound::new);
+//        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+//        final Latest latest = this.latest.findByProject(project._id()).orElseThrow(() -> LatestNotFound.INSTANCE);
+//        final Version version = this.versions.findById(latest.version()).orElseThrow(() -> VersionNotFound.INSTANCE);
+//        final Build build = this.builds.findById(latest.build()).orElseThrow(() -> BuildNotFound.INSTANCE);
 //        final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
 //
 //        Path filePath = this.configuration.getStoragePath().resolve(project.name()).resolve(version.name()).resolve(String.valueOf(build.number()));
@@ -200,9 +200,9 @@ public class DownloadController {
 //            for (Map.Entry<String, Artifact.Download> download: artifact.downloads().entrySet()) {
 //                Path path = filePath.resolve(artifact.name()).resolve(download.getValue().name());
 //            }
-//            throw new DownloadNotFound();
+//            throw DownloadNotFound.INSTANCE;
 //        }
-//        throw new DownloadNotFound();
+//        throw DownloadNotFound.INSTANCE;
 //    }
 
     @ApiResponse(
@@ -233,17 +233,34 @@ public class DownloadController {
         response.setHeader("Cache-Control", "no-store");
         response.setStatus(HttpServletResponse.SC_OK);
 
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Latest latest = this.latest.findByProject(project._id()).orElseThrow(LatestNotFound::new);
-        final Version version = this.versions.findById(latest.version()).orElseThrow(VersionNotFound::new);
-        final Build build = this.builds.findById(latest.build()).orElseThrow(BuildNotFound::new);
-        final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
-
         List<String> filePaths = new ArrayList<>();
-        for (Artifact artifact: artifacts) {
-            for (Map.Entry<String, Artifact.Download> download: artifact.downloads().entrySet()) {
-                Path path = this.configuration.getStoragePath().resolve(project.name()).resolve(version.name()).resolve(String.valueOf(build.number())).resolve(artifact.name()).resolve(download.getValue().name());
-                filePaths.add(path.toString());
+        // the latest pointer's snapshot names every file in a single read
+        final Latest snapshotted = this.latest.findBySnapshotProjectAndScopeAndKey(projectName, Latest.Scope.PROJECT, "")
+                .filter(found -> found.snapshot() != null)
+                .orElse(null);
+        if (snapshotted != null) {
+            final Latest.Snapshot snapshot = snapshotted.snapshot();
+            for (BuildView.ArtifactView artifact: snapshot.artifacts()) {
+                if (artifact.downloads() == null) {
+                    continue;
+                }
+                for (Map.Entry<String, Artifact.Download> download: artifact.downloads().entrySet()) {
+                    Path path = this.configuration.getStoragePath().resolve(snapshot.project()).resolve(snapshot.version()).resolve(String.valueOf(snapshotted.number())).resolve(artifact.name()).resolve(download.getValue().name());
+                    filePaths.add(path.toString());
+                }
+            }
+        } else {
+            final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+            final Latest latest = this.latest.findByProject(project._id()).orElseThrow(() -> LatestNotFound.INSTANCE);
+            final Version version = this.versions.findById(latest.version()).orElseThrow(() -> VersionNotFound.INSTANCE);
+            final Build build = this.builds.findById(latest.build()).orElseThrow(() -> BuildNotFound.INSTANCE);
+            final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
+
+            for (Artifact artifact: artifacts) {
+                for (Map.Entry<String, Artifact.Download> download: artifact.downloads().entrySet()) {
+                    Path path = this.configuration.getStoragePath().resolve(project.name()).resolve(version.name()).resolve(String.valueOf(build.number())).resolve(artifact.name()).resolve(download.getValue().name());
+                    filePaths.add(path.toString());
+                }
             }
         }
 
@@ -255,7 +272,7 @@ public class DownloadController {
                 logger.error("Adding to zip file " + filePath);
                 FileSystemResource resource = new FileSystemResource(filePath);
                 if (!resource.exists()) {
-                    throw new DownloadNotFound();
+                    throw DownloadNotFound.INSTANCE;
                 }
                 ZipEntry zipEntry = new ZipEntry(resource.getFilename());
                 zipEntry.setSize(resource.contentLength());
@@ -0,0 +1,204 @@
+package com.infernalsuite.isdownloadapi.controller.v1;
+
+import com.infernalsuite.isdownloadapi.configuration.FeedConfiguration;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
+import com.infernalsuite.isdownloadapi.feed.BuildFeed;
+import com.infernalsuite.isdownloadapi.feed.FeedEvent;
+import com.infernalsuite.isdownloadapi.feed.PollFeedSubscriber;
+import com.infernalsuite.isdownloadapi.feed.SseFeedSubscriber;
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
+@SuppressWarnings("checkstyle:FinalClass")
+public class FeedController {
+    private static final Pattern PROJECT = Pattern.compile("[a-z]+");
+    private static final Duration RECONNECT = Duration.ofSeconds(5);
+    private static final long UNKNOWN = -1;
+    private final BuildFeed feed;
+    private final FeedConfiguration configuration;
+
+    @Autowired
+    private FeedController(
+            final BuildFeed feed,
+            final FeedConfiguration configuration
+    ) {
+        this.feed = feed;
+        this.configuration = configuration;
+    }
+
+    @ApiResponse(
+            content = @Content(
+                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = FeedEvent.class)
+            ),
+            responseCode = "200"
+    )
+    @GetMapping(value = "/v1/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Streams new builds of the given projects as server-sent events.")
+    public SseEmitter stream(
+            @Parameter(description = "A project to follow. Repeat to follow several.", example = "aspaper")
+            @RequestParam("project")
+            final List<String> projectNames,
+            @Parameter(description = "Only send builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channelName,
+            @Parameter(description = "The id of the last event received, to resume after a disconnect.")
+            @RequestHeader(value = "Last-Event-ID", required = false)
+            final @Nullable String lastEventId,
+            final HttpServletRequest request
+    ) {
+        final Set<String> projects = this.projects(projectNames);
+        final Build.Channel channel = channelName == null ? null : channel(channelName);
+        final Long after = lastEventId == null || lastEventId.isBlank() ? null : cursor(lastEventId, "Last-Event-ID");
+
+        // the ETag filter would otherwise buffer the stream until it ends
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        final SseEmitter emitter = new SseEmitter(this.configuration.getStreamTimeout().toMillis());
+        final SseFeedSubscriber subscriber = new SseFeedSubscriber(emitter, projects, channel);
+        emitter.onCompletion(() -> this.feed.unsubscribe(subscriber));
+        emitter.onTimeout(() -> this.feed.unsubscribe(subscriber));
+        emitter.onError(error -> this.feed.unsubscribe(subscriber));
+        // subscribe before replaying, so nothing published in between is lost; the subscriber drops duplicates
+        this.feed.subscribe(subscriber);
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT.toMillis()).comment("subscribed"));
+            if (after != null) {
+                final BuildFeed.Replay replay = this.replay(projects, channel, after);
+                for (final FeedEvent event : replay.events()) {
+                    subscriber.deliver(event, this.feed.serialize(event));
+                }
+                if (replay.truncated()) {
+                    emitter.send(SseEmitter.event().name("reset").data("{}"));
+                }
+            }
+        } catch (final IOException e) {
+            this.feed.unsubscribe(subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @ApiResponse(
+            content = @Content(
+                    schema = @Schema(implementation = PollResponse.class)
+            ),
+            responseCode = "200"
+    )
+    @GetMapping("/v1/feed/poll")
+    @Operation(summary = "Waits for new builds of the given projects, for clients that cannot use server-sent events.")
+    public DeferredResult<ResponseEntity<?>> poll(
+            @Parameter(description = "A project to follow. Repeat to follow several.", example = "aspaper")
+            @RequestParam("project")
+            final List<String> projectNames,
+            @Parameter(description = "Only return builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channelName,
+            @Parameter(description = "The last event id received. Builds published since are returned at once.")
+            @RequestParam(value = "after", required = false)
+            final @Nullable String afterId
+    ) {
+        final Set<String> projects = this.projects(projectNames);
+        final Build.Channel channel = channelName == null ? null : channel(channelName);
+        final Long after = afterId == null || afterId.isBlank() ? null : cursor(afterId, "after");
+
+        final DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(this.configuration.getPollTimeout().toMillis(), response(List.of(), afterId, false));
+        final PollFeedSubscriber<ResponseEntity<?>> subscriber = new PollFeedSubscriber<>(result, events -> response(events, afterId, false), projects, channel);
+        result.onCompletion(() -> this.feed.unsubscribe(subscriber));
+        this.feed.subscribe(subscriber);
+        if (after != null) {
+            final BuildFeed.Replay replay = this.replay(projects, channel, after);
+            if (!replay.events().isEmpty() || replay.truncated()) {
+                result.setResult(response(replay.events(), afterId, replay.truncated()));
+            }
+        }
+        return result;
+    }
+
+    private Set<String> projects(final List<String> names) {
+        final Set<String> projects = Set.copyOf(names);
+        if (projects.isEmpty() || projects.size() > this.configuration.getMaxProjects()) {
+            throw new InvalidParameter("project");
+        }
+        for (final String project : projects) {
+            if (!PROJECT.matcher(project).matches()) {
+                throw new InvalidParameter("project");
+            }
+        }
+        return projects;
+    }
+
+    private static Build.Channel channel(final String name) {
+        return Build.Channel.fromName(name).orElseThrow(() -> new InvalidParameter("channel"));
+    }
+
+    private BuildFeed.Replay replay(final Set<String> projects, final Build.@Nullable Channel channel, final long after) {
+        return after == UNKNOWN ? new BuildFeed.Replay(List.of(), true) : this.feed.after(projects, channel, after);
+    }
+
+    /**
+     * Reads an event id. Ids handed out before events were numbered were build ids, which cannot be placed in the
+     * sequence, so their clients are told to catch up as if they had missed too much.
+     */
+    private static long cursor(final String id, final String parameter) {
+        try {
+            final long sequence = Long.parseLong(id);
+            if (sequence >= 0) {
+                return sequence;
+            }
+        } catch (final NumberFormatException e) {
+            if (ObjectId.isValid(id)) {
+                return UNKNOWN;
+            }
+        }
+        throw new InvalidParameter(parameter);
+    }
+
+    private static ResponseEntity<?> response(final List<FeedEvent> events, final @Nullable String after, final boolean truncated) {
+        final String last = events.isEmpty() ? after : events.get(events.size() - 1).id();
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(new PollResponse(events, last, truncated));
+    }
+
+    @Schema
+    private record PollResponse(
+            @Schema(name = "events")
+            List<FeedEvent> events,
+            @Schema(name = "last_event_id", description = "Pass as after on the next poll.")
+            @Nullable String last_event_id,
+            @Schema(name = "truncated", description = "Whether more builds were missed than could be replayed; catch up through the latest endpoints.")
+            boolean truncated
+    ) {
+    }
+}
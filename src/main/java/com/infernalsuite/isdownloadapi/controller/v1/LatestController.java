@@ -1,50 +1,73 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infernalsuite.isdownloadapi.configuration.AppConfiguration;
+import com.infernalsuite.isdownloadapi.database.ReadRouting;
 import com.infernalsuite.isdownloadapi.database.model.*;
 import com.infernalsuite.isdownloadapi.database.repository.*;
 import com.infernalsuite.isdownloadapi.exception.BuildNotFound;
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
 import com.infernalsuite.isdownloadapi.exception.LatestNotFound;
 import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
 import com.infernalsuite.isdownloadapi.exception.VersionNotFound;
 import com.infernalsuite.isdownloadapi.util.HTTP;
+import com.infernalsuite.isdownloadapi.util.ResponseFormat;
+import com.infernalsuite.isdownloadapi.util.SingleFlight;
+import com.mongodb.ReadPreference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Pattern;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 public class LatestController {
 
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(5);
     private final LatestCollection latest;
     private final ProjectCollection projects;
     private final VersionCollection versions;
     private final BuildCollection builds;
     private final ArtifactCollection artifacts;
-    private final Logger logger = LoggerFactory.getLogger(LatestController.class);
+    private final VersionFamilyCollection families;
+    private final ResponseFormat.Mappers mappers;
+    // concurrent requests for the same scope, format and read routing share one lookup and its serialized response
+    private final SingleFlight<String, byte[]> lookups = new SingleFlight<>(LOOKUP_TIMEOUT);
 
-    public LatestController(LatestCollection latest, ProjectCollection projects, VersionCollection versions, BuildCollection builds, ArtifactCollection artifacts, AppConfiguration configuration) {
+    public LatestController(LatestCollection latest, ProjectCollection projects, VersionCollection versions, BuildCollection builds, ArtifactCollection artifacts, VersionFamilyCollection families, ObjectMapper json, AppConfiguration configuration) {
         this.latest = latest;
         this.projects = projects;
         this.versions = versions;
         this.builds = builds;
         this.artifacts = artifacts;
+        this.families = families;
+        this.mappers = new ResponseFormat.Mappers(json);
     }
 
     @ApiResponse(
@@ -55,47 +78,131 @@ public class LatestController {
     )
     @GetMapping("/v1/projects/{project:[a-z]+}/latest")
     @Operation(summary = "Get latest version of the project")
-    public ResponseEntity<?> latestFromProject(@Parameter(name = "project")
+    public Object latestFromProject(final HttpServletRequest request,
+                                       @Parameter(name = "project")
                                        @PathVariable("project")
                                        @Pattern(regexp = "[a-z]+")
-                                       final String projectName) {
+                                       final String projectName,
+                                       @Parameter(name = "channel", description = "Only consider builds of this channel.", example = "stable")
+                                       @RequestParam(value = "channel", required = false)
+                                       final @Nullable String channelName) {
+        final Build.Channel channel = channel(channelName);
+        return this.respond(request, projectName + "?" + channel, () -> this.lookup(projectName, Latest.Scope.of(false, false, channel != null), Latest.key(null, channel)));
+    }
 
-        logger.info("projectName: " + projectName);
+    @ApiResponse(
+            content = @io.swagger.v3.oas.annotations.media.Content(
+                    schema = @Schema(implementation = LatestResponse.class)
+            ),
+            responseCode = "200"
+    )
+    @GetMapping("/v1/projects/{project:[a-z]+}/versions/{version:" + Version.PATTERN + "}/latest")
+    @Operation(summary = "Get latest build of a version of the project")
+    public Object latestFromProjectVersion(
+            final HttpServletRequest request,
+            @Parameter(name = "project")
+            @PathVariable("project")
+            @Pattern(regexp = "[a-z]+")
+            final String projectName,
+            @Parameter(name = "version")
+            @PathVariable("version")
+            @Pattern(regexp = Version.PATTERN)
+            final String versionName,
+            @Parameter(name = "channel", description = "Only consider builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channelName) {
+        final Build.Channel channel = channel(channelName);
+        return this.respond(request, projectName + "/versions/" + versionName + "?" + channel, () -> {
+            final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+            final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+            return this.lookup(project, Latest.Scope.of(true, false, channel != null), Latest.key(version._id(), channel));
+        });
+    }
 
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Latest latest = this.latest.findByProject(project._id()).orElseThrow(LatestNotFound::new);
-        final Version version = this.versions.findById(latest.version()).orElseThrow(VersionNotFound::new);
-        final Build build = this.builds.findById(latest.build()).orElseThrow(BuildNotFound::new);
-        final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
-        return HTTP.cachedOk(LatestResponse.from(project, version, build, artifacts), CACHE);
+    @ApiResponse(
+            content = @io.swagger.v3.oas.annotations.media.Content(
+                    schema = @Schema(implementation = LatestResponse.class)
+            ),
+            responseCode = "200"
+    )
+    @GetMapping("/v1/projects/{project:[a-z]+}/version_group/{family:" + Version.PATTERN + "}/latest")
+    @Operation(summary = "Get latest build of a version group of the project")
+    public Object latestFromProjectFamily(
+            final HttpServletRequest request,
+            @Parameter(name = "project")
+            @PathVariable("project")
+            @Pattern(regexp = "[a-z]+")
+            final String projectName,
+            @Parameter(name = "family", description = "The version group name.")
+            @PathVariable("family")
+            @Pattern(regexp = Version.PATTERN)
+            final String familyName,
+            @Parameter(name = "channel", description = "Only consider builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channelName) {
+        final Build.Channel channel = channel(channelName);
+        return this.respond(request, projectName + "/version_group/" + familyName + "?" + channel, () -> {
+            final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+            final VersionFamily family = this.families.findByProjectAndName(project._id(), familyName).orElseThrow(() -> VersionNotFound.INSTANCE);
+            return this.lookup(project, Latest.Scope.of(false, true, channel != null), Latest.key(family._id(), channel));
+        });
     }
 
-//    @ApiResponse(
-//            content = @io.swagger.v3.oas.annotations.media.Content(
-//                    schema = @Schema(implementation = LatestResponse.class)
-//            ),
-//            responseCode = "200"
-//    )
-//    @GetMapping("/v1/projects/{project:[a-z]+}/version/{version:" + Version.PATTERN + "}/latest")
-//    @Operation(summary = "Get latest version of the project")
-//    public ResponseEntity<?> latestFromProjectVersion(
-//            @Parameter(name = "project")
-//            @PathVariable("project")
-//            @Pattern(regexp = "[a-z]+")
-//            final String projectName,
-//            @Parameter(name = "version")
-//            @PathVariable("version")
-//            @Pattern(regexp = Version.PATTERN)
-//            final String versionName) {
-//        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-//        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-//        final Latest latest = this.latest.findByProjectAndVersion(project._id(), version._id()).orElseThrow(LatestNotFound::new);
-//        final Build build = this.builds.findById(latest.build()).orElseThrow(BuildNotFound::new);
-//        final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
-//        return HTTP.cachedOk(LatestResponse.from(project, version, build, artifacts), CACHE);
-//    }
+    /**
+     * Answers the leader of a flight right away. Requests joining a flight are answered asynchronously, so they hold
+     * no thread while it runs, and skip the response cache and compression filters, which only see synchronous
+     * responses.
+     */
+    private Object respond(final HttpServletRequest request, final String key, final Supplier<LatestResponse> lookup) {
+        final ResponseFormat format = ResponseFormat.of(request);
+        // a read that must see the primary cannot share a lookup routed to a lagging secondary
+        final ReadPreference routing = ReadRouting.current();
+        final String flight = format + ":" + (routing == null ? "" : routing) + ":" + key;
+        final CompletableFuture<byte[]> shared = this.lookups.get(flight, () -> this.serialize(format, lookup.get()));
+        if (shared.isDone() && !shared.isCompletedExceptionally()) {
+            return ok(format, shared.join());
+        }
+        return shared.thenApply(response -> ok(format, response));
+    }
 
+    private static ResponseEntity<byte[]> ok(final ResponseFormat format, final byte[] response) {
+        return ResponseEntity.ok().cacheControl(CACHE).contentType(format.mediaType()).body(response);
+    }
 
+    private LatestResponse lookup(final String projectName, final Latest.Scope scope, final String key) {
+        // scopes keyed by project name alone are answered from the pointer's snapshot in a single read
+        final Optional<Latest> latest = this.latest.findBySnapshotProjectAndScopeAndKey(projectName, scope, key)
+                .filter(found -> found.snapshot() != null);
+        if (latest.isPresent()) {
+            return LatestResponse.from(latest.get(), latest.get().snapshot());
+        }
+        // pointers written before snapshots, and misses, resolve through the project
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        return this.lookup(project, scope, key);
+    }
+
+    private LatestResponse lookup(final Project project, final Latest.Scope scope, final String key) {
+        final Latest latest = this.latest.findByProjectAndScopeAndKey(project._id(), scope, key).orElseThrow(() -> LatestNotFound.INSTANCE);
+        if (latest.snapshot() != null) {
+            return LatestResponse.from(latest, latest.snapshot());
+        }
+        final Version version = this.versions.findOneById(latest.version()).orElseThrow(() -> VersionNotFound.INSTANCE);
+        final Build build = this.builds.findOneById(latest.build()).orElseThrow(() -> BuildNotFound.INSTANCE);
+        final List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), version._id(), build._id());
+        return LatestResponse.from(project, version, build, artifacts);
+    }
+
+    private byte[] serialize(final ResponseFormat format, final LatestResponse response) {
+        try {
+            return this.mappers.get(format).writeValueAsBytes(response);
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Build.@Nullable Channel channel(final @Nullable String name) {
+        return name == null ? null : Build.Channel.fromName(name).orElseThrow(() -> new InvalidParameter("channel"));
+    }
 
     private record LatestResponse(
             @Schema(name = "project_id", description = "Project ID", example = "aspaper")
@@ -109,6 +216,18 @@ public class LatestController {
             @Schema(name = "artifacts")
             List<LatestArtifact> artifacts
     ) {
+        static LatestResponse from(final Latest latest, final Latest.Snapshot snapshot) {
+            return new LatestResponse(
+                    snapshot.project(),
+                    snapshot.projectName(),
+                    snapshot.version(),
+                    latest.number(),
+                    snapshot.artifacts().stream().map(artifact -> new LatestArtifact(
+                            artifact.name(),
+                            artifact.downloads()
+                    )).toList());
+        }
+
         static LatestResponse from(final Project project, final Version version, final Build build, final List<Artifact> artifacts) {
             return new LatestResponse(
                     project.name(),
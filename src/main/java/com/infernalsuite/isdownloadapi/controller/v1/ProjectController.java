@@ -1,8 +1,7 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
 import com.infernalsuite.isdownloadapi.database.model.Project;
-import com.infernalsuite.isdownloadapi.database.model.Version;
-import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
@@ -24,7 +23,12 @@ import java.time.Duration;
 import java.util.List;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 public class ProjectController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
     private final ProjectCollection projects;
@@ -54,9 +58,9 @@ public class ProjectController {
                                      @PathVariable("project")
                                      @Pattern(regexp = "[a-z]+")
                                      final String projectName) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final List<VersionFamily> families = this.families.findAllByProject(project._id());
-        final List<Version> versions = this.versions.findAllByProject(project._id());
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final List<VersionName> families = this.families.findAllByProject(project._id(), VersionName.class);
+        final List<VersionName> versions = this.versions.findAllByProject(project._id(), VersionName.class);
         return HTTP.cachedOk(ProjectResponse.from(project, families, versions), CACHE);
     }
 
@@ -71,12 +75,12 @@ public class ProjectController {
             @Schema(name = "versions")
             List<String> versions
     ) {
-        static ProjectResponse from(final Project project, final List<VersionFamily> families, final List<Version> versions) {
+        static ProjectResponse from(final Project project, final List<VersionName> families, final List<VersionName> versions) {
             return new ProjectResponse(
                     project.name(),
                     project.friendlyName(),
-                    families.stream().sorted(VersionFamily.COMPARATOR).map(VersionFamily::name).toList(),
-                    versions.stream().sorted(Version.COMPARATOR).map(Version::name).toList()
+                    families.stream().sorted(VersionName.COMPARATOR).map(VersionName::name).toList(),
+                    versions.stream().sorted(VersionName.COMPARATOR).map(VersionName::name).toList()
             );
         }
     }
@@ -19,7 +19,12 @@ import java.time.Duration;
 import java.util.List;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 public class ProjectsController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
     private final ProjectCollection projects;
@@ -1,9 +1,11 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
 import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.exception.BuildNotFound;
@@ -28,25 +30,34 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 @SuppressWarnings("checkstyle:FinalClass")
 public class VersionBuildController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
     private final ProjectCollection projects;
     private final VersionCollection versions;
     private final BuildCollection builds;
+    private final BuildViewCollection views;
 
     @Autowired
     private VersionBuildController(
             final ProjectCollection projects,
             final VersionCollection versions,
-            final BuildCollection builds
+            final BuildCollection builds,
+            final BuildViewCollection views
     ) {
         this.projects = projects;
         this.versions = versions;
         this.builds = builds;
+        this.views = views;
     }
 
     @ApiResponse(
@@ -71,9 +82,14 @@ public class VersionBuildController {
             @Pattern(regexp = "\\d+") //
             final int buildNumber
     ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-        final Build build = this.builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(BuildNotFound::new);
+        final Optional<BuildView> view = this.views.findByProjectAndVersionAndNumber(projectName, versionName, buildNumber);
+        if (view.isPresent()) {
+            return HTTP.cachedOk(BuildResponse.from(view.get()), CACHE);
+        }
+        // builds without a view yet, and misses, resolve through the source collections
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        final Build build = this.builds.findByProjectAndVersionAndNumber(project._id(), version._id(), buildNumber).orElseThrow(() -> BuildNotFound.INSTANCE);
         return HTTP.cachedOk(BuildResponse.from(project, version, build), CACHE);
     }
 
@@ -105,5 +121,17 @@ public class VersionBuildController {
                     build.channelOrDefault()
             );
         }
+
+        static BuildResponse from(final BuildView view) {
+            return new BuildResponse(
+                    view.project(),
+                    view.projectName(),
+                    view.version(),
+                    view.number(),
+                    view.time(),
+                    view.changes(),
+                    view.channel()
+            );
+        }
     }
 }
@@ -1,51 +1,69 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infernalsuite.isdownloadapi.database.model.Build;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildQuery;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
 import com.infernalsuite.isdownloadapi.exception.VersionNotFound;
 import com.infernalsuite.isdownloadapi.util.HTTP;
+import com.infernalsuite.isdownloadapi.util.JsonStream;
+import com.infernalsuite.isdownloadapi.util.ResponseFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 @SuppressWarnings("checkstyle:FinalClass")
 public class VersionBuildsController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofMinutes(5));
     private final ProjectCollection projects;
     private final VersionCollection versions;
     private final BuildCollection builds;
+    private final ResponseFormat.Mappers mappers;
 
     @Autowired
     private VersionBuildsController(
             final ProjectCollection projects,
             final VersionCollection versions,
-            final BuildCollection builds
+            final BuildCollection builds,
+            final ObjectMapper json
     ) {
         this.projects = projects;
         this.versions = versions;
         this.builds = builds;
+        this.mappers = new ResponseFormat.Mappers(json);
     }
 
     @ApiResponse(
@@ -56,7 +74,9 @@ public class VersionBuildsController {
     )
     @GetMapping("/v1/projects/{project:[a-z]+}/versions/{version:" + Version.PATTERN + "}/builds")
     @Operation(summary = "Gets all available builds for a project's version.")
-    public ResponseEntity<?> builds(
+    public void builds(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
             @Parameter(name = "project", description = "The project identifier.", example = "paper")
             @PathVariable("project")
             @Pattern(regexp = "[a-z]+") //
@@ -64,14 +84,48 @@ public class VersionBuildsController {
             @Parameter(description = "A version of the project.")
             @PathVariable("version")
             @Pattern(regexp = Version.PATTERN) //
-            final String versionName
-    ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-        final List<Build> builds = this.builds.findAllByProjectAndVersion(project._id(), version._id());
-        return HTTP.cachedOk(BuildsResponse.from(project, version, builds), CACHE);
+            final String versionName,
+            @Parameter(description = "Only include builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channel,
+            @Parameter(description = "Only include builds published at or after this time.")
+            @RequestParam(value = "since", required = false)
+            final @Nullable Instant since,
+            @Parameter(description = "Only include builds published before this time.")
+            @RequestParam(value = "until", required = false)
+            final @Nullable Instant until,
+            @Parameter(description = "The field to order builds by, either `number` or `time`.")
+            @RequestParam(value = "order", defaultValue = "number")
+            final String order,
+            @Parameter(description = "The direction to order builds in, either `asc` or `desc`.")
+            @RequestParam(value = "direction", defaultValue = "asc")
+            final String direction,
+            @Parameter(description = "The `next` cursor of the previous page.")
+            @RequestParam(value = "after", required = false)
+            final @Nullable String after,
+            @Parameter(description = "The maximum number of builds to return, at most " + BuildQuery.MAX_LIMIT + ". All builds are returned if absent.")
+            @RequestParam(value = "limit", required = false)
+            final @Nullable Integer limit
+    ) throws IOException {
+        final BuildQuery query = BuildQuery.of(channel, since, until, order, direction, after, limit);
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        JsonStream.write(request, response, this.mappers, CACHE, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("project_id", project.name());
+            generator.writeStringField("project_name", project.friendlyName());
+            generator.writeStringField("version", version.name());
+            try (final Stream<Build> builds = this.builds.streamPage(project._id(), Set.of(version._id()), query)) {
+                final Build last = JsonStream.writeArrayField(generator, "builds", builds, query.limit(), BuildsResponse.VersionBuild::from);
+                if (last != null) {
+                    generator.writeStringField("next", query.cursorOf(last).encode());
+                }
+            }
+            generator.writeEndObject();
+        });
     }
 
+    // documents the response streamed by builds()
     @Schema
     private record BuildsResponse(
             @Schema(name = "project_id", pattern = "[a-z]+", example = "paper")
@@ -81,22 +135,10 @@ public class VersionBuildsController {
             @Schema(name = "version", pattern = Version.PATTERN, example = "1.18")
             String version,
             @Schema(name = "builds")
-            List<VersionBuild> builds
+            List<VersionBuild> builds,
+            @Schema(name = "next", description = "The cursor of the next page, absent on the last page.")
+            @Nullable String next
     ) {
-        static BuildsResponse from(final Project project, final Version version, final List<Build> builds) {
-            return new BuildsResponse(
-                    project.name(),
-                    project.friendlyName(),
-                    version.name(),
-                    builds.stream().map(build -> new VersionBuild(
-                            build.number(),
-                            build.time(),
-                            build.changes(),
-                            build.channelOrDefault()
-                    )).toList()
-            );
-        }
-
         @Schema
         public record VersionBuild(
                 @Schema(name = "build", pattern = "\\d+", example = "10")
@@ -108,6 +150,14 @@ public class VersionBuildsController {
                 @Schema(name = "channel")
                 Build.Channel channel
         ) {
+            static VersionBuild from(final Build build) {
+                return new VersionBuild(
+                        build.number(),
+                        build.time(),
+                        build.changes(),
+                        build.channelOrDefault()
+                );
+            }
         }
     }
 }
@@ -1,50 +1,64 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
-import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.projection.BuildNumber;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
 import com.infernalsuite.isdownloadapi.exception.VersionNotFound;
 import com.infernalsuite.isdownloadapi.util.HTTP;
+import com.infernalsuite.isdownloadapi.util.JsonStream;
+import com.infernalsuite.isdownloadapi.util.ResponseFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 @SuppressWarnings("checkstyle:FinalClass")
 public class VersionController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofMinutes(5));
     private final ProjectCollection projects;
     private final VersionCollection versions;
     private final BuildCollection builds;
+    private final ResponseFormat.Mappers mappers;
 
     @Autowired
     private VersionController(
             final ProjectCollection projects,
             final VersionCollection versions,
-            final BuildCollection builds
+            final BuildCollection builds,
+            final ObjectMapper json
     ) {
         this.projects = projects;
         this.versions = versions;
         this.builds = builds;
+        this.mappers = new ResponseFormat.Mappers(json);
     }
 
     @ApiResponse(
@@ -55,7 +69,9 @@ public class VersionController {
     )
     @GetMapping("/v1/projects/{project:[a-z]+}/versions/{version:" + Version.PATTERN + "}")
     @Operation(summary = "Gets information about a version.")
-    public ResponseEntity<?> version(
+    public void version(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
             @Parameter(name = "project", description = "The project identifier.", example = "paper")
             @PathVariable("project")
             @Pattern(regexp = "[a-z]+") //
@@ -64,13 +80,22 @@ public class VersionController {
             @PathVariable("version")
             @Pattern(regexp = Version.PATTERN) //
             final String versionName
-    ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(VersionNotFound::new);
-        final List<Build> builds = this.builds.findAllByProjectAndVersion(project._id(), version._id());
-        return HTTP.cachedOk(VersionResponse.from(project, version, builds), CACHE);
+    ) throws IOException {
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final Version version = this.versions.findByProjectAndName(project._id(), versionName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        JsonStream.write(request, response, this.mappers, CACHE, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("project_id", project.name());
+            generator.writeStringField("project_name", project.friendlyName());
+            generator.writeStringField("version", version.name());
+            try (final Stream<BuildNumber> builds = this.builds.streamAllByProjectAndVersionOrderByNumber(project._id(), version._id(), BuildNumber.class)) {
+                JsonStream.writeArrayField(generator, "builds", builds, 0, BuildNumber::number);
+            }
+            generator.writeEndObject();
+        });
     }
 
+    // documents the response streamed by version()
     @Schema
     private record VersionResponse(
             @Schema(name = "project_id", pattern = "[a-z]+", example = "paper")
@@ -82,13 +107,5 @@ public class VersionController {
             @Schema(name = "builds")
             List<Integer> builds
     ) {
-        static VersionResponse from(final Project project, final Version version, final List<Build> builds) {
-            return new VersionResponse(
-                    project.name(),
-                    project.friendlyName(),
-                    version.name(),
-                    builds.stream().map(Build::number).toList()
-            );
-        }
     }
 }
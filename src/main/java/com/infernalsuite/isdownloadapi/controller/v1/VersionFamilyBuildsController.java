@@ -1,41 +1,55 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infernalsuite.isdownloadapi.database.model.Build;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildQuery;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
 import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
 import com.infernalsuite.isdownloadapi.exception.VersionNotFound;
 import com.infernalsuite.isdownloadapi.util.HTTP;
+import com.infernalsuite.isdownloadapi.util.JsonStream;
+import com.infernalsuite.isdownloadapi.util.ResponseFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Pattern;
 import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 @SuppressWarnings("checkstyle:FinalClass")
 public class VersionFamilyBuildsController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofMinutes(5));
@@ -43,18 +57,21 @@ public class VersionFamilyBuildsController {
     private final VersionFamilyCollection families;
     private final VersionCollection versions;
     private final BuildCollection builds;
+    private final ResponseFormat.Mappers mappers;
 
     @Autowired
     private VersionFamilyBuildsController(
             final ProjectCollection projects,
             final VersionFamilyCollection families,
             final VersionCollection versions,
-            final BuildCollection builds
+            final BuildCollection builds,
+            final ObjectMapper json
     ) {
         this.projects = projects;
         this.families = families;
         this.versions = versions;
         this.builds = builds;
+        this.mappers = new ResponseFormat.Mappers(json);
     }
 
     @ApiResponse(
@@ -65,7 +82,9 @@ public class VersionFamilyBuildsController {
     )
     @GetMapping("/v1/projects/{project:[a-z]+}/version_group/{family:" + Version.PATTERN + "}/builds")
     @Operation(summary = "Gets all available builds for a project's version group.")
-    public ResponseEntity<?> familyBuilds(
+    public void familyBuilds(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
             @Parameter(name = "project", description = "The project identifier.", example = "paper")
             @PathVariable("project")
             @Pattern(regexp = "[a-z]+") //
@@ -73,16 +92,51 @@ public class VersionFamilyBuildsController {
             @Parameter(description = "The version group name.")
             @PathVariable("family")
             @Pattern(regexp = Version.PATTERN) //
-            final String familyName
-    ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final VersionFamily family = this.families.findByProjectAndName(project._id(), familyName).orElseThrow(VersionNotFound::new);
+            final String familyName,
+            @Parameter(description = "Only include builds of this channel.", example = "stable")
+            @RequestParam(value = "channel", required = false)
+            final @Nullable String channel,
+            @Parameter(description = "Only include builds published at or after this time.")
+            @RequestParam(value = "since", required = false)
+            final @Nullable Instant since,
+            @Parameter(description = "Only include builds published before this time.")
+            @RequestParam(value = "until", required = false)
+            final @Nullable Instant until,
+            @Parameter(description = "The field to order builds by, either `number` or `time`.")
+            @RequestParam(value = "order", defaultValue = "time")
+            final String order,
+            @Parameter(description = "The direction to order builds in, either `asc` or `desc`.")
+            @RequestParam(value = "direction", defaultValue = "asc")
+            final String direction,
+            @Parameter(description = "The `next` cursor of the previous page.")
+            @RequestParam(value = "after", required = false)
+            final @Nullable String after,
+            @Parameter(description = "The maximum number of builds to return, at most " + BuildQuery.MAX_LIMIT + ". All builds are returned if absent.")
+            @RequestParam(value = "limit", required = false)
+            final @Nullable Integer limit
+    ) throws IOException {
+        final BuildQuery query = BuildQuery.of(channel, since, until, order, direction, after, limit);
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final VersionFamily family = this.families.findByProjectAndName(project._id(), familyName).orElseThrow(() -> VersionNotFound.INSTANCE);
         final Map<ObjectId, Version> versions = this.versions.findAllByProjectAndGroup(project._id(), family._id()).stream()
                 .collect(Collectors.toMap(Version::_id, Function.identity()));
-        final List<Build> builds = this.builds.findAllByProjectAndVersionIn(project._id(), versions.keySet());
-        return HTTP.cachedOk(VersionFamilyBuildsResponse.from(project, family, versions, builds), CACHE);
+        JsonStream.write(request, response, this.mappers, CACHE, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("project_id", project.name());
+            generator.writeStringField("project_name", project.friendlyName());
+            generator.writeStringField("version_group", family.name());
+            generator.writeObjectField("versions", versions.values().stream().sorted(Version.COMPARATOR).map(Version::name).toList());
+            try (final Stream<Build> builds = this.builds.streamPage(project._id(), versions.keySet(), query)) {
+                final Build last = JsonStream.writeArrayField(generator, "builds", builds, query.limit(), build -> VersionFamilyBuildsResponse.VersionFamilyBuild.from(versions.get(build.version()), build));
+                if (last != null) {
+                    generator.writeStringField("next", query.cursorOf(last).encode());
+                }
+            }
+            generator.writeEndObject();
+        });
     }
 
+    // documents the response streamed by familyBuilds()
     @Schema
     private record VersionFamilyBuildsResponse(
             @Schema(name = "project_id", pattern = "[a-z]+", example = "aspaper")
@@ -94,24 +148,10 @@ public class VersionFamilyBuildsController {
             @Schema(name = "versions")
             List<String> versions,
             @Schema(name = "builds")
-            List<VersionFamilyBuild> builds
+            List<VersionFamilyBuild> builds,
+            @Schema(name = "next", description = "The cursor of the next page, absent on the last page.")
+            @Nullable String next
     ) {
-        static VersionFamilyBuildsResponse from(final Project project, final VersionFamily family, final Map<ObjectId, Version> versions, final List<Build> builds) {
-            return new VersionFamilyBuildsResponse(
-                    project.name(),
-                    project.friendlyName(),
-                    family.name(),
-                    versions.values().stream().sorted(Version.COMPARATOR).map(Version::name).toList(),
-                    builds.stream().map(build -> new VersionFamilyBuild(
-                            versions.get(build.version()).name(),
-                            build.number(),
-                            build.time(),
-                            build.changes(),
-                            build.channelOrDefault()
-                    )).toList()
-            );
-        }
-
         @Schema
         public static record VersionFamilyBuild(
                 @Schema(name = "version", pattern = Version.PATTERN, example = "1.18")
@@ -125,6 +165,15 @@ public class VersionFamilyBuildsController {
                 @Schema(name = "channel")
                 Build.Channel channel
         ) {
+            static VersionFamilyBuild from(final Version version, final Build build) {
+                return new VersionFamilyBuild(
+                        version.name(),
+                        build.number(),
+                        build.time(),
+                        build.changes(),
+                        build.channelOrDefault()
+                );
+            }
         }
     }
 }
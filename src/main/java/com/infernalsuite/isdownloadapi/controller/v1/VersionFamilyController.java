@@ -3,6 +3,7 @@ package com.infernalsuite.isdownloadapi.controller.v1;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
@@ -28,7 +29,12 @@ import java.time.Duration;
 import java.util.List;
 
 @RestController
-@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(produces = {
+        MediaType.APPLICATION_JSON_VALUE,
+        MediaType.APPLICATION_CBOR_VALUE,
+        HTTP.APPLICATION_SMILE_VALUE,
+        HTTP.APPLICATION_MSGPACK_VALUE
+})
 @SuppressWarnings("checkstyle:FinalClass")
 public class VersionFamilyController {
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofMinutes(5));
@@ -65,9 +71,9 @@ public class VersionFamilyController {
             @Pattern(regexp = Version.PATTERN) //
             final String familyName
     ) {
-        final Project project = this.projects.findByName(projectName).orElseThrow(ProjectNotFound::new);
-        final VersionFamily family = this.families.findByProjectAndName(project._id(), familyName).orElseThrow(VersionNotFound::new);
-        final List<Version> versions = this.versions.findAllByProjectAndGroup(project._id(), family._id());
+        final Project project = this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE);
+        final VersionFamily family = this.families.findByProjectAndName(project._id(), familyName).orElseThrow(() -> VersionNotFound.INSTANCE);
+        final List<VersionName> versions = this.versions.findAllByProjectAndGroup(project._id(), family._id(), VersionName.class);
         return HTTP.cachedOk(VersionFamilyResponse.from(project, family, versions), CACHE);
     }
 
@@ -82,12 +88,12 @@ public class VersionFamilyController {
             @Schema(name = "versions")
             List<String> versions
     ) {
-        static VersionFamilyResponse from(final Project project, final VersionFamily family, final List<Version> versions) {
+        static VersionFamilyResponse from(final Project project, final VersionFamily family, final List<VersionName> versions) {
             return new VersionFamilyResponse(
                     project.name(),
                     project.friendlyName(),
                     family.name(),
-                    versions.stream().sorted(Version.COMPARATOR).map(Version::name).toList()
+                    versions.stream().sorted(VersionName.COMPARATOR).map(VersionName::name).toList()
             );
         }
     }
@@ -0,0 +1,124 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.infernalsuite.isdownloadapi.database.Sequences;
+import com.infernalsuite.isdownloadapi.database.model.*;
+import com.infernalsuite.isdownloadapi.database.repository.*;
+import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+public class BuildViewAdminController {
+
+    private static final CacheControl CACHE = CacheControl.noStore();
+    private final ProjectCollection projects;
+    private final VersionCollection versions;
+    private final BuildCollection builds;
+    private final ArtifactCollection artifacts;
+    private final BuildViewCollection buildViews;
+    private final Sequences sequences;
+    private final InvalidationBus invalidations;
+
+    @Autowired
+    public BuildViewAdminController(ProjectCollection projects,
+                                    VersionCollection versions,
+                                    BuildCollection builds,
+                                    ArtifactCollection artifacts,
+                                    BuildViewCollection buildViews,
+                                    Sequences sequences,
+                                    InvalidationBus invalidations) {
+        this.projects = projects;
+        this.versions = versions;
+        this.builds = builds;
+        this.artifacts = artifacts;
+        this.buildViews = buildViews;
+        this.sequences = sequences;
+        this.invalidations = invalidations;
+    }
+
+    @ApiResponse(responseCode = "200", description = "Build views rebuilt.")
+    @ApiResponse(responseCode = "404", description = "Project not found.")
+    @PostMapping("/v1/admin/build_views/rebuild")
+    @Operation(summary = "Rebuilds the build views of a project, or of every project.")
+    public ResponseEntity<?> rebuild(
+            @Parameter(description = "The project to rebuild. All projects are rebuilt when omitted.")
+            @RequestParam(value = "project", required = false)
+            final @Nullable String projectName
+    ) {
+        final List<Project> projects = projectName == null
+                ? this.projects.findAll()
+                : List.of(this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE));
+        long rebuilt = 0;
+        for (final Project project : projects) {
+            // views are replaced in place so reads keep finding them, and keep their place in the feed
+            final Map<ObjectId, BuildView> existing = this.buildViews.findAllByProject(project.name()).stream()
+                    .collect(Collectors.toMap(BuildView::_id, Function.identity()));
+            final Map<String, List<BuildView>> existingByVersion = existing.values().stream()
+                    .collect(Collectors.groupingBy(BuildView::version));
+            for (final Version version : this.versions.findAllByProject(project._id())) {
+                final Map<ObjectId, List<Artifact>> artifacts = this.artifacts.findAllByProjectAndVersion(project._id(), version._id()).stream()
+                        .collect(Collectors.groupingBy(Artifact::build));
+                final List<BuildView> views = this.builds.findAllByProjectAndVersion(project._id(), version._id()).stream()
+                        .map(build -> BuildView.from(project, version.name(), build, artifacts.getOrDefault(build._id(), List.of()),
+                                this.sequence(existing.get(build._id()))))
+                        .toList();
+                // a view left by a deleted build holds the number of the build that replaced it
+                final Set<ObjectId> ids = views.stream().map(BuildView::_id).collect(Collectors.toSet());
+                final Set<Integer> numbers = views.stream().map(BuildView::number).collect(Collectors.toSet());
+                final List<ObjectId> displaced = existingByVersion.getOrDefault(version.name(), List.of()).stream()
+                        .filter(view -> numbers.contains(view.number()) && !ids.contains(view._id()))
+                        .map(BuildView::_id)
+                        .toList();
+                if (!displaced.isEmpty()) {
+                    this.buildViews.deleteAllById(displaced);
+                }
+                this.buildViews.saveAll(views);
+                displaced.forEach(existing::remove);
+                ids.forEach(existing::remove);
+                rebuilt += views.size();
+            }
+            // whatever was not rebuilt belongs to builds that are gone
+            if (!existing.isEmpty()) {
+                this.buildViews.deleteAllById(existing.keySet());
+            }
+            this.invalidations.publish(InvalidationEvent.project(project.name()));
+        }
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CACHE).body(new RebuildResponse(rebuilt));
+    }
+
+    /**
+     * Keeps the place of a rebuilt view in the feed, and numbers builds that had no view as they are found.
+     */
+    private long sequence(final @Nullable BuildView existing) {
+        return existing != null && existing.sequence() > 0 ? existing.sequence() : this.sequences.next(BuildView.SEQUENCE, 1);
+    }
+
+    @Schema
+    private record RebuildResponse(
+            @Schema(name = "rebuilt", example = "42")
+            long rebuilt
+    ) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.infernalsuite.isdownloadapi.configuration.UploadConfiguration;
+import com.infernalsuite.isdownloadapi.controller.v1.admin.model.CompleteJSONSchema;
+import com.infernalsuite.isdownloadapi.database.BuildImporter;
+import com.infernalsuite.isdownloadapi.database.model.Artifact;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Imports builds from a stream of newline delimited JSON documents shaped like {@link CompleteJSONSchema}, for
+ * backfilling history. Builds are written in batches through a {@link BuildImporter}, and the result of each line is
+ * streamed back as a line of its own once its batch is written, so a client can tell which lines to send again.
+ * Imported builds do not notify webhook subscribers, they are history rather than releases.
+ */
+@RestController
+public class ImportAdminController {
+
+    private static final CacheControl CACHE = CacheControl.noStore();
+    private static final Pattern VERSION = Pattern.compile(Version.PATTERN);
+    private static final Pattern ARTIFACT = Pattern.compile("[a-z0-9\\-]+");
+    private static final Pattern DOWNLOAD = Pattern.compile(Artifact.Download.PATTERN);
+    private final BuildImporter importer;
+    private final ObjectMapper json;
+    private final InvalidationBus invalidations;
+    private final int batchSize;
+
+    @Autowired
+    public ImportAdminController(BuildImporter importer,
+                                 ObjectMapper json,
+                                 InvalidationBus invalidations,
+                                 UploadConfiguration configuration) {
+        this.importer = importer;
+        this.json = json;
+        this.invalidations = invalidations;
+        this.batchSize = configuration.getImportBatchSize();
+    }
+
+    @ApiResponse(responseCode = "200", description = "One result per line of the import, each with the line number and a status of created, conflict, invalid or failed.")
+    @PostMapping(value = "/v1/admin/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Imports builds from newline delimited JSON, one build per line.")
+    public void importBuilds(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        // the etag filter would otherwise buffer every result until the import ends
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE.getHeaderValue());
+
+        final BuildImporter.Session session = this.importer.begin();
+        final ObjectReader reader = this.json.readerFor(CompleteJSONSchema.class);
+        final List<BuildImporter.Entry> batch = new ArrayList<>(this.batchSize);
+        final List<BuildImporter.Result> invalid = new ArrayList<>();
+        try (final BufferedReader lines = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+             final SequenceWriter results = this.json.writer().withRootValueSeparator("\n").writeValues(response.getOutputStream())) {
+            long number = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                CompleteJSONSchema record = null;
+                String error;
+                try {
+                    record = reader.readValue(line);
+                    error = record == null ? "not a build" : invalidity(record);
+                } catch (final JsonProcessingException e) {
+                    error = e.getOriginalMessage();
+                }
+                if (record == null || error != null) {
+                    invalid.add(new BuildImporter.Result(number, BuildImporter.Status.INVALID, error));
+                } else {
+                    batch.add(entry(number, record));
+                }
+                // invalid lines count too, or a stream of them would be held until it ends
+                if (batch.size() + invalid.size() >= this.batchSize) {
+                    this.write(session, batch, invalid, results);
+                }
+            }
+            this.write(session, batch, invalid, results);
+        }
+    }
+
+    private void write(
+            final BuildImporter.Session session,
+            final List<BuildImporter.Entry> batch,
+            final List<BuildImporter.Result> invalid,
+            final SequenceWriter results
+    ) throws IOException {
+        final List<BuildImporter.Result> written = batch.isEmpty() ? List.of() : session.write(batch);
+        final Set<String> changed = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (written.get(i).status() == BuildImporter.Status.CREATED) {
+                changed.add(batch.get(i).project());
+            }
+        }
+        for (final String project : changed) {
+            this.invalidations.publish(InvalidationEvent.project(project));
+        }
+        // in line order, invalid lines were set aside while their neighbours waited for the batch
+        int next = 0;
+        for (final BuildImporter.Result result : written) {
+            while (next < invalid.size() && invalid.get(next).line() < result.line()) {
+                results.write(invalid.get(next++));
+            }
+            results.write(result);
+        }
+        while (next < invalid.size()) {
+            results.write(invalid.get(next++));
+        }
+        results.flush();
+        batch.clear();
+        invalid.clear();
+    }
+
+    /**
+     * Checks what {@link UploadAdminController#upload} would otherwise reject, or fail on, for a record.
+     *
+     * @return why the record cannot be imported, or {@code null} if it can
+     */
+    private static @Nullable String invalidity(final CompleteJSONSchema record) {
+        if (record.projectName() == null) {
+            return "missing projectName";
+        }
+        if (record.version() == null || !VERSION.matcher(record.version()).matches() || record.version().indexOf('.') < 0) {
+            return "invalid version";
+        }
+        if (record.build() <= 0) {
+            return "invalid build";
+        }
+        if (record.buildTime() == null) {
+            return "missing buildTime";
+        }
+        if (record.channel() != null && Build.Channel.fromName(record.channel()).isEmpty()) {
+            return "invalid channel";
+        }
+        if (record.artifacts() == null) {
+            return "missing artifacts";
+        }
+        for (final Map.Entry<String, Map<String, Map<String, String>>> artifact : record.artifacts().entrySet()) {
+            if (!ARTIFACT.matcher(artifact.getKey()).matches() || artifact.getValue() == null) {
+                return "invalid artifact " + artifact.getKey();
+            }
+            for (final Map<String, String> download : artifact.getValue().values()) {
+                if (download == null || download.get("name") == null || !DOWNLOAD.matcher(download.get("name")).matches()) {
+                    return "invalid download of artifact " + artifact.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static BuildImporter.Entry entry(final long line, final CompleteJSONSchema record) {
+        final List<Build.Change> changes = new ArrayList<>();
+        if (record.buildChanges() != null) {
+            record.buildChanges().forEach(change -> changes.add(new Build.Change(change.get("commit"), change.get("summary"), change.get("message"))));
+        }
+        final Map<String, Map<String, Artifact.Download>> artifacts = new HashMap<>();
+        record.artifacts().forEach((artifact, downloads) -> {
+            final Map<String, Artifact.Download> converted = new HashMap<>();
+            downloads.forEach((key, download) -> converted.put(key, new Artifact.Download(download.get("name"), download.get("sha256"))));
+            artifacts.put(artifact, converted);
+        });
+        return new BuildImporter.Entry(
+                line,
+                record.projectName(),
+                CompleteJSONSchema.toVersionFamily(record.version()),
+                record.versionFamilyTime(),
+                record.version(),
+                record.versionTime(),
+                record.build(),
+                record.buildTime(),
+                changes,
+                record.channel() == null ? null : Build.Channel.fromName(record.channel()).orElseThrow(),
+                artifacts
+        );
+    }
+}
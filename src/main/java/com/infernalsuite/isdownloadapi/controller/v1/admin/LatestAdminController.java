@@ -0,0 +1,110 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.infernalsuite.isdownloadapi.database.model.*;
+import com.infernalsuite.isdownloadapi.database.repository.*;
+import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+public class LatestAdminController {
+
+    private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
+    private final ProjectCollection projects;
+    private final VersionCollection versions;
+    private final BuildCollection builds;
+    private final ArtifactCollection artifacts;
+    private final LatestCollection latest;
+    private final InvalidationBus invalidations;
+
+    @Autowired
+    public LatestAdminController(ProjectCollection projects,
+                                 VersionCollection versions,
+                                 BuildCollection builds,
+                                 ArtifactCollection artifacts,
+                                 LatestCollection latest,
+                                 InvalidationBus invalidations) {
+        this.projects = projects;
+        this.versions = versions;
+        this.builds = builds;
+        this.artifacts = artifacts;
+        this.latest = latest;
+        this.invalidations = invalidations;
+    }
+
+    @ApiResponse(responseCode = "200", description = "Latest pointers rebuilt.")
+    @ApiResponse(responseCode = "404", description = "Project not found.")
+    @PostMapping("/v1/admin/latest/rebuild")
+    @Operation(summary = "Moves the latest pointers of a project, or of every project, forward to the most recent build of each scope and refreshes their snapshots.")
+    public ResponseEntity<?> rebuild(
+            @Parameter(description = "The project to rebuild. All projects are rebuilt when omitted.")
+            @RequestParam(value = "project", required = false)
+            final @Nullable String projectName
+    ) {
+        final List<Project> projects = projectName == null
+                ? this.projects.findAll()
+                : List.of(this.projects.findByName(projectName).orElseThrow(() -> ProjectNotFound.INSTANCE));
+        long rebuilt = 0;
+        for (final Project project : projects) {
+            final Map<String, Candidate> newest = new HashMap<>();
+            final Map<ObjectId, String> versionNames = new HashMap<>();
+            for (final Version version : this.versions.findAllByProject(project._id())) {
+                versionNames.put(version._id(), version.name());
+                for (final Build build : this.builds.findAllByProjectAndVersion(project._id(), version._id())) {
+                    for (final Latest pointer : Latest.pointers(version.group(), build, null)) {
+                        newest.merge(pointer.scope() + "/" + pointer.key(), new Candidate(pointer, build),
+                                (current, candidate) -> Build.RECENCY.compare(candidate.build(), current.build()) > 0 ? candidate : current);
+                    }
+                }
+            }
+            final Map<ObjectId, Latest.Snapshot> snapshots = new HashMap<>();
+            for (final Candidate candidate : newest.values()) {
+                final Build build = candidate.build();
+                final Latest.Snapshot snapshot = snapshots.computeIfAbsent(build._id(), id -> Latest.Snapshot.from(BuildView.from(
+                        project,
+                        versionNames.get(build.version()),
+                        build,
+                        this.artifacts.findAllByProjectAndVersionAndBuild(project._id(), build.version(), build._id()),
+                        // snapshots carry no place in the feed
+                        0
+                )));
+                this.latest.advance(candidate.pointer().withSnapshot(snapshot));
+            }
+            rebuilt += newest.size();
+            this.invalidations.publish(InvalidationEvent.project(project.name()));
+        }
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CACHE).body(new RebuildResponse(rebuilt));
+    }
+
+    private record Candidate(Latest pointer, Build build) {
+    }
+
+    @Schema
+    private record RebuildResponse(
+            @Schema(name = "rebuilt", example = "6")
+            long rebuilt
+    ) {
+    }
+}
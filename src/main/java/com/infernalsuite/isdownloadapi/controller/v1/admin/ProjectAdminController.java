@@ -2,6 +2,8 @@ package com.infernalsuite.isdownloadapi.controller.v1.admin;
 
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
 import com.infernalsuite.isdownloadapi.util.HTTP;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -25,10 +27,12 @@ public class ProjectAdminController {
 
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
     private final ProjectCollection projects;
+    private final InvalidationBus invalidations;
 
     @Autowired
-    public ProjectAdminController(ProjectCollection projects) {
+    public ProjectAdminController(ProjectCollection projects, InvalidationBus invalidations) {
         this.projects = projects;
+        this.invalidations = invalidations;
     }
 
     @ApiResponse(responseCode = "201", description = "Project created.")
@@ -42,6 +46,7 @@ public class ProjectAdminController {
         }
         try {
             Project savedProject = this.projects.save(project);
+            this.invalidations.publish(InvalidationEvent.project(savedProject.name()));
             return ResponseEntity.status(HttpStatus.CREATED).cacheControl(CACHE).body(savedProject);
         } catch (NonTransientDataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
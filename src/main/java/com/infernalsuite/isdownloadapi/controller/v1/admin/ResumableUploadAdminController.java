@@ -0,0 +1,125 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
+import com.infernalsuite.isdownloadapi.exception.UploadNotFound;
+import com.infernalsuite.isdownloadapi.storage.UploadSession;
+import com.infernalsuite.isdownloadapi.storage.UploadSessions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.OptionalLong;
+
+/**
+ * The core of the tus resumable upload protocol plus its creation, expiration and termination extensions. A client
+ * creates an upload with its length, sends the bytes in as many {@code PATCH} requests as its connection needs,
+ * asking for the offset with {@code HEAD} after losing one, and then hands the upload's id to
+ * {@link UploadAdminController#uploadResumable} to publish the build.
+ */
+@RestController
+public class ResumableUploadAdminController {
+
+    static final String OFFSET_OCTET_STREAM_VALUE = "application/offset+octet-stream";
+    private static final String TUS_RESUMABLE = "Tus-Resumable";
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_EXPIRES = "Upload-Expires";
+    // offsets move with every chunk, a cached one would make a client resume at the wrong place
+    private static final CacheControl CACHE = CacheControl.noStore();
+    private final UploadSessions sessions;
+
+    @Autowired
+    public ResumableUploadAdminController(UploadSessions sessions) {
+        this.sessions = sessions;
+    }
+
+    @ApiResponse(responseCode = "201", description = "Upload created.")
+    @ApiResponse(responseCode = "400", description = "Invalid upload length.")
+    @PostMapping("/v1/admin/uploads")
+    @Operation(summary = "Creates a resumable upload of the given length.")
+    public ResponseEntity<?> create(
+            @Parameter(description = "The length of the file in bytes.")
+            @RequestHeader(UPLOAD_LENGTH)
+            final long length
+    ) throws IOException {
+        final UploadSession session;
+        try {
+            session = this.sessions.create(length);
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidParameter(UPLOAD_LENGTH);
+        }
+        return this.respond(HttpStatus.CREATED, session)
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(session.id()).toUri())
+                .build();
+    }
+
+    @ApiResponse(responseCode = "200", description = "Upload found.")
+    @ApiResponse(responseCode = "404", description = "Upload not found.")
+    @RequestMapping(value = "/v1/admin/uploads/{id:[0-9a-f]{32}}", method = RequestMethod.HEAD)
+    @Operation(summary = "Tells how many bytes of an upload have arrived.")
+    public ResponseEntity<?> offset(@PathVariable("id") final String id) throws IOException {
+        final UploadSession session = this.sessions.find(id).orElseThrow(() -> UploadNotFound.INSTANCE);
+        return this.respond(HttpStatus.OK, session)
+                .header(UPLOAD_LENGTH, Long.toString(session.length()))
+                .build();
+    }
+
+    @ApiResponse(responseCode = "204", description = "Chunk written.")
+    @ApiResponse(responseCode = "400", description = "Chunk goes past the upload's length.")
+    @ApiResponse(responseCode = "404", description = "Upload not found.")
+    @ApiResponse(responseCode = "409", description = "Offset is not where the upload stands, or another chunk is being written.")
+    @PatchMapping(value = "/v1/admin/uploads/{id:[0-9a-f]{32}}", consumes = OFFSET_OCTET_STREAM_VALUE)
+    @Operation(summary = "Writes the request body to an upload, starting at the given offset.")
+    public ResponseEntity<?> append(
+            @PathVariable("id") final String id,
+            @Parameter(description = "The offset the chunk starts at, which must be the upload's current offset.")
+            @RequestHeader(UPLOAD_OFFSET)
+            final long offset,
+            final HttpServletRequest request
+    ) throws IOException {
+        final UploadSession session = this.sessions.find(id).orElseThrow(() -> UploadNotFound.INSTANCE);
+        final OptionalLong written;
+        try {
+            written = this.sessions.append(session, request.getInputStream(), offset);
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidParameter(UPLOAD_LENGTH);
+        }
+        return this.respond(written.isPresent() ? HttpStatus.NO_CONTENT : HttpStatus.CONFLICT, session).build();
+    }
+
+    @ApiResponse(responseCode = "204", description = "Upload removed.")
+    @ApiResponse(responseCode = "404", description = "Upload not found.")
+    @DeleteMapping("/v1/admin/uploads/{id:[0-9a-f]{32}}")
+    @Operation(summary = "Abandons an upload and removes what arrived of it.")
+    public ResponseEntity<?> remove(@PathVariable("id") final String id) throws IOException {
+        final UploadSession session = this.sessions.find(id).orElseThrow(() -> UploadNotFound.INSTANCE);
+        this.sessions.remove(session);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).cacheControl(CACHE).header(TUS_RESUMABLE, TUS_VERSION).build();
+    }
+
+    private ResponseEntity.BodyBuilder respond(final HttpStatus status, final UploadSession session) {
+        return ResponseEntity.status(status)
+                .cacheControl(CACHE)
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, Long.toString(session.offset()))
+                .header(UPLOAD_EXPIRES, DateTimeFormatter.RFC_1123_DATE_TIME.format(this.sessions.expires(session).atOffset(ZoneOffset.UTC)));
+    }
+}
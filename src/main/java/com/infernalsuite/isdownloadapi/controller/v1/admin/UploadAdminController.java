@@ -1,14 +1,32 @@
 package com.infernalsuite.isdownloadapi.controller.v1.admin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.configuration.UploadConfiguration;
 import com.infernalsuite.isdownloadapi.controller.v1.admin.model.CompleteJSONSchema;
+import com.infernalsuite.isdownloadapi.database.Sequences;
 import com.infernalsuite.isdownloadapi.database.model.*;
 import com.infernalsuite.isdownloadapi.database.repository.*;
+import com.infernalsuite.isdownloadapi.exception.ChecksumMismatch;
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
+import com.infernalsuite.isdownloadapi.exception.UploadNotFound;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.storage.ArtifactStorage;
+import com.infernalsuite.isdownloadapi.storage.UploadSession;
+import com.infernalsuite.isdownloadapi.storage.UploadSessions;
 import com.infernalsuite.isdownloadapi.util.HTTP;
+import com.infernalsuite.isdownloadapi.webhook.WebhookOutbox;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
 import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
@@ -19,11 +37,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,12 +55,24 @@ import java.util.stream.Collectors;
 public class UploadAdminController {
 
     private static final CacheControl CACHE = HTTP.sMaxAgePublicCache(Duration.ofDays(7));
+    private static final String METADATA = "metadata";
+    private static final Pattern VERSION = Pattern.compile(Version.PATTERN);
+    private static final Pattern ARTIFACT = Pattern.compile("[a-z0-9\\-]+");
+    private static final Pattern DOWNLOAD = Pattern.compile(Artifact.Download.PATTERN);
     private ProjectCollection projects;
     private VersionFamilyCollection versionFamilies;
     private VersionCollection versions;
     private BuildCollection builds;
     private ArtifactCollection artifacts;
     private LatestCollection latest;
+    private BuildViewCollection buildViews;
+    private Sequences sequences;
+    private InvalidationBus invalidations;
+    private WebhookOutbox webhooks;
+    private ObjectMapper json;
+    private ArtifactStorage storage;
+    private long maxFileSize;
+    private UploadSessions sessions;
 
    @Autowired
     public UploadAdminController(ProjectCollection projects,
@@ -44,24 +80,227 @@ public class UploadAdminController {
                                  VersionCollection versions,
                                  BuildCollection builds,
                                  ArtifactCollection artifacts,
-                                 LatestCollection latest) {
+                                 LatestCollection latest,
+                                 BuildViewCollection buildViews,
+                                 Sequences sequences,
+                                 InvalidationBus invalidations,
+                                 WebhookOutbox webhooks,
+                                 ObjectMapper json,
+                                 ArtifactStorage storage,
+                                 UploadConfiguration uploads,
+                                 UploadSessions sessions) {
         this.projects = projects;
         this.versionFamilies = versionFamilies;
         this.versions = versions;
         this.builds = builds;
         this.artifacts = artifacts;
         this.latest = latest;
+        this.buildViews = buildViews;
+        this.sequences = sequences;
+        this.invalidations = invalidations;
+        this.webhooks = webhooks;
+        this.json = json;
+        this.storage = storage;
+        this.maxFileSize = uploads.getMaxFileSize().toBytes();
+        this.sessions = sessions;
     }
 
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Build added."),
+            @ApiResponse(responseCode = "400", description = "Build time missing."),
             @ApiResponse(responseCode = "409", description = "Conflicting build already exists.")
     })
     @PostMapping(value = "/v1/admin/upload",
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Uploads a new artifact.")
-    public ResponseEntity<?> upload(@RequestBody CompleteJSONSchema completeJSONSchema) {
+    public ResponseEntity<?> upload(@RequestBody CompleteJSONSchema completeJSONSchema) throws IOException {
+        return this.publish(completeJSONSchema, Placement.NONE);
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Build and files added."),
+            @ApiResponse(responseCode = "400", description = "Metadata or its build time missing, or a file missing or not declared by it."),
+            @ApiResponse(responseCode = "409", description = "Conflicting build already exists."),
+            @ApiResponse(responseCode = "413", description = "A file is larger than allowed."),
+            @ApiResponse(responseCode = "422", description = "A file does not match its declared sha256.")
+    })
+    @PostMapping(value = "/v1/admin/upload",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Uploads a new build together with its files.",
+            description = "The first part, named metadata, holds the build as JSON. Each download it declares follows as a file part named after its artifact, "
+                    + "with the download's name as filename. Files are hashed while they are written to disk and must match their declared sha256; "
+                    + "they are moved into place only once all of them arrived and the build number is reserved, and are removed again if the build cannot be stored."
+    )
+    public ResponseEntity<?> uploadFiles(final HttpServletRequest request) throws IOException {
+        final JakartaServletFileUpload<?, ?> upload = new JakartaServletFileUpload<>();
+        upload.setFileSizeMax(this.maxFileSize);
+        final FileItemInputIterator parts = upload.getItemIterator(request);
+        if (!parts.hasNext()) {
+            throw new InvalidParameter(METADATA);
+        }
+        final FileItemInput first = parts.next();
+        if (!first.isFormField() || !METADATA.equals(first.getFieldName())) {
+            throw new InvalidParameter(METADATA);
+        }
+        final CompleteJSONSchema completeJSONSchema;
+        try (final InputStream in = first.getInputStream()) {
+            completeJSONSchema = this.json.readValue(in, CompleteJSONSchema.class);
+        }
+        final Map<String, DeclaredFile> declared = this.declaredFiles(completeJSONSchema);
+        if (this.isConflicting(completeJSONSchema)) {
+            // refused before any file is read
+            return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CACHE).build();
+        }
+
+        final Map<String, ArtifactStorage.Received> received = new HashMap<>();
+        try {
+            while (parts.hasNext()) {
+                final FileItemInput part = parts.next();
+                final String key = part.getFieldName() + "/" + part.getName();
+                final DeclaredFile file = declared.get(key);
+                if (part.isFormField() || file == null || received.containsKey(key)) {
+                    throw new InvalidParameter(key);
+                }
+                final ArtifactStorage.Received stored;
+                try (final InputStream in = part.getInputStream()) {
+                    stored = this.storage.receive(in);
+                }
+                received.put(key, stored);
+                if (!stored.sha256().equalsIgnoreCase(file.sha256())) {
+                    throw new ChecksumMismatch(key);
+                }
+            }
+            for (final String key : declared.keySet()) {
+                if (!received.containsKey(key)) {
+                    throw new InvalidParameter(key);
+                }
+            }
+            return this.publish(completeJSONSchema, () -> {
+                final List<Path> placed = new ArrayList<>();
+                try {
+                    for (final Map.Entry<String, ArtifactStorage.Received> entry : received.entrySet()) {
+                        final Path target = declared.get(entry.getKey()).target();
+                        this.storage.place(entry.getValue().file(), target);
+                        placed.add(target);
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    placed.forEach(this.storage::discard);
+                    throw e;
+                }
+                return placed;
+            });
+        } finally {
+            // whatever was not moved into place, placed files are no longer at these paths
+            received.values().forEach(file -> this.storage.discard(file.file()));
+        }
+    }
+
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Build and files added."),
+            @ApiResponse(responseCode = "400", description = "Build time missing, or a download without a complete upload."),
+            @ApiResponse(responseCode = "404", description = "Upload not found."),
+            @ApiResponse(responseCode = "409", description = "Conflicting build already exists."),
+            @ApiResponse(responseCode = "422", description = "An upload does not match its declared sha256.")
+    })
+    @PostMapping(value = "/v1/admin/upload/resumable",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Uploads a new build whose files were sent as resumable uploads.",
+            description = "Each download names the id of its complete upload under upload, next to its name and sha256. "
+                    + "Uploads are hashed as their chunks arrive, so their files are not read again; they are moved into place "
+                    + "once all of them match and the build number is reserved, and are removed again if the build cannot be stored. "
+                    + "Uploads are kept when the build is refused as a conflict."
+    )
+    public ResponseEntity<?> uploadResumable(@RequestBody CompleteJSONSchema completeJSONSchema) throws IOException {
+        final Map<String, DeclaredFile> declared = this.declaredFiles(completeJSONSchema);
+        final Map<String, UploadSession> uploads = new HashMap<>();
+        for (final Map.Entry<String, DeclaredFile> entry : declared.entrySet()) {
+            final String id = entry.getValue().upload();
+            if (id == null) {
+                throw new InvalidParameter(entry.getKey());
+            }
+            final UploadSession session = this.sessions.find(id).orElseThrow(() -> UploadNotFound.INSTANCE);
+            if (!session.isComplete()) {
+                throw new InvalidParameter(entry.getKey());
+            }
+            // a mismatch keeps the uploads, the metadata may be what is wrong
+            if (!session.sha256().equalsIgnoreCase(entry.getValue().sha256())) {
+                throw new ChecksumMismatch(entry.getKey());
+            }
+            uploads.put(entry.getKey(), session);
+        }
+        if (this.isConflicting(completeJSONSchema)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CACHE).build();
+        }
+        return this.publish(completeJSONSchema, () -> {
+            final List<Path> placed = new ArrayList<>();
+            try {
+                for (final Map.Entry<String, UploadSession> entry : uploads.entrySet()) {
+                    final Path target = declared.get(entry.getKey()).target();
+                    this.sessions.place(entry.getValue(), target);
+                    placed.add(target);
+                }
+            } catch (final IOException | RuntimeException e) {
+                placed.forEach(this.storage::discard);
+                throw e;
+            }
+            return placed;
+        });
+    }
+
+    private Map<String, DeclaredFile> declaredFiles(final CompleteJSONSchema completeJSONSchema) {
+        if (!VERSION.matcher(completeJSONSchema.version()).matches() || isDotSegment(completeJSONSchema.version())) {
+            throw new InvalidParameter("version");
+        }
+        final Map<String, DeclaredFile> declared = new HashMap<>();
+        completeJSONSchema.artifacts().forEach((artifact, downloads) -> {
+            if (!ARTIFACT.matcher(artifact).matches()) {
+                throw new InvalidParameter(artifact);
+            }
+            downloads.values().forEach(download -> {
+                final String name = download.get("name");
+                final String sha256 = download.get("sha256");
+                if (name == null || sha256 == null || !DOWNLOAD.matcher(name).matches() || isDotSegment(name)) {
+                    throw new InvalidParameter(artifact + "/" + name);
+                }
+                declared.put(artifact + "/" + name, new DeclaredFile(
+                        this.storage.path(completeJSONSchema.projectName(), completeJSONSchema.version(), completeJSONSchema.build(), artifact, name),
+                        sha256,
+                        download.get("upload")
+                ));
+            });
+        });
+        return declared;
+    }
+
+    // the name patterns admit segments of dots alone, which would resolve outside of the build's directory
+    private static boolean isDotSegment(final String name) {
+        return name.chars().allMatch(c -> c == '.');
+    }
+
+    private boolean isConflicting(final CompleteJSONSchema completeJSONSchema) {
+        final Optional<Project> project = this.projects.findByName(completeJSONSchema.projectName());
+        if (project.isEmpty()) {
+            return true;
+        }
+        return this.versions.findByProjectAndName(project.get()._id(), completeJSONSchema.version())
+                .flatMap(version -> this.builds.findByProjectAndVersionAndNumber(project.get()._id(), version._id(), completeJSONSchema.build()))
+                .isPresent();
+    }
+
+    /**
+     * Records a build, moving its files into place once the build is reserved and taking both back if it cannot be
+     * stored.
+     */
+    private ResponseEntity<?> publish(final CompleteJSONSchema completeJSONSchema, final Placement files) throws IOException {
+        // latest pointers order builds by time, refused before anything is stored rather than failing after
+        if (completeJSONSchema.buildTime() == null) {
+            throw new InvalidParameter("buildTime");
+        }
         Optional<Project> project = this.projects.findByName(completeJSONSchema.projectName());
         if (project.isEmpty()) {
             return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CACHE).build();
@@ -82,6 +321,13 @@ public class UploadAdminController {
             } else {
                 versionFamilyId = savedVersionFamily.get()._id();
             }
+        } catch (DuplicateKeyException e) {
+            // created by a concurrent upload since it was looked up
+            Optional<VersionFamily> created = this.versionFamilies.findByProjectAndName(projectId, CompleteJSONSchema.toVersionFamily(completeJSONSchema.version()));
+            if (created.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
+            }
+            versionFamilyId = created.get()._id();
         } catch (NonTransientDataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
         }
@@ -100,52 +346,103 @@ public class UploadAdminController {
             } else {
                 versionId = savedVersion.get()._id();
             }
+        } catch (DuplicateKeyException e) {
+            Optional<Version> created = this.versions.findByProjectAndName(projectId, completeJSONSchema.version());
+            if (created.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
+            }
+            versionId = created.get()._id();
         } catch (NonTransientDataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
         }
 
         ObjectId buildId = new ObjectId();
+        Build build;
         try {
-            Optional<Build> savedBuild = this.builds.findByProjectAndVersionAndNumber(projectId, versionId, completeJSONSchema.build());
-            if (savedBuild.isEmpty()) {
-                List<Build.Change> changes = new LinkedList<>();
-                completeJSONSchema.buildChanges().forEach(jsonChange -> {
-                    Build.Change change = new Build.Change(jsonChange.get("commit"), jsonChange.get("summary"), jsonChange.get("message"));
-                    changes.add(change);
-                });
-                Build build = new Build(buildId, projectId, versionId, completeJSONSchema.build(), completeJSONSchema.buildTime(), changes, Build.Channel.valueOf(completeJSONSchema.channel()));
-                this.builds.save(build);
-            } else {
+            if (this.builds.findByProjectAndVersionAndNumber(projectId, versionId, completeJSONSchema.build()).isPresent()) {
                 return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CACHE).build();
             }
+            List<Build.Change> changes = new LinkedList<>();
+            completeJSONSchema.buildChanges().forEach(jsonChange -> {
+                Build.Change change = new Build.Change(jsonChange.get("commit"), jsonChange.get("summary"), jsonChange.get("message"));
+                changes.add(change);
+            });
+            build = new Build(buildId, projectId, versionId, completeJSONSchema.build(), completeJSONSchema.buildTime(), changes, Build.Channel.valueOf(completeJSONSchema.channel()));
+            // the unique index on the number reserves the build, so of two uploads of it only one gets to move its files
+            this.builds.insert(build);
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CACHE).build();
         } catch (NonTransientDataAccessException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
         }
 
-        List<Artifact> artifacts = this.artifacts.findAllByProjectAndVersionAndBuild(projectId, versionId, buildId);
-        if (artifacts.isEmpty()) {
-            try {
-                ObjectId finalVersionId = versionId;
-                ObjectId finalBuildId = buildId;
-                Map<String, Artifact> artifactsToSave = completeJSONSchema.artifacts().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> new Artifact(new ObjectId(),
-                        projectId, finalVersionId, finalBuildId, entry.getKey(), entry.getValue().entrySet().stream().collect(Collectors.toMap(
-                                Map.Entry::getKey, downloadEntry -> new Artifact.Download(downloadEntry.getValue().get("name"), downloadEntry.getValue().get("sha256"))
-                )))));
-                this.artifacts.saveAll(artifactsToSave.values());
-
-                Optional<Latest> latest = this.latest.findByProject(projectId);
-                Latest newLatest = new Latest(new ObjectId(), projectId, versionId, buildId);
-                if (latest.isEmpty()) {
-                    this.latest.updateLatest(null, newLatest);
-                } else {
-                    this.latest.updateLatest(latest.get().id(), newLatest);
-                }
-            } catch (NonTransientDataAccessException e) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
+        final List<Path> placed;
+        try {
+            placed = files.place();
+        } catch (IOException | RuntimeException e) {
+            this.builds.delete(build);
+            throw e;
+        }
+
+        ObjectId finalVersionId = versionId;
+        Map<String, Artifact> artifactsToSave = completeJSONSchema.artifacts().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> new Artifact(new ObjectId(),
+                projectId, finalVersionId, buildId, entry.getKey(), entry.getValue().entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey, downloadEntry -> new Artifact.Download(downloadEntry.getValue().get("name"), downloadEntry.getValue().get("sha256"))
+        )))));
+        BuildView view;
+        try {
+            this.artifacts.saveAll(artifactsToSave.values());
+            // numbered just before it is saved, so that views become visible in about the order of their numbers
+            view = BuildView.from(project.get(), completeJSONSchema.version(), build, artifactsToSave.values(), this.sequences.next(BuildView.SEQUENCE, 1));
+            this.buildViews.save(view);
+        } catch (NonTransientDataAccessException e) {
+            // taken back along with its files, so that sending the build again is not refused as a conflict
+            this.artifacts.deleteAll(artifactsToSave.values());
+            this.builds.delete(build);
+            placed.forEach(this.storage::discard);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
+        }
+        // queued right after the view it announces, so that failing to advance the pointers cannot lose it
+        boolean notified = true;
+        try {
+            this.webhooks.enqueue(view);
+        } catch (NonTransientDataAccessException e) {
+            // the build is stored and served either way, its pointers are still advanced before answering
+            notified = false;
+        }
+        try {
+            for (Latest newLatest : Latest.pointers(versionFamilyId, build, Latest.Snapshot.from(view))) {
+                this.latest.advance(newLatest);
             }
-        } else {
-            return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CACHE).build();
+        } catch (NonTransientDataAccessException e) {
+            // the build is stored and served, a rebuild of the project's pointers catches up with it
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
+        } finally {
+            // the build is readable from here on, so no node may keep serving what it cached without it
+            this.invalidations.publish(InvalidationEvent.build(completeJSONSchema.projectName(), completeJSONSchema.version(), completeJSONSchema.build()));
+        }
+        if (!notified) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CACHE).build();
         }
         return ResponseEntity.status(HttpStatus.CREATED).cacheControl(CACHE).build();
     }
+
+    /**
+     * Moves the files of a build into place.
+     */
+    @FunctionalInterface
+    private interface Placement {
+        Placement NONE = List::of;
+
+        /**
+         * @return the paths the files were moved to
+         */
+        List<Path> place() throws IOException;
+    }
+
+    /**
+     * @param upload the id of the resumable upload holding the file, if it came through one
+     */
+    private record DeclaredFile(Path target, String sha256, @Nullable String upload) {
+    }
 }
@@ -0,0 +1,134 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookDeliveryCollection;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookSubscriptionCollection;
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
+import com.infernalsuite.isdownloadapi.exception.WebhookNotFound;
+import com.infernalsuite.isdownloadapi.webhook.WebhookOutbox;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+public class WebhookAdminController {
+
+    // subscriptions carry their secrets, and their pending counts change with every build
+    private static final CacheControl CACHE = CacheControl.noStore();
+    private final WebhookSubscriptionCollection subscriptions;
+    private final WebhookDeliveryCollection deliveries;
+    private final WebhookOutbox outbox;
+
+    @Autowired
+    public WebhookAdminController(WebhookSubscriptionCollection subscriptions,
+                                  WebhookDeliveryCollection deliveries,
+                                  WebhookOutbox outbox) {
+        this.subscriptions = subscriptions;
+        this.deliveries = deliveries;
+        this.outbox = outbox;
+    }
+
+    @ApiResponse(responseCode = "201", description = "Webhook created.")
+    @ApiResponse(responseCode = "400", description = "Invalid webhook url.")
+    @PostMapping(value = "/v1/admin/webhooks", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Subscribes an endpoint to new builds.")
+    public ResponseEntity<?> addWebhook(@RequestBody WebhookRequest request) {
+        if (!isHttpUrl(request.url())) {
+            throw new InvalidParameter("url");
+        }
+        WebhookSubscription subscription = this.subscriptions.insert(new WebhookSubscription(
+                new ObjectId(),
+                request.url(),
+                request.secret(),
+                Objects.requireNonNullElse(request.projects(), List.of()),
+                Objects.requireNonNullElse(request.channels(), List.of()),
+                true,
+                null,
+                null
+        ));
+        return ResponseEntity.status(HttpStatus.CREATED).cacheControl(CACHE).body(WebhookResponse.from(subscription, 0));
+    }
+
+    @ApiResponse(responseCode = "200", description = "Webhooks listed.")
+    @GetMapping("/v1/admin/webhooks")
+    @Operation(summary = "Lists webhooks with the number of deliveries each has pending.")
+    public ResponseEntity<?> webhooks() {
+        List<WebhookResponse> webhooks = this.subscriptions.findAll().stream()
+                .map(subscription -> WebhookResponse.from(subscription, this.deliveries.countBySubscriptionAndDeadFalse(subscription._id())))
+                .toList();
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(CACHE).body(webhooks);
+    }
+
+    @ApiResponse(responseCode = "204", description = "Webhook removed.")
+    @ApiResponse(responseCode = "404", description = "Webhook not found.")
+    @DeleteMapping("/v1/admin/webhooks/{id:[0-9a-f]{24}}")
+    @Operation(summary = "Removes a webhook and drops its pending deliveries.")
+    public ResponseEntity<?> removeWebhook(@PathVariable("id") String id) {
+        WebhookSubscription subscription = this.subscriptions.findById(new ObjectId(id)).orElseThrow(() -> WebhookNotFound.INSTANCE);
+        this.outbox.remove(subscription);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).cacheControl(CACHE).build();
+    }
+
+    private static boolean isHttpUrl(final @Nullable String url) {
+        if (url == null) {
+            return false;
+        }
+        try {
+            final URI uri = URI.create(url);
+            return ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && uri.getHost() != null;
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Schema
+    public record WebhookRequest(
+            @Schema(name = "url", example = "https://example.com/hooks/builds")
+            String url,
+            @Schema(name = "secret", description = "Signs each body with HMAC-SHA256 in the X-Webhook-Signature header.")
+            @Nullable String secret,
+            @Schema(name = "projects", description = "Projects to notify about. Every project when empty.")
+            @Nullable List<String> projects,
+            @Schema(name = "channels", description = "Channels to notify about. Every channel when empty.")
+            @Nullable List<Build.Channel> channels
+    ) {
+    }
+
+    @Schema
+    private record WebhookResponse(
+            @Schema(name = "id")
+            String id,
+            @Schema(name = "url")
+            String url,
+            @Schema(name = "projects")
+            List<String> projects,
+            @Schema(name = "channels")
+            List<Build.Channel> channels,
+            @Schema(name = "pending")
+            long pending
+    ) {
+        static WebhookResponse from(final WebhookSubscription subscription, final long pending) {
+            return new WebhookResponse(subscription._id().toHexString(), subscription.url(), subscription.projects(), subscription.channels(), pending);
+        }
+    }
+}
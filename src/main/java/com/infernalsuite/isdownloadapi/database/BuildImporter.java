@@ -0,0 +1,490 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.infernalsuite.isdownloadapi.database.model.Artifact;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import com.infernalsuite.isdownloadapi.util.NameSource;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Writes builds in batches, for backfilling history that would take one upload per build otherwise. A session keeps
+ * the projects, families, versions and build numbers it has seen, so that each batch reads what it does not know yet
+ * in a single query per collection and writes each collection with one unordered bulk write: families and versions are
+ * upserted on their unique project and name, so that concurrent imports and uploads share them, and the rest is
+ * inserted. A build whose artifacts or view fail is deleted again. Latest pointers are collapsed to the newest build
+ * per scope before being moved, so a batch moves each pointer at most once.
+ */
+public class BuildImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildImporter.class);
+    private final MongoOperations mongo;
+    private final LatestCollection latest;
+    private final Sequences sequences;
+
+    public BuildImporter(final MongoOperations mongo, final LatestCollection latest, final Sequences sequences) {
+        this.mongo = mongo;
+        this.latest = latest;
+        this.sequences = sequences;
+    }
+
+    /**
+     * Starts an import. Sessions are not thread safe and are meant to last one request.
+     */
+    public Session begin() {
+        return new Session();
+    }
+
+    public final class Session {
+        private final Map<String, Optional<Project>> projects = new HashMap<>();
+        private final Set<ObjectId> loaded = new HashSet<>();
+        // keyed by project id and name
+        private final Map<String, VersionFamily> families = new HashMap<>();
+        private final Map<String, Version> versions = new HashMap<>();
+        private final Map<ObjectId, Set<Integer>> numbers = new HashMap<>();
+
+        private Session() {
+        }
+
+        /**
+         * Writes a batch of builds.
+         *
+         * @return the result of each entry, in the order of {@code entries}
+         */
+        public List<Result> write(final List<Entry> entries) {
+            final Result[] results = new Result[entries.size()];
+            final Project[] projects = this.projects(entries);
+            final Version[] versions = new Version[entries.size()];
+            final List<VersionFamily> newFamilies = new ArrayList<>();
+            final Map<VersionFamily, List<Integer>> familyEntries = new IdentityHashMap<>();
+            for (int i = 0; i < entries.size(); i++) {
+                final Entry entry = entries.get(i);
+                final Project project = projects[i];
+                if (project == null) {
+                    results[i] = Result.failed(entry.line(), "project " + entry.project() + " not found");
+                    continue;
+                }
+                if (!this.versions.containsKey(key(project._id(), entry.version()))) {
+                    final VersionFamily family = this.families.computeIfAbsent(key(project._id(), entry.family()), key -> {
+                        final VersionFamily created = new VersionFamily(new ObjectId(), project._id(), entry.family(), entry.familyTime());
+                        newFamilies.add(created);
+                        return created;
+                    });
+                    familyEntries.computeIfAbsent(family, created -> new ArrayList<>()).add(i);
+                }
+            }
+            final Upserted<VersionFamily> familyWrites = this.upsert(newFamilies, VersionFamily.class, VersionFamily::project);
+            // families and versions that could not be stored are forgotten, so that a later batch tries them again
+            for (final Map.Entry<VersionFamily, String> failed : familyWrites.failed().entrySet()) {
+                final VersionFamily family = failed.getKey();
+                this.families.remove(key(family.project(), family.name()));
+                this.fail(familyEntries.get(family), entries, results, failed.getValue());
+            }
+            familyWrites.existing().forEach((created, stored) -> this.families.put(key(stored.project(), stored.name()), stored));
+
+            final List<Version> newVersions = new ArrayList<>();
+            final Map<Version, List<Integer>> versionEntries = new IdentityHashMap<>();
+            for (int i = 0; i < entries.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                final Entry entry = entries.get(i);
+                final Project project = projects[i];
+                final Version version = this.versions.computeIfAbsent(key(project._id(), entry.version()), key -> {
+                    final VersionFamily family = this.families.get(key(project._id(), entry.family()));
+                    final Version created = new Version(new ObjectId(), project._id(), family._id(), entry.version(), entry.versionTime());
+                    // nothing can be stored for a version that did not exist
+                    this.numbers.put(created._id(), new HashSet<>());
+                    newVersions.add(created);
+                    return created;
+                });
+                versionEntries.computeIfAbsent(version, known -> new ArrayList<>()).add(i);
+                versions[i] = version;
+            }
+            final Upserted<Version> versionWrites = this.upsert(newVersions, Version.class, Version::project);
+            for (final Map.Entry<Version, String> failed : versionWrites.failed().entrySet()) {
+                this.forget(failed.getKey());
+                this.fail(versionEntries.get(failed.getKey()), entries, results, failed.getValue());
+            }
+            versionWrites.existing().forEach((created, stored) -> {
+                // stored by someone else since the session read the versions, its builds are read with the others
+                this.forget(created);
+                this.versions.put(key(stored.project(), stored.name()), stored);
+                for (final int i : versionEntries.get(created)) {
+                    versions[i] = stored;
+                }
+            });
+
+            this.loadNumbers(versions, results);
+            final List<Build> builds = new ArrayList<>();
+            final Map<Build, Integer> buildEntries = new IdentityHashMap<>();
+            for (int i = 0; i < entries.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                final Entry entry = entries.get(i);
+                if (!this.numbers.get(versions[i]._id()).add(entry.number())) {
+                    results[i] = new Result(entry.line(), Status.CONFLICT, null);
+                    continue;
+                }
+                final Build build = new Build(new ObjectId(), projects[i]._id(), versions[i]._id(), entry.number(), entry.time(), entry.changes(), entry.channel());
+                builds.add(build);
+                buildEntries.put(build, i);
+            }
+            for (final Map.Entry<Build, String> failed : this.insert(builds, Build.class).entrySet()) {
+                final int i = buildEntries.remove(failed.getKey());
+                this.numbers.get(versions[i]._id()).remove(entries.get(i).number());
+                results[i] = Result.failed(entries.get(i).line(), failed.getValue());
+            }
+
+            final List<Artifact> artifacts = new ArrayList<>();
+            final Map<Artifact, Integer> artifactEntries = new IdentityHashMap<>();
+            final Map<Integer, List<Artifact>> artifactsOfEntries = new HashMap<>();
+            for (final Map.Entry<Build, Integer> stored : buildEntries.entrySet()) {
+                final Build build = stored.getKey();
+                final List<Artifact> ofEntry = new ArrayList<>();
+                entries.get(stored.getValue()).artifacts().forEach((name, downloads) -> {
+                    final Artifact artifact = new Artifact(new ObjectId(), build.project(), build.version(), build._id(), name, downloads);
+                    artifacts.add(artifact);
+                    artifactEntries.put(artifact, stored.getValue());
+                    ofEntry.add(artifact);
+                });
+                artifactsOfEntries.put(stored.getValue(), ofEntry);
+            }
+            for (final Map.Entry<Artifact, String> failed : this.insert(artifacts, Artifact.class).entrySet()) {
+                final int i = artifactEntries.get(failed.getKey());
+                results[i] = Result.failed(entries.get(i).line(), failed.getValue());
+            }
+
+            // numbered in line order, with one range taken for the batch
+            final List<Build> viewed = buildEntries.entrySet().stream()
+                    .filter(stored -> results[stored.getValue()] == null)
+                    .sorted(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            final List<BuildView> views = new ArrayList<>();
+            final Map<BuildView, Build> viewBuilds = new IdentityHashMap<>();
+            long sequence = viewed.isEmpty() ? 0 : BuildImporter.this.sequences.next(BuildView.SEQUENCE, viewed.size());
+            for (final Build build : viewed) {
+                final int i = buildEntries.get(build);
+                final BuildView view = BuildView.from(projects[i], versions[i].name(), build, artifactsOfEntries.get(i), sequence++);
+                views.add(view);
+                viewBuilds.put(view, build);
+            }
+            for (final Map.Entry<BuildView, String> failed : this.insert(views, BuildView.class).entrySet()) {
+                final int i = buildEntries.get(viewBuilds.remove(failed.getKey()));
+                results[i] = Result.failed(entries.get(i).line(), failed.getValue());
+            }
+            this.takeBack(buildEntries, artifactsOfEntries, versions, entries, results);
+
+            final Map<String, Latest> pointers = new HashMap<>();
+            final Map<ObjectId, Build> pointedAt = new HashMap<>();
+            for (final Map.Entry<BuildView, Build> stored : viewBuilds.entrySet()) {
+                final Build build = stored.getValue();
+                final int i = buildEntries.get(build);
+                pointedAt.put(build._id(), build);
+                for (final Latest pointer : Latest.pointers(versions[i].group(), build, Latest.Snapshot.from(stored.getKey()))) {
+                    pointers.merge(pointer.project() + "/" + pointer.scope() + "/" + pointer.key(), pointer,
+                            (current, candidate) -> Build.RECENCY.compare(pointedAt.get(candidate.build()), pointedAt.get(current.build())) > 0 ? candidate : current);
+                }
+                results[i] = new Result(entries.get(i).line(), Status.CREATED, null);
+            }
+            for (final Latest pointer : pointers.values()) {
+                try {
+                    BuildImporter.this.latest.advance(pointer);
+                } catch (final DataAccessException e) {
+                    // the builds are stored, so a rebuild of the project's pointers catches up with them
+                    LOGGER.warn("Could not move latest pointer {} {} of project {} to build {}", pointer.scope(), pointer.key(), pointer.project(), pointer.number(), e);
+                }
+            }
+            return List.of(results);
+        }
+
+        private Project[] projects(final List<Entry> entries) {
+            final Set<String> unknown = new HashSet<>();
+            for (final Entry entry : entries) {
+                if (!this.projects.containsKey(entry.project())) {
+                    unknown.add(entry.project());
+                }
+            }
+            if (!unknown.isEmpty()) {
+                for (final Project project : BuildImporter.this.mongo.find(query(where("name").in(unknown)), Project.class)) {
+                    this.projects.put(project.name(), Optional.of(project));
+                    unknown.remove(project.name());
+                }
+                for (final String name : unknown) {
+                    this.projects.put(name, Optional.empty());
+                }
+            }
+            final Project[] projects = new Project[entries.size()];
+            final Set<ObjectId> unloaded = new HashSet<>();
+            for (int i = 0; i < entries.size(); i++) {
+                projects[i] = this.projects.get(entries.get(i).project()).orElse(null);
+                if (projects[i] != null && !this.loaded.contains(projects[i]._id())) {
+                    unloaded.add(projects[i]._id());
+                }
+            }
+            if (!unloaded.isEmpty()) {
+                final Query ofProjects = query(where("project").in(unloaded));
+                for (final VersionFamily family : BuildImporter.this.mongo.find(ofProjects, VersionFamily.class)) {
+                    this.families.putIfAbsent(key(family.project(), family.name()), family);
+                }
+                for (final Version version : BuildImporter.this.mongo.find(ofProjects, Version.class)) {
+                    this.versions.putIfAbsent(key(version.project(), version.name()), version);
+                }
+                this.loaded.addAll(unloaded);
+            }
+            return projects;
+        }
+
+        /**
+         * Reads the build numbers taken in the versions of a batch that this session has not read yet.
+         */
+        private void loadNumbers(final Version[] versions, final Result[] results) {
+            final Set<ObjectId> projects = new HashSet<>();
+            final Set<ObjectId> unread = new HashSet<>();
+            for (int i = 0; i < versions.length; i++) {
+                if (results[i] == null && !this.numbers.containsKey(versions[i]._id())) {
+                    projects.add(versions[i].project());
+                    unread.add(versions[i]._id());
+                }
+            }
+            if (unread.isEmpty()) {
+                return;
+            }
+            for (final ObjectId version : unread) {
+                this.numbers.put(version, new HashSet<>());
+            }
+            final Query taken = query(where("project").in(projects).and("version").in(unread));
+            taken.fields().include("version", "number");
+            for (final Build build : BuildImporter.this.mongo.find(taken, Build.class)) {
+                this.numbers.get(build.version()).add(build.number());
+            }
+        }
+
+        /**
+         * Deletes the builds whose artifacts or view could not be stored, with whatever artifacts they got, so that
+         * importing them again is not refused as a conflict.
+         */
+        private void takeBack(
+                final Map<Build, Integer> buildEntries,
+                final Map<Integer, List<Artifact>> artifactsOfEntries,
+                final Version[] versions,
+                final List<Entry> entries,
+                final Result[] results
+        ) {
+            final List<ObjectId> builds = new ArrayList<>();
+            final List<ObjectId> artifacts = new ArrayList<>();
+            for (final Map.Entry<Build, Integer> stored : buildEntries.entrySet()) {
+                final int i = stored.getValue();
+                if (results[i] != null) {
+                    builds.add(stored.getKey()._id());
+                    artifactsOfEntries.get(i).forEach(artifact -> artifacts.add(artifact._id()));
+                }
+            }
+            if (builds.isEmpty()) {
+                return;
+            }
+            try {
+                if (!artifacts.isEmpty()) {
+                    BuildImporter.this.mongo.remove(query(where("_id").in(artifacts)), Artifact.class);
+                }
+                BuildImporter.this.mongo.remove(query(where("_id").in(builds)), Build.class);
+            } catch (final DataAccessException e) {
+                LOGGER.warn("Could not delete {} builds whose import failed", builds.size(), e);
+                return;
+            }
+            for (final Map.Entry<Build, Integer> stored : buildEntries.entrySet()) {
+                final int i = stored.getValue();
+                if (results[i] != null) {
+                    this.numbers.get(versions[i]._id()).remove(entries.get(i).number());
+                }
+            }
+        }
+
+        private void forget(final Version version) {
+            this.versions.remove(key(version.project(), version.name()));
+            this.numbers.remove(version._id());
+        }
+
+        private void fail(final List<Integer> indexes, final List<Entry> entries, final Result[] results, final String error) {
+            for (final int i : indexes) {
+                if (results[i] == null) {
+                    results[i] = Result.failed(entries.get(i).line(), error);
+                }
+            }
+        }
+
+        /**
+         * Creates families or versions in one unordered bulk upsert on their project and name, so that one created by
+         * someone else since the session read them is kept rather than duplicated or failed on.
+         *
+         * @return the documents that were not stored, with the reason, and the documents already stored in place of
+         * the others that were not created
+         */
+        private <T extends NameSource> Upserted<T> upsert(final List<T> documents, final Class<T> type, final Function<T, ObjectId> project) {
+            final Map<T, String> failed = new IdentityHashMap<>();
+            final Map<T, T> existing = new IdentityHashMap<>();
+            if (documents.isEmpty()) {
+                return new Upserted<>(failed, existing);
+            }
+            final BulkOperations bulk = BuildImporter.this.mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            for (final T document : documents) {
+                final Document fields = new Document();
+                BuildImporter.this.mongo.getConverter().write(document, fields);
+                // the project and name come from the query
+                fields.remove("project");
+                fields.remove("name");
+                final Update update = new Update();
+                fields.forEach(update::setOnInsert);
+                bulk.upsert(query(where("project").is(project.apply(document)).and("name").is(document.name())), update);
+            }
+            final Set<Integer> created = new HashSet<>();
+            try {
+                bulk.execute().getUpserts().forEach(upsert -> created.add(upsert.getIndex()));
+            } catch (final BulkOperationException e) {
+                for (final BulkWriteError error : e.getErrors()) {
+                    failed.put(documents.get(error.getIndex()), error.getMessage());
+                }
+                e.getResult().getUpserts().forEach(upsert -> created.add(upsert.getIndex()));
+            } catch (final DataAccessException e) {
+                for (final T document : documents) {
+                    failed.put(document, e.getMessage());
+                }
+                return new Upserted<>(failed, existing);
+            }
+            final List<T> matched = new ArrayList<>();
+            for (int i = 0; i < documents.size(); i++) {
+                if (!created.contains(i) && !failed.containsKey(documents.get(i))) {
+                    matched.add(documents.get(i));
+                }
+            }
+            if (matched.isEmpty()) {
+                return new Upserted<>(failed, existing);
+            }
+            final Map<String, T> stored = new HashMap<>();
+            final Query ofMatched = query(where("project").in(matched.stream().map(project).toList()).and("name").in(matched.stream().map(NameSource::name).toList()));
+            try {
+                for (final T document : BuildImporter.this.mongo.find(ofMatched, type)) {
+                    stored.put(key(project.apply(document), document.name()), document);
+                }
+            } catch (final DataAccessException e) {
+                matched.forEach(document -> failed.put(document, e.getMessage()));
+                return new Upserted<>(failed, existing);
+            }
+            for (final T document : matched) {
+                final T other = stored.get(key(project.apply(document), document.name()));
+                if (other == null) {
+                    failed.put(document, "removed while importing");
+                } else {
+                    existing.put(document, other);
+                }
+            }
+            return new Upserted<>(failed, existing);
+        }
+
+        /**
+         * Inserts documents in one unordered bulk write, which keeps going past documents that fail.
+         *
+         * @return the documents that were not stored, with the reason
+         */
+        private <T> Map<T, String> insert(final List<T> documents, final Class<T> type) {
+            // records hash every field, and each document here is a distinct object anyway
+            final Map<T, String> failed = new IdentityHashMap<>();
+            if (documents.isEmpty()) {
+                return failed;
+            }
+            try {
+                BuildImporter.this.mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            } catch (final BulkOperationException e) {
+                for (final BulkWriteError error : e.getErrors()) {
+                    failed.put(documents.get(error.getIndex()), error.getMessage());
+                }
+            } catch (final DataAccessException e) {
+                for (final T document : documents) {
+                    failed.put(document, e.getMessage());
+                }
+            }
+            return failed;
+        }
+    }
+
+    private record Upserted<T>(Map<T, String> failed, Map<T, T> existing) {
+    }
+
+    private static String key(final ObjectId project, final String name) {
+        return project.toHexString() + "/" + name;
+    }
+
+    /**
+     * A build to import, with the names and times of the version and family it belongs to in case they do not exist.
+     *
+     * @param line the position of the entry in the import, reported back with its result
+     */
+    public record Entry(
+            long line,
+            String project,
+            String family,
+            @Nullable Instant familyTime,
+            String version,
+            @Nullable Instant versionTime,
+            int number,
+            Instant time,
+            List<Build.Change> changes,
+            Build.@Nullable Channel channel,
+            Map<String, Map<String, Artifact.Download>> artifacts
+    ) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(
+            long line,
+            Status status,
+            @Nullable String error
+    ) {
+        public static Result failed(final long line, final @Nullable String error) {
+            return new Result(line, Status.FAILED, error);
+        }
+    }
+
+    public enum Status {
+        @JsonProperty("created")
+        CREATED,
+        @JsonProperty("conflict")
+        CONFLICT,
+        @JsonProperty("invalid")
+        INVALID,
+        @JsonProperty("failed")
+        FAILED
+    }
+}
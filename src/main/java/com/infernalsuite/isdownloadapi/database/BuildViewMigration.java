@@ -0,0 +1,51 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Numbers the build views written by earlier releases, which have no sequence number, in the id order the feed used
+ * for them. It runs at startup, before the instance takes uploads, so they come before the views it publishes.
+ */
+public class BuildViewMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildViewMigration.class);
+    private static final int BATCH = 1000;
+    private final MongoOperations mongo;
+    private final Sequences sequences;
+
+    public BuildViewMigration(final MongoOperations mongo, final Sequences sequences) {
+        this.mongo = mongo;
+        this.sequences = sequences;
+    }
+
+    public void run() {
+        final Query unnumbered = query(where("sequence").exists(false)).with(Sort.by("_id")).limit(BATCH);
+        unnumbered.fields().include("_id");
+        long numbered = 0;
+        List<Document> page;
+        while (!(page = this.mongo.find(unnumbered, Document.class, this.mongo.getCollectionName(BuildView.class))).isEmpty()) {
+            long sequence = this.sequences.next(BuildView.SEQUENCE, page.size());
+            final BulkOperations bulk = this.mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, BuildView.class);
+            for (final Document view : page) {
+                // another instance numbering the same view first wins
+                bulk.updateOne(query(where("_id").is(view.get("_id")).and("sequence").exists(false)), new Update().set("sequence", sequence++));
+            }
+            numbered += bulk.execute().getModifiedCount();
+        }
+        if (numbered > 0) {
+            LOGGER.info("Numbered {} build views", numbered);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the mapped documents and reports how the indexes present in the database
+ * differ from them.
+ */
+public class IndexManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexManager.class);
+    private static final String ID_INDEX = "_id_1";
+
+    private final MongoOperations mongo;
+    private final MongoMappingContext context;
+
+    public IndexManager(final MongoOperations mongo, final MongoMappingContext context) {
+        this.mongo = mongo;
+        this.context = context;
+    }
+
+    public Report reconcile(final boolean create) {
+        final IndexResolver resolver = IndexResolver.create(this.context);
+        final List<String> created = new ArrayList<>();
+        final List<String> missing = new ArrayList<>();
+        final List<String> unexpected = new ArrayList<>();
+        for (final MongoPersistentEntity<?> entity : this.context.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            final String collection = entity.getCollection();
+            final IndexOperations indexes = this.mongo.indexOps(entity.getType());
+            final Set<String> present = existing(indexes);
+            final Set<String> declared = new LinkedHashSet<>();
+            for (final IndexDefinition definition : resolver.resolveIndexFor(entity.getType())) {
+                final String key = key(definition);
+                declared.add(key);
+                if (present.contains(key)) {
+                    continue;
+                }
+                if (create && this.ensure(indexes, collection, definition)) {
+                    created.add(collection + "." + key);
+                } else {
+                    missing.add(collection + "." + key);
+                }
+            }
+            for (final String key : present) {
+                if (!ID_INDEX.equals(key) && !declared.contains(key)) {
+                    unexpected.add(collection + "." + key);
+                }
+            }
+        }
+        final Report report = new Report(created, missing, unexpected);
+        report.log();
+        return report;
+    }
+
+    private boolean ensure(final IndexOperations indexes, final String collection, final IndexDefinition definition) {
+        try {
+            indexes.ensureIndex(definition);
+            return true;
+        } catch (final DataAccessException e) {
+            LOGGER.error("Could not create index {} on {}", definition.getIndexKeys().toJson(), collection, e);
+            return false;
+        }
+    }
+
+    private static Set<String> existing(final IndexOperations indexes) {
+        return indexes.getIndexInfo().stream()
+                .map(IndexManager::key)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String key(final IndexDefinition definition) {
+        return definition.getIndexKeys().entrySet().stream()
+                .map(IndexManager::key)
+                .collect(Collectors.joining("_"));
+    }
+
+    private static String key(final Map.Entry<String, Object> field) {
+        return field.getKey() + "_" + field.getValue();
+    }
+
+    private static String key(final IndexInfo info) {
+        return info.getIndexFields().stream()
+                .map(IndexManager::key)
+                .collect(Collectors.joining("_"));
+    }
+
+    private static String key(final IndexField field) {
+        if (field.isText()) {
+            return field.getKey() + "_text";
+        }
+        if (field.getDirection() == null) {
+            return field.getKey() + "_geo";
+        }
+        return field.getKey() + "_" + (field.getDirection().isAscending() ? 1 : -1);
+    }
+
+    public record Report(List<String> created, List<String> missing, List<String> unexpected) {
+        public boolean clean() {
+            return this.missing.isEmpty() && this.unexpected.isEmpty();
+        }
+
+        void log() {
+            for (final String index : this.created) {
+                LOGGER.info("Created index {}", index);
+            }
+            for (final String index : this.missing) {
+                LOGGER.warn("Missing index {}", index);
+            }
+            for (final String index : this.unexpected) {
+                LOGGER.warn("Index {} is not declared by any document", index);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Brings latest pointers written by earlier releases up to date: pointers without a scope become project pointers,
+ * and where the old delete-then-save left a scope with several pointers only the one at the most recent build, by
+ * {@link Build#RECENCY}, is kept, so that the unique index on scopes can be built.
+ */
+public class LatestMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LatestMigration.class);
+    private final MongoOperations mongo;
+
+    public LatestMigration(final MongoOperations mongo) {
+        this.mongo = mongo;
+    }
+
+    public void run() {
+        this.mongo.updateMulti(
+                query(where("scope").exists(false)),
+                new Update().set("scope", Latest.Scope.PROJECT).set("key", ""),
+                Latest.class
+        );
+        final Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.group("project", "scope", "key").push("_id").as("ids").push("build").as("builds").count().as("count"),
+                Aggregation.match(where("count").gt(1))
+        );
+        final List<Document> groups = this.mongo.aggregate(duplicates, Latest.class, Document.class).getMappedResults();
+        if (groups.isEmpty()) {
+            return;
+        }
+        final Set<ObjectId> pointedAt = new HashSet<>();
+        for (final Document group : groups) {
+            pointedAt.addAll(group.getList("builds", ObjectId.class));
+        }
+        final Map<ObjectId, Build> builds = this.mongo.find(query(where("_id").in(pointedAt)), Build.class).stream()
+                .collect(Collectors.toMap(Build::_id, Function.identity()));
+        // the pointer at the most recent build is kept, pointers at deleted builds lose to any other
+        final Comparator<ObjectId> recency = Comparator.comparing(builds::get, Comparator.nullsFirst(Build.RECENCY));
+        final List<ObjectId> stale = new ArrayList<>();
+        for (final Document group : groups) {
+            final List<ObjectId> ids = group.getList("ids", ObjectId.class);
+            final List<ObjectId> pointers = group.getList("builds", ObjectId.class);
+            int newest = 0;
+            for (int i = 1; i < ids.size(); i++) {
+                final int compared = recency.compare(pointers.get(i), pointers.get(newest));
+                // pointers at the same build are told apart by id, the old update saved the new pointer last
+                if (compared > 0 || compared == 0 && ids.get(i).compareTo(ids.get(newest)) > 0) {
+                    newest = i;
+                }
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                if (i != newest) {
+                    stale.add(ids.get(i));
+                }
+            }
+        }
+        if (!stale.isEmpty()) {
+            this.mongo.remove(query(where("_id").in(stale)), Latest.class);
+            LOGGER.info("Removed {} duplicate latest pointers", stale.size());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.mongodb.ReadPreference;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Holds the read preference that queries issued by the current thread should use. Without one, queries use
+ * the read preference of the Mongo client, which is the primary unless configured otherwise.
+ */
+public final class ReadRouting {
+    private static final ThreadLocal<ReadPreference> CURRENT = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static @Nullable ReadPreference current() {
+        return CURRENT.get();
+    }
+
+    public static void set(final @Nullable ReadPreference preference) {
+        if (preference == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(preference);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
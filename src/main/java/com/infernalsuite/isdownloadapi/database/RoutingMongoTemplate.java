@@ -0,0 +1,27 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * A {@link MongoTemplate} that applies the read preference chosen for the current request by {@link ReadRouting}.
+ */
+public class RoutingMongoTemplate extends MongoTemplate {
+    public RoutingMongoTemplate(final MongoDatabaseFactory mongoDbFactory, final MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(final MongoCollection<Document> collection) {
+        final MongoCollection<Document> prepared = super.prepareCollection(collection);
+        final ReadPreference preference = ReadRouting.current();
+        if (preference == null || preference.equals(prepared.getReadPreference())) {
+            return prepared;
+        }
+        return prepared.withReadPreference(preference);
+    }
+}
@@ -0,0 +1,41 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.infernalsuite.isdownloadapi.database.model.Counter;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Objects;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Hands out increasing numbers shared by every instance, one counter document per sequence. Numbers start at 1 and
+ * are never handed out twice, though a number taken by a write that then failed leaves a gap.
+ */
+public class Sequences {
+    private final MongoOperations mongo;
+
+    public Sequences(final MongoOperations mongo) {
+        this.mongo = mongo;
+    }
+
+    /**
+     * Takes {@code count} consecutive numbers of a sequence.
+     *
+     * @return the first of the numbers taken
+     */
+    public long next(final String sequence, final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count " + count + " is not positive");
+        }
+        final Counter counter = this.mongo.findAndModify(
+                query(where("_id").is(sequence)),
+                new Update().inc("value", count),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Counter.class
+        );
+        return Objects.requireNonNull(counter).value() - count + 1;
+    }
+}
@@ -12,8 +12,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.Map;
 import java.util.Objects;
 
-@CompoundIndex(def = "{'project': 1, 'version': 1, 'build': 1")
-@CompoundIndex(def = "{'project': 1, 'version': 1, 'build': 1, 'name': 1")
+@CompoundIndex(def = "{'project': 1, 'version': 1, 'build': 1, 'name': 1}")
 @Document(collection = "artifacts")
 public record Artifact(
         @Id ObjectId _id,
@@ -9,11 +9,17 @@ import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @CompoundIndex(def = "{'project': 1, 'version': 1}")
-@CompoundIndex(def = "{'project': 1, 'version': 1, 'number': 1}")
+// reserves a number, an upload moves its files only once its build is in
+@CompoundIndex(def = "{'project': 1, 'version': 1, 'number': 1}", unique = true)
+@CompoundIndex(def = "{'project': 1, 'version': 1, 'number': 1, '_id': 1}")
+@CompoundIndex(def = "{'project': 1, 'version': 1, 'time': 1, '_id': 1}")
+@CompoundIndex(def = "{'project': 1, 'version': 1, 'channel': 1, 'number': 1, '_id': 1}")
 @Document(collection = "builds")
 public record Build(
         @Id ObjectId _id,
@@ -24,6 +30,11 @@ public record Build(
         List<Change> changes,
         @JsonProperty @Nullable Channel channel
         ) {
+    /**
+     * Orders builds from oldest to newest, by time and then by number. Builds without a time come first, as in Mongo.
+     */
+    public static final Comparator<Build> RECENCY = Comparator.comparing(Build::time, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(Build::number);
 
     public Channel channelOrDefault() {
         return Objects.requireNonNullElse(this.channel(), Channel.STABLE);
@@ -36,6 +47,15 @@ public record Build(
         EXPERIMENTAL,
         @JsonProperty("pr")
         PR;
+
+        public static Optional<Channel> fromName(final String name) {
+            for (final Channel channel : values()) {
+                if (channel.name().equalsIgnoreCase(name)) {
+                    return Optional.of(channel);
+                }
+            }
+            return Optional.empty();
+        }
     }
 
     @Schema
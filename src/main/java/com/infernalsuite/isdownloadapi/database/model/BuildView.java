@@ -0,0 +1,66 @@
+package com.infernalsuite.isdownloadapi.database.model;
+
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Everything the build level endpoints return, keyed by the names used in their paths. A view shares the id of the
+ * build it was made from, so rebuilding it replaces the previous copy. Its sequence number, taken from
+ * {@link #SEQUENCE} when the build is published, orders the views in the feed; build ids are made by whichever instance
+ * took the upload and do not.
+ */
+@CompoundIndex(def = "{'project': 1, 'version': 1, 'number': 1}", unique = true)
+@CompoundIndex(def = "{'project': 1, 'sequence': 1}")
+@Document(collection = "build_views")
+public record BuildView(
+        @Id ObjectId _id,
+        long sequence,
+        String project,
+        String projectName,
+        String version,
+        int number,
+        Instant time,
+        List<Build.Change> changes,
+        Build.Channel channel,
+        List<ArtifactView> artifacts
+) {
+    public static final String SEQUENCE = "build_views";
+
+    public static BuildView from(final Project project, final String version, final Build build, final Collection<Artifact> artifacts, final long sequence) {
+        return new BuildView(
+                build._id(),
+                sequence,
+                project.name(),
+                project.friendlyName(),
+                version,
+                build.number(),
+                build.time(),
+                build.changes(),
+                build.channelOrDefault(),
+                artifacts.stream()
+                        .map(artifact -> new ArtifactView(artifact.name(), artifact.downloads()))
+                        .sorted(Comparator.comparing(ArtifactView::name))
+                        .toList()
+        );
+    }
+
+    public Optional<ArtifactView> artifact(final String name) {
+        return this.artifacts.stream().filter(artifact -> artifact.name().equals(name)).findFirst();
+    }
+
+    public record ArtifactView(
+            String name,
+            @Nullable Map<String, Artifact.Download> downloads
+    ) {
+    }
+}
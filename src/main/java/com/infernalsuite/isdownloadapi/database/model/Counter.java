@@ -0,0 +1,14 @@
+package com.infernalsuite.isdownloadapi.database.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The last value handed out by a named sequence.
+ */
+@Document(collection = "counters")
+public record Counter(
+        @Id String _id,
+        long value
+) {
+}
@@ -1,15 +1,113 @@
 package com.infernalsuite.isdownloadapi.database.model;
 
 import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Points at the latest build within a scope of a project: the whole project, a version, a version family or a
+ * channel, or a channel within a version or family. The key identifies the scope's version, family and channel.
+ * There is one pointer per scope, and it carries the time and number of its build so that it can only be moved
+ * forward, and a snapshot of everything the latest endpoints return so that they can answer from it alone.
+ */
+@CompoundIndex(def = "{'project': 1, 'scope': 1, 'key': 1}", unique = true)
+@CompoundIndex(def = "{'snapshot.project': 1, 'scope': 1, 'key': 1}")
 @Document(collection = "latest")
 public record Latest(
         @Id
         ObjectId id,
         ObjectId project,
         ObjectId version,
-        ObjectId build
+        ObjectId build,
+        Scope scope,
+        String key,
+        @Nullable Instant time,
+        int number,
+        @Nullable Snapshot snapshot
 ) {
+    @PersistenceCreator
+    public Latest {
+        // documents written before scopes were introduced all point at the latest of the project
+        scope = Objects.requireNonNullElse(scope, Scope.PROJECT);
+        key = Objects.requireNonNullElse(key, "");
+    }
+
+    public Latest(final ObjectId id, final ObjectId project, final ObjectId version, final ObjectId build) {
+        this(id, project, version, build, Scope.PROJECT, "", null, 0, null);
+    }
+
+    /**
+     * Creates the pointers a new build may move forward, one per scope it belongs to.
+     */
+    public static List<Latest> pointers(final ObjectId family, final Build build, final @Nullable Snapshot snapshot) {
+        final Build.Channel channel = build.channelOrDefault();
+        return List.of(
+                pointer(build, Scope.PROJECT, key(null, null), snapshot),
+                pointer(build, Scope.VERSION, key(build.version(), null), snapshot),
+                pointer(build, Scope.FAMILY, key(family, null), snapshot),
+                pointer(build, Scope.CHANNEL, key(null, channel), snapshot),
+                pointer(build, Scope.VERSION_CHANNEL, key(build.version(), channel), snapshot),
+                pointer(build, Scope.FAMILY_CHANNEL, key(family, channel), snapshot)
+        );
+    }
+
+    private static Latest pointer(final Build build, final Scope scope, final String key, final @Nullable Snapshot snapshot) {
+        return new Latest(new ObjectId(), build.project(), build.version(), build._id(), scope, key, build.time(), build.number(), snapshot);
+    }
+
+    public Latest withSnapshot(final Snapshot snapshot) {
+        return new Latest(this.id, this.project, this.version, this.build, this.scope, this.key, this.time, this.number, snapshot);
+    }
+
+    public static String key(final @Nullable ObjectId versionOrFamily, final Build.@Nullable Channel channel) {
+        final StringJoiner key = new StringJoiner(":");
+        if (versionOrFamily != null) {
+            key.add(versionOrFamily.toHexString());
+        }
+        if (channel != null) {
+            key.add(channel.name());
+        }
+        return key.toString();
+    }
+
+    /**
+     * The names and artifacts of the build a pointer points at, copied from its build view at upload time.
+     */
+    public record Snapshot(
+            String project,
+            String projectName,
+            String version,
+            Build.Channel channel,
+            List<BuildView.ArtifactView> artifacts
+    ) {
+        public static Snapshot from(final BuildView view) {
+            return new Snapshot(view.project(), view.projectName(), view.version(), view.channel(), view.artifacts());
+        }
+    }
+
+    public enum Scope {
+        PROJECT,
+        VERSION,
+        FAMILY,
+        CHANNEL,
+        VERSION_CHANNEL,
+        FAMILY_CHANNEL;
+
+        public static Scope of(final boolean version, final boolean family, final boolean channel) {
+            if (version) {
+                return channel ? VERSION_CHANNEL : VERSION;
+            } else if (family) {
+                return channel ? FAMILY_CHANNEL : FAMILY;
+            }
+            return channel ? CHANNEL : PROJECT;
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.infernalsuite.isdownloadapi.database.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * What every instance needs to know of a resumable upload to continue it: its file in the upload directory, how long
+ * it is, how far it got, and when a chunk last arrived.
+ */
+@Document(collection = "upload_sessions")
+public record UploadSessionState(
+        @Id String _id,
+        String file,
+        long length,
+        long offset,
+        @Indexed Instant touched
+) {
+}
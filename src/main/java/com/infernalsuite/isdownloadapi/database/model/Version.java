@@ -2,11 +2,14 @@ package com.infernalsuite.isdownloadapi.database.model;
 
 import com.infernalsuite.isdownloadapi.util.IWillHaveOrder;
 import com.infernalsuite.isdownloadapi.util.NameSource;
+import com.infernalsuite.isdownloadapi.util.SemanticVersion;
+import com.infernalsuite.isdownloadapi.util.SortKeySource;
 import com.infernalsuite.isdownloadapi.util.TimeSource;
 import org.bson.types.ObjectId;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.intellij.lang.annotations.Language;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -14,17 +17,30 @@ import java.time.Instant;
 import java.util.Comparator;
 
 @CompoundIndex(def = "{'project': 1, 'group': 1}")
-@CompoundIndex(def = "{'project': 1, 'name': 1}")
+@CompoundIndex(def = "{'project': 1, 'name': 1}", unique = true)
 @Document(collection = "versions")
 public record Version(
         @Id ObjectId _id,
         ObjectId project,
         ObjectId group,
         String name,
-        @Nullable Instant time
-        ) implements NameSource, TimeSource {
+        @Nullable Instant time,
+        long sortKey
+        ) implements NameSource, TimeSource, SortKeySource {
     // NOTE: this pattern cannot contain any capturing groups
     @Language("RegExp")
     public static final String PATTERN = "[0-9.]+-?(?:pre|SNAPSHOT)?(?:[0-9.]+)?";
     public static final Comparator<Version> COMPARATOR = IWillHaveOrder.timeOrNameComparator();
+
+    @PersistenceCreator
+    public Version {
+        // documents written before the sort key was introduced do not carry one
+        if (sortKey == 0) {
+            sortKey = SemanticVersion.sortKey(name);
+        }
+    }
+
+    public Version(final ObjectId _id, final ObjectId project, final ObjectId group, final String name, final @Nullable Instant time) {
+        this(_id, project, group, name, time, SemanticVersion.sortKey(name));
+    }
 }
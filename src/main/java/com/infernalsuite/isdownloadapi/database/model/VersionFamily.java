@@ -2,23 +2,39 @@ package com.infernalsuite.isdownloadapi.database.model;
 
 import com.infernalsuite.isdownloadapi.util.IWillHaveOrder;
 import com.infernalsuite.isdownloadapi.util.NameSource;
+import com.infernalsuite.isdownloadapi.util.SemanticVersion;
+import com.infernalsuite.isdownloadapi.util.SortKeySource;
 import com.infernalsuite.isdownloadapi.util.TimeSource;
 import org.bson.types.ObjectId;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 import java.util.Comparator;
 
-@CompoundIndex(def = "{'project': 1, 'name': 1}")
+@CompoundIndex(def = "{'project': 1, 'name': 1}", unique = true)
 @Document(collection = "version_groups")
 public record VersionFamily(
         @Id ObjectId _id,
         ObjectId project,
         String name,
-        @Nullable Instant time) implements NameSource, TimeSource {
+        @Nullable Instant time,
+        long sortKey) implements NameSource, TimeSource, SortKeySource {
 
     public static final Comparator<VersionFamily> COMPARATOR = IWillHaveOrder.timeOrNameComparator();
+
+    @PersistenceCreator
+    public VersionFamily {
+        // documents written before the sort key was introduced do not carry one
+        if (sortKey == 0) {
+            sortKey = SemanticVersion.sortKey(name);
+        }
+    }
+
+    public VersionFamily(final ObjectId _id, final ObjectId project, final String name, final @Nullable Instant time) {
+        this(_id, project, name, time, SemanticVersion.sortKey(name));
+    }
 }
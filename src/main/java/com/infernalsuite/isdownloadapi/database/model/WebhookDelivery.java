@@ -0,0 +1,51 @@
+package com.infernalsuite.isdownloadapi.database.model;
+
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A pending notification of one build to one subscription. Deliveries are written at upload time and removed once the
+ * endpoint accepts them. The sequence number of the build's view orders the deliveries of a subscription, since ids
+ * are made by whichever instance took the upload.
+ */
+@CompoundIndex(def = "{'subscription': 1, 'dead': 1, 'sequence': 1, '_id': 1}")
+@CompoundIndex(def = "{'dead': 1, 'nextAttempt': 1}")
+@Document(collection = "webhook_outbox")
+public record WebhookDelivery(
+        @Id ObjectId _id,
+        ObjectId subscription,
+        ObjectId buildId,
+        long sequence,
+        String project,
+        String version,
+        int build,
+        Build.Channel channel,
+        Instant time,
+        int attempts,
+        Instant nextAttempt,
+        @Nullable String lastError,
+        boolean dead
+) {
+    public static WebhookDelivery of(final WebhookSubscription subscription, final BuildView view, final Instant now) {
+        return new WebhookDelivery(
+                new ObjectId(),
+                subscription._id(),
+                view._id(),
+                view.sequence(),
+                view.project(),
+                view.version(),
+                view.number(),
+                view.channel(),
+                view.time(),
+                0,
+                now,
+                null,
+                false
+        );
+    }
+}
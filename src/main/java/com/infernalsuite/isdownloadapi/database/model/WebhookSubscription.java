@@ -0,0 +1,30 @@
+package com.infernalsuite.isdownloadapi.database.model;
+
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An endpoint notified of new builds. Empty project or channel lists match everything. The lease fields are owned by
+ * the dispatcher, which holds a lease on a subscription while it delivers to it, so deliveries stay in order across
+ * nodes.
+ */
+@Document(collection = "webhooks")
+public record WebhookSubscription(
+        @Id ObjectId _id,
+        String url,
+        @Nullable String secret,
+        List<String> projects,
+        List<Build.Channel> channels,
+        boolean enabled,
+        @Nullable String leaseOwner,
+        @Nullable Instant leaseUntil
+) {
+    public boolean matches(final String project, final Build.Channel channel) {
+        return (this.projects.isEmpty() || this.projects.contains(project)) && (this.channels.isEmpty() || this.channels.contains(channel));
+    }
+}
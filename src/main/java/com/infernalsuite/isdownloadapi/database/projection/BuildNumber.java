@@ -0,0 +1,7 @@
+package com.infernalsuite.isdownloadapi.database.projection;
+
+/**
+ * Reads only the number of a {@link com.infernalsuite.isdownloadapi.database.model.Build}.
+ */
+public record BuildNumber(int number) {
+}
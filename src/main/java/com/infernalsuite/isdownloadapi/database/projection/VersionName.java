@@ -0,0 +1,32 @@
+package com.infernalsuite.isdownloadapi.database.projection;
+
+import com.infernalsuite.isdownloadapi.util.IWillHaveOrder;
+import com.infernalsuite.isdownloadapi.util.NameSource;
+import com.infernalsuite.isdownloadapi.util.SemanticVersion;
+import com.infernalsuite.isdownloadapi.util.SortKeySource;
+import com.infernalsuite.isdownloadapi.util.TimeSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.annotation.PersistenceCreator;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Reads only what is needed to list and order a {@link com.infernalsuite.isdownloadapi.database.model.Version}
+ * or a {@link com.infernalsuite.isdownloadapi.database.model.VersionFamily} by name.
+ */
+public record VersionName(
+        String name,
+        @Nullable Instant time,
+        long sortKey
+) implements NameSource, TimeSource, SortKeySource {
+    public static final Comparator<VersionName> COMPARATOR = IWillHaveOrder.timeOrNameComparator();
+
+    @PersistenceCreator
+    public VersionName {
+        // documents written before the sort key was introduced do not carry one
+        if (sortKey == 0) {
+            sortKey = SemanticVersion.sortKey(name);
+        }
+    }
+}
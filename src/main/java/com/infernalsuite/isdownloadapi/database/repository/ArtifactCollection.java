@@ -2,14 +2,19 @@ package com.infernalsuite.isdownloadapi.database.repository;
 
 import com.infernalsuite.isdownloadapi.database.model.Artifact;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ArtifactCollection extends MongoRepository<Artifact, ObjectId> {
+    List<Artifact> findAllByProjectAndVersion(final ObjectId project, final ObjectId version);
+    @Meta(maxExecutionTimeMs = LatestCollection.LOOKUP_MAX_TIME_MS)
     List<Artifact> findAllByProjectAndVersionAndBuild(final ObjectId project, final ObjectId version, final ObjectId build);
+    List<Artifact> findAllByProjectInAndVersionInAndBuildIn(final Collection<ObjectId> projects, final Collection<ObjectId> versions, final Collection<ObjectId> builds);
     Optional<Artifact> findByProjectAndVersionAndBuildAndName(final ObjectId project, final ObjectId version, final ObjectId build, final String name);
 }
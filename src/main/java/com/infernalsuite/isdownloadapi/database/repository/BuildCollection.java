@@ -2,18 +2,27 @@ package com.infernalsuite.isdownloadapi.database.repository;
 
 import com.infernalsuite.isdownloadapi.database.model.Build;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BuildCollection extends MongoRepository<Build, ObjectId> {
+public interface BuildCollection extends MongoRepository<Build, ObjectId>, BuildQueries {
     List<Build> findAllByProjectAndVersion(final ObjectId project, final ObjectId version);
 
+    <T> Stream<T> streamAllByProjectAndVersionOrderByNumber(final ObjectId project, final ObjectId version, final Class<T> type);
+
     List<Build> findAllByProjectAndVersionIn(final ObjectId project, final Collection<ObjectId> version);
 
     Optional<Build> findByProjectAndVersionAndNumber(final ObjectId project, final ObjectId version, final int number);
+
+    @Query("{ '_id': ?0 }")
+    @Meta(maxExecutionTimeMs = LatestCollection.LOOKUP_MAX_TIME_MS)
+    Optional<Build> findOneById(final ObjectId id);
 }
@@ -0,0 +1,15 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface BuildQueries {
+    /**
+     * Streams the builds matching {@code query} from a Mongo cursor. When the query has a limit, one build more
+     * than the limit is requested so that callers can tell whether there is a next page.
+     */
+    Stream<Build> streamPage(final ObjectId project, final Collection<ObjectId> versions, final BuildQuery query);
+}
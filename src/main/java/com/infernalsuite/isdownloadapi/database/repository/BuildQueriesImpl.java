@@ -0,0 +1,86 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+class BuildQueriesImpl implements BuildQueries {
+    private final MongoOperations mongo;
+
+    BuildQueriesImpl(final MongoOperations mongo) {
+        this.mongo = mongo;
+    }
+
+    @Override
+    public Stream<Build> streamPage(final ObjectId project, final Collection<ObjectId> versions, final BuildQuery query) {
+        final Query mongoQuery = Query.query(criteria(project, versions, query)).with(query.sort());
+        if (query.limit() > 0) {
+            // fetch one more build than requested to learn whether there is a next page
+            mongoQuery.limit(query.limit() + 1);
+        }
+        return this.mongo.stream(mongoQuery, Build.class);
+    }
+
+    static Criteria criteria(final ObjectId project, final Collection<ObjectId> versions, final BuildQuery query) {
+        final Criteria criteria = Criteria.where("project").is(project);
+        if (versions.size() == 1) {
+            criteria.and("version").is(versions.iterator().next());
+        } else {
+            criteria.and("version").in(versions);
+        }
+        channel(criteria, query.channel());
+        if (query.since() != null || query.until() != null) {
+            final Criteria time = criteria.and("time");
+            if (query.since() != null) {
+                time.gte(query.since());
+            }
+            if (query.until() != null) {
+                time.lt(query.until());
+            }
+        }
+        final BuildQuery.Cursor after = query.after();
+        if (after != null) {
+            criteria.orOperator(after(query.order().field(), after));
+        }
+        return criteria;
+    }
+
+    /**
+     * The builds past a cursor. Builds without a time sort before every other build, as Mongo sorts null lowest.
+     */
+    private static Criteria[] after(final String field, final BuildQuery.Cursor after) {
+        final boolean ascending = after.direction().isAscending();
+        if (after.value() == null) {
+            final Criteria untimed = tie(Criteria.where(field).is(null), after);
+            return ascending ? new Criteria[]{untimed, Criteria.where(field).ne(null)} : new Criteria[]{untimed};
+        }
+        final Object value = after.order() == BuildQuery.Order.TIME ? Instant.ofEpochMilli(after.value()) : (Object) after.value().intValue();
+        final Criteria same = tie(Criteria.where(field).is(value), after);
+        if (ascending) {
+            return new Criteria[]{Criteria.where(field).gt(value), same};
+        }
+        return after.order() == BuildQuery.Order.TIME
+                ? new Criteria[]{Criteria.where(field).lt(value), same, Criteria.where(field).is(null)}
+                : new Criteria[]{Criteria.where(field).lt(value), same};
+    }
+
+    private static Criteria tie(final Criteria criteria, final BuildQuery.Cursor after) {
+        return after.direction().isAscending() ? criteria.and("_id").gt(after.id()) : criteria.and("_id").lt(after.id());
+    }
+
+    private static void channel(final Criteria criteria, final Build.@Nullable Channel channel) {
+        if (channel == Build.Channel.STABLE) {
+            // builds without a channel are treated as stable, see Build#channelOrDefault
+            criteria.and("channel").in(Build.Channel.STABLE, null);
+        } else if (channel != null) {
+            criteria.and("channel").is(channel);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.exception.InvalidParameter;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Filtering, ordering and keyset pagination of a build listing.
+ *
+ * @param limit the maximum number of builds in a page, or {@code 0} for no limit
+ */
+public record BuildQuery(
+        @Nullable Build.Channel channel,
+        @Nullable Instant since,
+        @Nullable Instant until,
+        Order order,
+        Sort.Direction direction,
+        @Nullable Cursor after,
+        int limit
+) {
+    public static final int MAX_LIMIT = 1000;
+
+    public static BuildQuery of(
+            final @Nullable String channel,
+            final @Nullable Instant since,
+            final @Nullable Instant until,
+            final String order,
+            final String direction,
+            final @Nullable String after,
+            final @Nullable Integer limit
+    ) {
+        final Order parsedOrder = parse(Order.class, "order", order);
+        final Sort.Direction parsedDirection = parse(Sort.Direction.class, "direction", direction);
+        final Cursor cursor = after == null ? null : Cursor.decode(after);
+        // a cursor is a position in one ordering, it means nothing in another
+        if (cursor != null && (cursor.order() != parsedOrder || cursor.direction() != parsedDirection)) {
+            throw new InvalidParameter("after");
+        }
+        return new BuildQuery(
+                channel == null ? null : parse(Build.Channel.class, "channel", channel),
+                since,
+                until,
+                parsedOrder,
+                parsedDirection,
+                cursor,
+                limit == null ? 0 : Math.max(1, Math.min(limit, MAX_LIMIT))
+        );
+    }
+
+    public Sort sort() {
+        return Sort.by(this.direction, this.order.field(), "_id");
+    }
+
+    public Cursor cursorOf(final Build build) {
+        return new Cursor(this.order, this.direction, this.order.value(build), build._id());
+    }
+
+    private static <E extends Enum<E>> E parse(final Class<E> type, final String parameter, final String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidParameter(parameter);
+        }
+    }
+
+    public enum Order {
+        NUMBER("number"),
+        TIME("time");
+
+        private final String field;
+
+        Order(final String field) {
+            this.field = field;
+        }
+
+        public String field() {
+            return this.field;
+        }
+
+        @Nullable Long value(final Build build) {
+            return switch (this) {
+                case NUMBER -> (long) build.number();
+                case TIME -> build.time() == null ? null : build.time().toEpochMilli();
+            };
+        }
+    }
+
+    /**
+     * The position of the last build of a page: the ordering it was taken in, its value of the ordered field, and its
+     * id to break ties. Builds imported without a time have no value, and sort before every other build.
+     */
+    public record Cursor(Order order, Sort.Direction direction, @Nullable Long value, ObjectId id) {
+        private static final int TIME = 1;
+        private static final int DESCENDING = 1 << 1;
+        private static final int NO_VALUE = 1 << 2;
+        private static final int LENGTH = 1 + Long.BYTES + 12;
+
+        public static Cursor decode(final String encoded) {
+            final byte[] bytes;
+            try {
+                bytes = Base64.getUrlDecoder().decode(encoded);
+            } catch (final IllegalArgumentException e) {
+                throw new InvalidParameter("after");
+            }
+            if (bytes.length != LENGTH) {
+                throw new InvalidParameter("after");
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            final int flags = buffer.get();
+            final long value = buffer.getLong();
+            final byte[] id = new byte[12];
+            buffer.get(id);
+            final Order order = (flags & TIME) != 0 ? Order.TIME : Order.NUMBER;
+            if ((flags & ~(TIME | DESCENDING | NO_VALUE)) != 0 || ((flags & NO_VALUE) != 0 && order == Order.NUMBER)) {
+                throw new InvalidParameter("after");
+            }
+            return new Cursor(
+                    order,
+                    (flags & DESCENDING) != 0 ? Sort.Direction.DESC : Sort.Direction.ASC,
+                    (flags & NO_VALUE) != 0 ? null : value,
+                    new ObjectId(id)
+            );
+        }
+
+        public String encode() {
+            int flags = 0;
+            if (this.order == Order.TIME) {
+                flags |= TIME;
+            }
+            if (this.direction.isDescending()) {
+                flags |= DESCENDING;
+            }
+            if (this.value == null) {
+                flags |= NO_VALUE;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                    .put((byte) flags)
+                    .putLong(this.value == null ? 0 : this.value)
+                    .put(this.id.toByteArray());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        }
+    }
+}
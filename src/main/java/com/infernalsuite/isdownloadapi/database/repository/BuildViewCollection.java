@@ -0,0 +1,22 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BuildViewCollection extends MongoRepository<BuildView, ObjectId> {
+    Optional<BuildView> findByProjectAndVersionAndNumber(final String project, final String version, final int number);
+
+    @Query(value = "{ 'project': { '$in': ?0 }, 'sequence': { '$gt': ?1 } }", sort = "{ 'sequence': 1 }")
+    List<BuildView> findAfter(final Collection<String> projects, final long after, final Pageable page);
+
+    List<BuildView> findAllByProject(final String project);
+}
@@ -2,21 +2,35 @@ package com.infernalsuite.isdownloadapi.database.repository;
 
 import com.infernalsuite.isdownloadapi.database.model.Latest;
 import org.bson.types.ObjectId;
-import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LatestCollection extends MongoRepository<Latest, ObjectId> {
-    Optional<Latest> findByProject(final ObjectId project);
-    Optional<Latest> findByProjectAndVersion(final ObjectId project, final ObjectId version);
-    @Transactional
-    default void updateLatest(@Nullable ObjectId oldLatest, @NonNull Latest newLatest) {
-        if (oldLatest != null) this.deleteById(oldLatest);
-        this.save(newLatest);
+public interface LatestCollection extends MongoRepository<Latest, ObjectId>, LatestUpdates {
+    /**
+     * How long the server may spend on each read of a latest lookup. Requests sharing a lookup wait on the one
+     * running it, so it must not be able to hang.
+     */
+    long LOOKUP_MAX_TIME_MS = 1_000;
+
+    @Meta(maxExecutionTimeMs = LOOKUP_MAX_TIME_MS)
+    Optional<Latest> findByProjectAndScopeAndKey(final ObjectId project, final Latest.Scope scope, final String key);
+    default Optional<Latest> findByProject(final ObjectId project) {
+        return this.findByProjectAndScopeAndKey(project, Latest.Scope.PROJECT, "");
     }
+    /**
+     * Finds a pointer by project name through its snapshot, so pointers written before snapshots are not found.
+     */
+    @Meta(maxExecutionTimeMs = LOOKUP_MAX_TIME_MS)
+    Optional<Latest> findBySnapshotProjectAndScopeAndKey(final String project, final Latest.Scope scope, final String key);
+    /**
+     * Finds the pointers of several scopes in one read. Any combination of the three may match, so callers pick the
+     * pointers they asked for out of the result.
+     */
+    List<Latest> findAllByProjectInAndScopeInAndKeyIn(final Collection<ObjectId> projects, final Collection<Latest.Scope> scopes, final Collection<String> keys);
 }
@@ -0,0 +1,13 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+
+public interface LatestUpdates {
+    /**
+     * Points the scope of {@code latest} at its build, unless the scope already points at a build at least as recent,
+     * by time and then by number. Pointing it at the build it already points at refreshes the snapshot. This is an
+     * atomic upsert, so concurrent uploads never leave a scope without a pointer or with two; an upsert that loses the
+     * race to create the pointer is applied once more as an update. Returns whether the pointer changed.
+     */
+    boolean advance(final Latest latest);
+}
@@ -0,0 +1,50 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Objects;
+
+class LatestUpdatesImpl implements LatestUpdates {
+    private final MongoOperations mongo;
+
+    LatestUpdatesImpl(final MongoOperations mongo) {
+        this.mongo = mongo;
+    }
+
+    @Override
+    public boolean advance(final Latest latest) {
+        Objects.requireNonNull(latest.time(), "time");
+        final Query query = Query.query(Criteria.where("project").is(latest.project())
+                .and("scope").is(latest.scope())
+                .and("key").is(latest.key())
+                .orOperator(
+                        Criteria.where("time").lt(latest.time()),
+                        Criteria.where("time").is(latest.time()).and("number").lt(latest.number()),
+                        // the same build again, which refreshes its snapshot
+                        Criteria.where("build").is(latest.build()),
+                        // pointers written before they carried their build's time
+                        Criteria.where("time").is(null)
+                ));
+        final Update update = new Update()
+                .set("version", latest.version())
+                .set("build", latest.build())
+                .set("time", latest.time())
+                .set("number", latest.number())
+                .set("snapshot", latest.snapshot())
+                .setOnInsert("_id", latest.id());
+        try {
+            final UpdateResult result = this.mongo.upsert(query, update, Latest.class);
+            return result.getUpsertedId() != null || result.getModifiedCount() > 0;
+        } catch (final DuplicateKeyException e) {
+            // another upload created the scope's pointer between the filter missing and the insert, and it may be
+            // older, Mongo does not retry upserts whose filter has an $or, so the filter is applied to it once more
+            return this.mongo.updateFirst(query, update, Latest.class).getModifiedCount() > 0;
+        }
+    }
+}
@@ -2,12 +2,18 @@ package com.infernalsuite.isdownloadapi.database.repository;
 
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectCollection extends MongoRepository<Project, ObjectId> {
+    @Meta(maxExecutionTimeMs = LatestCollection.LOOKUP_MAX_TIME_MS)
     Optional<Project> findByName(final String name);
+
+    List<Project> findAllByNameIn(final Collection<String> names);
 }
\ No newline at end of file
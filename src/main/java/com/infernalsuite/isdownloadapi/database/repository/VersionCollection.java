@@ -2,9 +2,12 @@ package com.infernalsuite.isdownloadapi.database.repository;
 
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +15,18 @@ import java.util.Optional;
 public interface VersionCollection extends MongoRepository<Version, ObjectId> {
     List<Version> findAllByProject(final ObjectId project);
 
+    <T> List<T> findAllByProject(final ObjectId project, final Class<T> type);
+
     List<Version> findAllByProjectAndGroup(final ObjectId project, final ObjectId group);
 
+    <T> List<T> findAllByProjectAndGroup(final ObjectId project, final ObjectId group, final Class<T> type);
+
+    @Meta(maxExecutionTimeMs = LatestCollection.LOOKUP_MAX_TIME_MS)
     Optional<Version> findByProjectAndName(final ObjectId project, final String name);
-}
\ No newline at end of file
+
+    List<Version> findAllByProjectInAndNameIn(final Collection<ObjectId> projects, final Collection<String> names);
+
+    @Query("{ '_id': ?0 }")
+    @Meta(maxExecutionTimeMs = LatestCollection.LOOKUP_MAX_TIME_MS)
+    Optional<Version> findOneById(final ObjectId id);
+}
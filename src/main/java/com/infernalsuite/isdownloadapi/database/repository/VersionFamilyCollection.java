@@ -2,6 +2,7 @@ package com.infernalsuite.isdownloadapi.database.repository;
 
 import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,5 +13,8 @@ import java.util.Optional;
 public interface VersionFamilyCollection extends MongoRepository<VersionFamily, ObjectId> {
     List<VersionFamily> findAllByProject(final ObjectId project);
 
+    <T> List<T> findAllByProject(final ObjectId project, final Class<T> type);
+
+    @Meta(maxExecutionTimeMs = LatestCollection.LOOKUP_MAX_TIME_MS)
     Optional<VersionFamily> findByProjectAndName(final ObjectId project, final String name);
 }
@@ -0,0 +1,13 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.WebhookDelivery;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WebhookDeliveryCollection extends MongoRepository<WebhookDelivery, ObjectId> {
+    long countBySubscriptionAndDeadFalse(final ObjectId subscription);
+
+    void deleteAllBySubscription(final ObjectId subscription);
+}
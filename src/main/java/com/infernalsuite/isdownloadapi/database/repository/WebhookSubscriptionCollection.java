@@ -0,0 +1,13 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WebhookSubscriptionCollection extends MongoRepository<WebhookSubscription, ObjectId> {
+    List<WebhookSubscription> findAllByEnabledTrue();
+}
@@ -24,7 +24,13 @@
 package com.infernalsuite.isdownloadapi.exception;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.configuration.NegativeCacheConfiguration;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -35,23 +41,34 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 @ControllerAdvice
 @SuppressWarnings("checkstyle:FinalClass")
 class Advice {
+  private static final String PUBLIC_READS = "/v1/projects";
   private final ObjectMapper json;
+  // misses of public reads may be cached briefly, so that repeated probes for made-up names stop at the edge;
+  // a build uploaded meanwhile keeps answering 404 there until this runs out
+  private final CacheControl notFoundCache;
 
   @Autowired
-  private Advice(final ObjectMapper json) {
+  private Advice(final ObjectMapper json, final NegativeCacheConfiguration negativeCache) {
     this.json = json;
+    this.notFoundCache = CacheControl.maxAge(negativeCache.getNotFoundMaxAge()).cachePublic();
   }
 
   @ExceptionHandler(ArtifactNotFound.class)
   @ResponseBody
-    public ResponseEntity<?> artifactNotFound(final ArtifactNotFound exception) {
-        return this.error(HttpStatus.NOT_FOUND, "Artifact not found.");
+    public ResponseEntity<?> artifactNotFound(final ArtifactNotFound exception, final HttpServletRequest request) {
+        return this.notFound(request, "Artifact not found.");
     }
 
   @ExceptionHandler(BuildNotFound.class)
   @ResponseBody
-  public ResponseEntity<?> buildNotFound(final BuildNotFound exception) {
-    return this.error(HttpStatus.NOT_FOUND, "Build not found.");
+  public ResponseEntity<?> buildNotFound(final BuildNotFound exception, final HttpServletRequest request) {
+    return this.notFound(request, "Build not found.");
+  }
+
+  @ExceptionHandler(ChecksumMismatch.class)
+  @ResponseBody
+  public ResponseEntity<?> checksumMismatch(final ChecksumMismatch exception) {
+    return this.error(HttpStatus.UNPROCESSABLE_ENTITY, "Checksum mismatch: " + exception.file() + ".");
   }
 
   @ExceptionHandler(DownloadFailed.class)
@@ -62,32 +79,77 @@ class Advice {
 
   @ExceptionHandler(DownloadNotFound.class)
   @ResponseBody
-  public ResponseEntity<?> downloadNotFound(final DownloadNotFound exception) {
-    return this.error(HttpStatus.NOT_FOUND, "Download not found.");
+  public ResponseEntity<?> downloadNotFound(final DownloadNotFound exception, final HttpServletRequest request) {
+    return this.notFound(request, "Download not found.");
   }
 
   @ExceptionHandler(ProjectNotFound.class)
   @ResponseBody
-  public ResponseEntity<?> projectNotFound(final ProjectNotFound exception) {
-    return this.error(HttpStatus.NOT_FOUND, "Project not found.");
+  public ResponseEntity<?> projectNotFound(final ProjectNotFound exception, final HttpServletRequest request) {
+    return this.notFound(request, "Project not found.");
   }
 
   @ExceptionHandler(VersionNotFound.class)
   @ResponseBody
-  public ResponseEntity<?> versionNotFound(final VersionNotFound exception) {
-    return this.error(HttpStatus.NOT_FOUND, "Version not found.");
+  public ResponseEntity<?> versionNotFound(final VersionNotFound exception, final HttpServletRequest request) {
+    return this.notFound(request, "Version not found.");
   }
 
   @ExceptionHandler(LatestNotFound.class)
   @ResponseBody
-    public ResponseEntity<?> latestNotFound(final LatestNotFound exception) {
-        return this.error(HttpStatus.NOT_FOUND, "Latest version not found.");
+    public ResponseEntity<?> latestNotFound(final LatestNotFound exception, final HttpServletRequest request) {
+        return this.notFound(request, "Latest version not found.");
     }
 
+  @ExceptionHandler(WebhookNotFound.class)
+  @ResponseBody
+  public ResponseEntity<?> webhookNotFound(final WebhookNotFound exception) {
+    return this.error(HttpStatus.NOT_FOUND, "Webhook not found.");
+  }
+
+  @ExceptionHandler(UploadNotFound.class)
+  @ResponseBody
+  public ResponseEntity<?> uploadNotFound(final UploadNotFound exception) {
+    return this.error(HttpStatus.NOT_FOUND, "Upload not found.");
+  }
+
+  @ExceptionHandler(InvalidParameter.class)
+  @ResponseBody
+  public ResponseEntity<?> invalidParameter(final InvalidParameter exception) {
+    return this.error(HttpStatus.BAD_REQUEST, "Invalid parameter: " + exception.parameter() + ".");
+  }
+
+  @ExceptionHandler(LookupTimedOut.class)
+  @ResponseBody
+  public ResponseEntity<?> lookupTimedOut(final LookupTimedOut exception) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, "1")
+      .body(this.json.createObjectNode().put("error", "Lookup timed out, please try again."));
+  }
+
+  @ExceptionHandler(FileUploadSizeException.class)
+  @ResponseBody
+  public ResponseEntity<?> uploadTooLarge(final FileUploadSizeException exception) {
+    return this.error(HttpStatus.PAYLOAD_TOO_LARGE, "Upload too large, the limit is " + exception.getPermitted() + " bytes.");
+  }
+
   @ExceptionHandler(NoHandlerFoundException.class)
   @ResponseBody
-  public ResponseEntity<?> endpointNotFound(final NoHandlerFoundException exception) {
-    return this.error(HttpStatus.NOT_FOUND, "Endpoint not found.");
+  public ResponseEntity<?> endpointNotFound(final NoHandlerFoundException exception, final HttpServletRequest request) {
+    return this.notFound(request, "Endpoint not found.");
+  }
+
+  private ResponseEntity<?> notFound(final HttpServletRequest request, final String error) {
+    // admin misses must never be kept by a shared cache, the admin controllers answer no-store as well
+    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+      .cacheControl(isPublicRead(request) ? this.notFoundCache : CacheControl.noStore())
+      .body(this.json.createObjectNode().put("error", error));
+  }
+
+  private static boolean isPublicRead(final HttpServletRequest request) {
+    final String method = request.getMethod();
+    return (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))
+      && request.getRequestURI().startsWith(request.getContextPath() + PUBLIC_READS);
   }
 
   private ResponseEntity<?> error(final HttpStatus status, final String error) {
@@ -1,5 +1,8 @@
 package com.infernalsuite.isdownloadapi.exception;
 
+public final class ArtifactNotFound extends NotFound {
+    public static final ArtifactNotFound INSTANCE = new ArtifactNotFound();
 
-public class ArtifactNotFound extends RuntimeException {
+    private ArtifactNotFound() {
+    }
 }
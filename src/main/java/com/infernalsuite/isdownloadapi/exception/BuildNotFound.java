@@ -1,4 +1,8 @@
 package com.infernalsuite.isdownloadapi.exception;
 
-public class BuildNotFound extends RuntimeException {
+public final class BuildNotFound extends NotFound {
+    public static final BuildNotFound INSTANCE = new BuildNotFound();
+
+    private BuildNotFound() {
+    }
 }
@@ -0,0 +1,13 @@
+package com.infernalsuite.isdownloadapi.exception;
+
+public class ChecksumMismatch extends RuntimeException {
+    private final String file;
+
+    public ChecksumMismatch(final String file) {
+        this.file = file;
+    }
+
+    public String file() {
+        return this.file;
+    }
+}
@@ -1,4 +1,8 @@
 package com.infernalsuite.isdownloadapi.exception;
 
-public class DownloadNotFound extends RuntimeException {
+public final class DownloadNotFound extends NotFound {
+    public static final DownloadNotFound INSTANCE = new DownloadNotFound();
+
+    private DownloadNotFound() {
+    }
 }
@@ -0,0 +1,13 @@
+package com.infernalsuite.isdownloadapi.exception;
+
+public class InvalidParameter extends RuntimeException {
+    private final String parameter;
+
+    public InvalidParameter(final String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String parameter() {
+        return this.parameter;
+    }
+}
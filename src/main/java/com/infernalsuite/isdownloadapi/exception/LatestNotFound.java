@@ -1,4 +1,8 @@
 package com.infernalsuite.isdownloadapi.exception;
 
-public class LatestNotFound extends RuntimeException {
+public final class LatestNotFound extends NotFound {
+    public static final LatestNotFound INSTANCE = new LatestNotFound();
+
+    private LatestNotFound() {
+    }
 }
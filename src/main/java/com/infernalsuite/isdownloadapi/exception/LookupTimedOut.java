@@ -0,0 +1,4 @@
+package com.infernalsuite.isdownloadapi.exception;
+
+public class LookupTimedOut extends RuntimeException {
+}
@@ -0,0 +1,11 @@
+package com.infernalsuite.isdownloadapi.exception;
+
+/**
+ * A lookup that found nothing. Misses are routine, and frequent when scanners probe made-up names, so each kind is
+ * a single shared instance without a stack trace.
+ */
+public abstract class NotFound extends RuntimeException {
+    NotFound() {
+        super(null, null, false, false);
+    }
+}
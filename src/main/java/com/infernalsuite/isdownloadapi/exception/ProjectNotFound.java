@@ -1,4 +1,8 @@
 package com.infernalsuite.isdownloadapi.exception;
 
-public class ProjectNotFound extends RuntimeException {
+public final class ProjectNotFound extends NotFound {
+    public static final ProjectNotFound INSTANCE = new ProjectNotFound();
+
+    private ProjectNotFound() {
+    }
 }
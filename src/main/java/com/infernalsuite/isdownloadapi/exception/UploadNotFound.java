@@ -0,0 +1,8 @@
+package com.infernalsuite.isdownloadapi.exception;
+
+public final class UploadNotFound extends NotFound {
+    public static final UploadNotFound INSTANCE = new UploadNotFound();
+
+    private UploadNotFound() {
+    }
+}
@@ -1,4 +1,8 @@
 package com.infernalsuite.isdownloadapi.exception;
 
-public class VersionNotFound extends RuntimeException {
+public final class VersionNotFound extends NotFound {
+    public static final VersionNotFound INSTANCE = new VersionNotFound();
+
+    private VersionNotFound() {
+    }
 }
@@ -0,0 +1,8 @@
+package com.infernalsuite.isdownloadapi.exception;
+
+public final class WebhookNotFound extends NotFound {
+    public static final WebhookNotFound INSTANCE = new WebhookNotFound();
+
+    private WebhookNotFound() {
+    }
+}
@@ -0,0 +1,177 @@
+package com.infernalsuite.isdownloadapi.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes new builds to subscribers. Builds are learned from the {@link InvalidationBus}, so subscribers on every
+ * node hear about uploads to any node, and are read back from the build views, whose sequence numbers let subscribers
+ * resume.
+ *
+ * <p>Idle subscribers hold no thread. Events are serialized once and written to subscribers by a small pool, in
+ * chunks, so one slow connection delays only the subscribers of its chunk.</p>
+ */
+public class BuildFeed implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildFeed.class);
+    private static final int REPLAY_PAGE = 100;
+    private static final int REPLAY_LIMIT = 1000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(25);
+
+    private final BuildViewCollection views;
+    private final ObjectMapper json;
+    private final Map<String, Set<FeedSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<FeedSubscriber> all = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+
+    public BuildFeed(final BuildViewCollection views, final ObjectMapper json, final InvalidationBus invalidations, final int dispatchThreads) {
+        this.views = views;
+        this.json = json;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> daemon(runnable, "build-feed-dispatch"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "build-feed-heartbeat"));
+        this.heartbeats.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT.toSeconds(), HEARTBEAT.toSeconds(), TimeUnit.SECONDS);
+        invalidations.subscribe(this::invalidated);
+    }
+
+    private static Thread daemon(final Runnable runnable, final String name) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public void subscribe(final FeedSubscriber subscriber) {
+        this.all.add(subscriber);
+        for (final String project : subscriber.projects()) {
+            this.subscribers.computeIfAbsent(project, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+    }
+
+    public void unsubscribe(final FeedSubscriber subscriber) {
+        this.all.remove(subscriber);
+        for (final String project : subscriber.projects()) {
+            this.subscribers.computeIfPresent(project, (key, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    /**
+     * Finds the builds published after the given sequence number, oldest first. A subscriber that has missed more
+     * than {@link #REPLAY_LIMIT} builds gets a truncated replay and should catch up through the latest endpoints.
+     */
+    public Replay after(final Collection<String> projects, final Build.@Nullable Channel channel, final long after) {
+        final List<FeedEvent> events = new ArrayList<>();
+        long cursor = after;
+        int read = 0;
+        while (read < REPLAY_LIMIT) {
+            final List<BuildView> page = this.views.findAfter(projects, cursor, PageRequest.ofSize(REPLAY_PAGE));
+            for (final BuildView view : page) {
+                if (channel == null || view.channel() == channel) {
+                    events.add(FeedEvent.from(view));
+                }
+            }
+            read += page.size();
+            if (page.size() < REPLAY_PAGE) {
+                return new Replay(events, false);
+            }
+            cursor = page.get(page.size() - 1).sequence();
+        }
+        return new Replay(events, true);
+    }
+
+    public String serialize(final FeedEvent event) {
+        try {
+            return this.json.writeValueAsString(event);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void invalidated(final InvalidationEvent event) {
+        if (event.project() == null || event.version() == null || event.build() == null) {
+            return;
+        }
+        if (!this.subscribers.containsKey(event.project())) {
+            return;
+        }
+        this.dispatcher.execute(() -> this.views.findByProjectAndVersionAndNumber(event.project(), event.version(), event.build())
+                .map(FeedEvent::from)
+                .ifPresent(this::publish));
+    }
+
+    private void publish(final FeedEvent event) {
+        final Set<FeedSubscriber> subscribers = this.subscribers.get(event.project());
+        if (subscribers == null) {
+            return;
+        }
+        final String json = this.serialize(event);
+        final List<FeedSubscriber> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (final FeedSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                chunk.add(subscriber);
+                if (chunk.size() == CHUNK_SIZE) {
+                    this.deliver(List.copyOf(chunk), event, json);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            this.deliver(List.copyOf(chunk), event, json);
+        }
+    }
+
+    private void deliver(final List<FeedSubscriber> subscribers, final FeedEvent event, final String json) {
+        this.dispatcher.execute(() -> {
+            for (final FeedSubscriber subscriber : subscribers) {
+                if (!subscriber.deliver(event, json)) {
+                    this.unsubscribe(subscriber);
+                }
+            }
+        });
+    }
+
+    private void heartbeat() {
+        for (final FeedSubscriber subscriber : this.all) {
+            try {
+                if (!subscriber.heartbeat()) {
+                    this.unsubscribe(subscriber);
+                }
+            } catch (final RuntimeException e) {
+                LOGGER.debug("Heartbeat failed", e);
+                this.unsubscribe(subscriber);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.heartbeats.shutdownNow();
+        this.dispatcher.shutdownNow();
+    }
+
+    public record Replay(List<FeedEvent> events, boolean truncated) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.infernalsuite.isdownloadapi.feed;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * A new build, as pushed to feed subscribers. The id is the sequence number of the build's view and orders events.
+ */
+@Schema
+public record FeedEvent(
+        @Schema(name = "id", example = "1042")
+        String id,
+        @Schema(name = "project", pattern = "[a-z]+", example = "aspaper")
+        String project,
+        @Schema(name = "version", example = "1.20.2")
+        String version,
+        @Schema(name = "build", example = "10")
+        int build,
+        @Schema(name = "channel")
+        Build.Channel channel,
+        @Schema(name = "time")
+        Instant time
+) {
+    public static FeedEvent from(final BuildView view) {
+        return new FeedEvent(Long.toString(view.sequence()), view.project(), view.version(), view.number(), view.channel(), view.time());
+    }
+}
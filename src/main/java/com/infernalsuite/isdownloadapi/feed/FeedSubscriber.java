@@ -0,0 +1,43 @@
+package com.infernalsuite.isdownloadapi.feed;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Set;
+
+/**
+ * A connection waiting for new builds of some projects, optionally within one channel.
+ */
+public abstract class FeedSubscriber {
+    private final Set<String> projects;
+    private final Build.@Nullable Channel channel;
+
+    protected FeedSubscriber(final Set<String> projects, final Build.@Nullable Channel channel) {
+        this.projects = projects;
+        this.channel = channel;
+    }
+
+    public Set<String> projects() {
+        return this.projects;
+    }
+
+    public Build.@Nullable Channel channel() {
+        return this.channel;
+    }
+
+    boolean accepts(final FeedEvent event) {
+        return this.projects.contains(event.project()) && (this.channel == null || this.channel == event.channel());
+    }
+
+    /**
+     * Delivers an event, already serialized as JSON. Returns whether the subscriber wants more events.
+     */
+    public abstract boolean deliver(FeedEvent event, String json);
+
+    /**
+     * Keeps an idle connection open. Returns whether the connection is still usable.
+     */
+    public boolean heartbeat() {
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.infernalsuite.isdownloadapi.feed;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Answers a long poll with the first event to arrive.
+ */
+public class PollFeedSubscriber<T> extends FeedSubscriber {
+    private final DeferredResult<T> result;
+    private final Function<List<FeedEvent>, T> response;
+
+    public PollFeedSubscriber(final DeferredResult<T> result, final Function<List<FeedEvent>, T> response, final Set<String> projects, final Build.@Nullable Channel channel) {
+        super(projects, channel);
+        this.result = result;
+        this.response = response;
+    }
+
+    @Override
+    public boolean deliver(final FeedEvent event, final String json) {
+        this.result.setResult(this.response.apply(List.of(event)));
+        return false;
+    }
+
+    @Override
+    public boolean heartbeat() {
+        return !this.result.isSetOrExpired();
+    }
+}
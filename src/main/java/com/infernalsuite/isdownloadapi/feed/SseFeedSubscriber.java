@@ -0,0 +1,50 @@
+package com.infernalsuite.isdownloadapi.feed;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Streams events over a server-sent events connection, skipping any already sent while resuming.
+ */
+public class SseFeedSubscriber extends FeedSubscriber {
+    private static final String EVENT = "build";
+    private final SseEmitter emitter;
+    // sequence numbers start at 1
+    private long lastSent;
+
+    public SseFeedSubscriber(final SseEmitter emitter, final Set<String> projects, final Build.@Nullable Channel channel) {
+        super(projects, channel);
+        this.emitter = emitter;
+    }
+
+    @Override
+    public synchronized boolean deliver(final FeedEvent event, final String json) {
+        final long id = Long.parseLong(event.id());
+        if (id <= this.lastSent) {
+            return true;
+        }
+        try {
+            this.emitter.send(SseEmitter.event().id(event.id()).name(EVENT).data(json));
+            this.lastSent = id;
+            return true;
+        } catch (final IOException | IllegalStateException e) {
+            this.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized boolean heartbeat() {
+        try {
+            this.emitter.send(SseEmitter.event().comment("keepalive"));
+            return true;
+        } catch (final IOException | IllegalStateException e) {
+            this.emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.util.Compression;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+
+/**
+ * A response body ready to be written as is, with its compressed variants when the body is worth compressing.
+ */
+record CachedResponse(
+        @Nullable String project,
+        String contentType,
+        @Nullable String cacheControl,
+        String etag,
+        byte[] identity,
+        byte @Nullable [] gzip,
+        byte @Nullable [] brotli,
+        Duration lifetime
+) {
+    static CachedResponse of(final @Nullable String project, final String contentType, final @Nullable String cacheControl, final @Nullable String etag, final byte[] body, final CompressionPolicy compression, final Duration lifetime) {
+        final boolean compressible = compression.compressible(contentType, body.length);
+        return new CachedResponse(
+                project,
+                contentType,
+                cacheControl,
+                etag != null ? etag : etag(body),
+                body,
+                compressible ? Compression.gzip(body) : null,
+                // compressed inline on the miss, where the highest qualities would cost more than they save
+                compressible ? Compression.brotli(body, compression.brotliQuality()) : null,
+                lifetime
+        );
+    }
+
+    // same format as ShallowEtagHeaderFilter, so tags handed out before the response was cached still match
+    private static String etag(final byte[] body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    int weight() {
+        return this.identity.length + (this.gzip == null ? 0 : this.gzip.length) + (this.brotli == null ? 0 : this.brotli.length);
+    }
+}
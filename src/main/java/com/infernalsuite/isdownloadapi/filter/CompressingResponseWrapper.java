@@ -0,0 +1,213 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.util.Compression;
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Holds back the start of the body until it is known whether the response reaches the size threshold, then either
+ * compresses everything written with the negotiated encoding or passes it through untouched.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+    private final CompressionPolicy policy;
+    private final @Nullable String encoding;
+    private @Nullable ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private @Nullable OutputStream target;
+    private boolean compressing;
+    private long contentLength = -1;
+    private @Nullable ServletOutputStream outputStream;
+    private @Nullable PrintWriter writer;
+
+    /**
+     * @param encoding the encoding the client accepts, or {@code null} to never compress
+     */
+    CompressingResponseWrapper(final HttpServletResponse response, final CompressionPolicy policy, final @Nullable String encoding) {
+        super(response);
+        this.policy = policy;
+        this.encoding = encoding;
+    }
+
+    private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (this.target == null) {
+            if (this.getContentType() != null && !this.policy.compressible(this.getContentType())) {
+                // streams such as server-sent events must not be held back
+                this.decide(false);
+            } else if (this.pending.size() + length < this.policy.minSize()) {
+                this.pending.write(bytes, offset, length);
+                return;
+            } else {
+                this.decide(true);
+            }
+        }
+        this.target.write(bytes, offset, length);
+    }
+
+    private void decide(final boolean large) throws IOException {
+        final HttpServletResponse response = (HttpServletResponse) this.getResponse();
+        final boolean compressibleType = this.policy.compressible(response.getContentType());
+        final boolean compressible = large
+                && compressibleType
+                && response.getStatus() == HttpServletResponse.SC_OK
+                && !response.containsHeader(HttpHeaders.CONTENT_ENCODING)
+                && !response.containsHeader(HttpHeaders.CONTENT_RANGE);
+        if (compressibleType) {
+            // small and error responses too, so that every response of a resource names the same Vary as a cached one
+            HTTP.vary(response, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (compressible && this.encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, this.encoding);
+            this.compressing = true;
+            this.target = Compression.compressing(new FilterOutputStream(response.getOutputStream()) {
+                @Override
+                public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                    this.out.write(bytes, offset, length);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // finishing the compressed data must leave the servlet stream to the container
+                    this.flush();
+                }
+            }, this.encoding, this.policy.brotliQuality());
+        } else {
+            if (this.contentLength >= 0) {
+                response.setContentLengthLong(this.contentLength);
+            }
+            this.target = response.getOutputStream();
+        }
+        final byte[] pending = this.pending.toByteArray();
+        this.pending = null;
+        this.target.write(pending);
+    }
+
+    /**
+     * Gives up on compressing, for responses completed outside of the filter chain such as async ones.
+     */
+    void passThrough() throws IOException {
+        if (this.target == null) {
+            this.decide(false);
+        }
+    }
+
+    /**
+     * Writes out what is still held back and finishes the compressed data, if any.
+     */
+    void finish() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        if (this.target == null) {
+            this.decide(false);
+        }
+        if (this.compressing) {
+            this.target.close();
+        }
+    }
+
+    @Override
+    public void setContentLength(final int length) {
+        this.setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(final long length) {
+        // the length of a compressed body is not known up front, so it is only passed on once that is ruled out
+        if (this.target == null) {
+            this.contentLength = length;
+        } else if (!this.compressing) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void setHeader(final String name, final String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            this.setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.outputStream == null) {
+            final ServletOutputStream delegate = super.getOutputStream();
+            this.outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return delegate.isReady();
+                }
+
+                @Override
+                public void setWriteListener(final WriteListener listener) {
+                    delegate.setWriteListener(listener);
+                }
+
+                @Override
+                public void write(final int b) throws IOException {
+                    CompressingResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                    CompressingResponseWrapper.this.write(bytes, offset, length);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    // held back bytes stay held back, flushing them would commit to not compressing
+                    if (CompressingResponseWrapper.this.target != null) {
+                        CompressingResponseWrapper.this.target.flush();
+                    }
+                }
+            };
+        }
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            this.writer = new PrintWriter(new OutputStreamWriter(this.getOutputStream(), Charset.forName(this.getCharacterEncoding())));
+        }
+        return this.writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        if (this.target != null) {
+            this.target.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (this.target == null) {
+            this.pending.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        this.resetBuffer();
+        super.reset();
+    }
+}
@@ -0,0 +1,47 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.util.Compression;
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Compresses responses the {@link CompressionPolicy} allows with brotli or gzip, whichever the client accepts,
+ * while they are written. Responses that already carry a {@code Content-Encoding}, such as the precompressed
+ * variants of the {@link ResponseCacheFilter}, pass through untouched.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+    private final CompressionPolicy policy;
+
+    public CompressionFilter(final CompressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain) throws ServletException, IOException {
+        final CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, this.policy, encoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+        chain.doFilter(request, wrapper);
+        if (request.isAsyncStarted()) {
+            wrapper.passThrough();
+        } else {
+            wrapper.finish();
+        }
+    }
+
+    private static @Nullable String encoding(final @Nullable String acceptEncoding) {
+        if (Compression.isBrotliAvailable() && HTTP.acceptsEncoding(acceptEncoding, Compression.BROTLI)) {
+            return Compression.BROTLI;
+        }
+        if (HTTP.acceptsEncoding(acceptEncoding, Compression.GZIP)) {
+            return Compression.GZIP;
+        }
+        return null;
+    }
+}
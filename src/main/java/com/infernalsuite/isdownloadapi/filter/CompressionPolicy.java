@@ -0,0 +1,37 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Decides which responses are worth compressing: bodies of at least {@code minSize} bytes whose content type is
+ * one of {@code mediaTypes}. Archives and other already compressed content never match.
+ *
+ * @param brotliQuality the brotli quality used when compressing on the fly and when caching compressed bodies
+ */
+public record CompressionPolicy(int minSize, List<MediaType> mediaTypes, int brotliQuality) {
+    public boolean compressible(final @Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        final MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (final InvalidMediaTypeException e) {
+            return false;
+        }
+        for (final MediaType candidate : this.mediaTypes) {
+            if (candidate.isCompatibleWith(type) && !type.isWildcardType() && !type.isWildcardSubtype()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean compressible(final @Nullable String contentType, final int length) {
+        return length >= this.minSize && this.compressible(contentType);
+    }
+}
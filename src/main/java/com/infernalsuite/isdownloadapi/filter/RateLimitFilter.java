@@ -0,0 +1,179 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.util.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Limits how often each client address may call each route group, answering {@code 429 Too Many Requests} once its
+ * bucket is empty. Limited responses carry the {@code RateLimit-*} fields of the IETF rate limit headers draft so
+ * clients can pace themselves, and rejections add {@code Retry-After}. Paths outside every group are not limited.
+ * The client address is the one Tomcat's remote IP valve takes from {@code X-Forwarded-For}, which it only believes
+ * from the proxies in {@code server.tomcat.remoteip.internal-proxies}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+    static final String RATE_LIMIT_POLICY = "RateLimit-Policy";
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_REMAINDER = "**";
+    private static final int IPV6_PREFIX_BYTES = 8;
+    private static final byte[] TOO_MANY_REQUESTS = "{\"error\":\"Too many requests, please try again later.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter limiter;
+    private final Route[] routes;
+
+    /**
+     * @param groups the route groups, a request counting against the first one that matches its path
+     */
+    public RateLimitFilter(final RateLimiter limiter, final List<Group> groups) {
+        this.limiter = limiter;
+        this.routes = groups.stream().map(Route::new).toArray(Route[]::new);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        // preflights are answered without reaching an endpoint
+        return HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain) throws ServletException, IOException {
+        final int group = this.match(request.getRequestURI(), request.getContextPath().length());
+        if (group < 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final Route route = this.routes[group];
+        final RateLimiter.Limit limit = route.limit;
+        final long backlog = this.limiter.acquire(client(request.getRemoteAddr()), group, limit);
+        response.setHeader(RATE_LIMIT_LIMIT, route.requests);
+        response.setHeader(RATE_LIMIT_REMAINING, Long.toString(limit.remaining(backlog)));
+        response.setHeader(RATE_LIMIT_RESET, Long.toString(seconds(limit.reset(backlog))));
+        response.setHeader(RATE_LIMIT_POLICY, route.policy);
+        if (limit.allows(backlog)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds(limit.retryAfter(backlog))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * The bucket of a client address. An IPv6 client is usually handed a whole /64 and can pick any address in it,
+     * so the prefix is what is limited.
+     */
+    static String client(final String address) {
+        if (address.indexOf(':') < 0) {
+            return address;
+        }
+        final InetAddress parsed;
+        try {
+            // a literal, so nothing is looked up
+            parsed = InetAddress.getByName(address);
+        } catch (final UnknownHostException e) {
+            return address;
+        }
+        if (parsed instanceof Inet4Address) {
+            // IPv4 mapped, shares the bucket of the plain address
+            return parsed.getHostAddress();
+        }
+        return HexFormat.of().formatHex(parsed.getAddress(), 0, IPV6_PREFIX_BYTES) + "/64";
+    }
+
+    private int match(final String path, final int start) {
+        for (int group = 0; group < this.routes.length; group++) {
+            for (final String[] pattern : this.routes[group].patterns) {
+                if (matches(pattern, path, start)) {
+                    return group;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // walks the path in place rather than splitting it, this runs for every request
+    private static boolean matches(final String[] pattern, final String path, final int start) {
+        int position = start;
+        for (final String segment : pattern) {
+            if (segment.equals(ANY_REMAINDER)) {
+                return true;
+            }
+            if (position >= path.length() || path.charAt(position) != '/') {
+                return false;
+            }
+            int end = path.indexOf('/', position + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            final int length = end - position - 1;
+            final boolean matched = segment.equals(ANY_SEGMENT)
+                    ? length > 0
+                    : length == segment.length() && path.regionMatches(position + 1, segment, 0, length);
+            if (!matched) {
+                return false;
+            }
+            position = end;
+        }
+        return position == path.length();
+    }
+
+    private static long seconds(final long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    /**
+     * A group of routes sharing one limit per client.
+     *
+     * @param paths path patterns, where {@code *} stands for one segment and a trailing {@code **} for any remainder
+     */
+    public record Group(String name, List<String> paths, int requests, Duration period) {
+    }
+
+    private static final class Route {
+        private final String[][] patterns;
+        private final RateLimiter.Limit limit;
+        private final String requests;
+        private final String policy;
+
+        private Route(final Group group) {
+            this.patterns = group.paths().stream().map(Route::parse).toArray(String[][]::new);
+            this.limit = RateLimiter.Limit.of(group.requests(), group.period());
+            this.requests = Long.toString(this.limit.requests());
+            this.policy = this.requests + ";w=" + seconds(this.limit.period());
+        }
+
+        private static String[] parse(final String pattern) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("path pattern must start with /: " + pattern);
+            }
+            final String[] segments = pattern.substring(1).split("/", -1);
+            for (int i = 0; i < segments.length - 1; i++) {
+                if (segments[i].equals(ANY_REMAINDER)) {
+                    throw new IllegalArgumentException(ANY_REMAINDER + " must end the path pattern: " + pattern);
+                }
+            }
+            return segments;
+        }
+    }
+}
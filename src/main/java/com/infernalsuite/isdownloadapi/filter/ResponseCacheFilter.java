@@ -0,0 +1,190 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.infernalsuite.isdownloadapi.interceptor.ReadRoutingInterceptor;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.util.Compression;
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the serialized bodies of successful public reads, together with their compressed variants and ETag, and
+ * writes them straight to the client on later requests. Entries of a project are dropped when the
+ * {@link InvalidationBus} reports a change to it.
+ *
+ * <p>A response read from a secondary may miss writes whose invalidation already went by, so it is kept no longer
+ * than the staleness bound of its reads, and not at all when that is not bounded.</p>
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    private static final String PREFIX = "/v1/projects";
+    private static final String BATCH_LATEST = "/v1/latest";
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Duration ttl;
+    private final int maxEntrySize;
+    private final CompressionPolicy compression;
+    // bumped on every invalidation, so responses computed across one are not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCacheFilter(final InvalidationBus invalidations, final Duration ttl, final long maxSize, final int maxEntrySize, final CompressionPolicy compression) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(final String key, final CachedResponse response, final long currentTime) {
+                        return response.lifetime().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(final String key, final CachedResponse response, final long currentTime, final long currentDuration) {
+                        return response.lifetime().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(final String key, final CachedResponse response, final long currentTime, final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumWeight(maxSize)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .build();
+        this.ttl = ttl;
+        this.maxEntrySize = maxEntrySize;
+        this.compression = compression;
+        invalidations.subscribe(this::invalidate);
+    }
+
+    private void invalidate(final InvalidationEvent event) {
+        this.generation.incrementAndGet();
+        if (event.project() == null) {
+            this.cache.invalidateAll();
+        } else {
+            this.cache.asMap().values().removeIf(response -> response.project() == null || event.affects(response.project()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        final String path = path(request);
+        return !(path.startsWith(PREFIX) || path.equals(BATCH_LATEST)) || path.contains("/download");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain) throws ServletException, IOException {
+        final String key = key(request);
+        final CachedResponse cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            write(request, response, cached);
+            return;
+        }
+        final long generation = this.generation.get();
+        final TeeResponseWrapper tee = new TeeResponseWrapper(response, this.maxEntrySize);
+        chain.doFilter(request, tee);
+        final byte[] body = tee.body();
+        if (body == null
+                || request.isAsyncStarted()
+                || tee.getStatus() != HttpServletResponse.SC_OK
+                || tee.getContentType() == null
+                || tee.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || generation != this.generation.get()) {
+            return;
+        }
+        final Duration lifetime = this.lifetime(request);
+        if (lifetime.isZero() || lifetime.isNegative()) {
+            return;
+        }
+        final CachedResponse entry = CachedResponse.of(project(path(request)), tee.getContentType(), tee.getHeader(HttpHeaders.CACHE_CONTROL), tee.getHeader(HttpHeaders.ETAG), body, this.compression, lifetime);
+        this.cache.asMap().putIfAbsent(key, entry);
+        if (generation != this.generation.get()) {
+            this.cache.asMap().remove(key, entry);
+        }
+    }
+
+    private Duration lifetime(final HttpServletRequest request) {
+        // set while the request was handled, when its reads may have gone to a secondary
+        final Object staleness = request.getAttribute(ReadRoutingInterceptor.STALENESS_ATTRIBUTE);
+        if (staleness instanceof Duration bound && bound.compareTo(this.ttl) < 0) {
+            return bound;
+        }
+        return this.ttl;
+    }
+
+    private static void write(final HttpServletRequest request, final HttpServletResponse response, final CachedResponse cached) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (cached.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        final byte[] body;
+        if (cached.brotli() != null && HTTP.acceptsEncoding(acceptEncoding, Compression.BROTLI)) {
+            body = cached.brotli();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, Compression.BROTLI);
+        } else if (cached.gzip() != null && HTTP.acceptsEncoding(acceptEncoding, Compression.GZIP)) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, Compression.GZIP);
+        } else {
+            body = cached.identity();
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean matches(final @Nullable String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(final HttpServletRequest request) {
+        final String query = request.getQueryString();
+        final String accept = request.getHeader(HttpHeaders.ACCEPT);
+        // a read from the primary must not be answered with a body read from a lagging secondary
+        final boolean primary = ReadRoutingInterceptor.CONSISTENCY_PRIMARY.equalsIgnoreCase(request.getHeader(ReadRoutingInterceptor.CONSISTENCY_HEADER));
+        return path(request) + (query == null ? "" : "?" + query) + "|" + (accept == null ? "" : accept) + (primary ? "|" + ReadRoutingInterceptor.CONSISTENCY_PRIMARY : "");
+    }
+
+    private static String path(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static @Nullable String project(final String path) {
+        // batch responses span projects and have none, so every invalidation drops them
+        if (!path.startsWith(PREFIX) || path.length() <= PREFIX.length() + 1) {
+            return null;
+        }
+        final int start = PREFIX.length() + 1;
+        final int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+}
@@ -0,0 +1,101 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Passes the body through to the client while keeping a copy of it, as long as it stays within a limit.
+ */
+class TeeResponseWrapper extends HttpServletResponseWrapper {
+    private final int limit;
+    private @Nullable ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    private @Nullable ServletOutputStream outputStream;
+    private @Nullable PrintWriter writer;
+
+    TeeResponseWrapper(final HttpServletResponse response, final int limit) {
+        super(response);
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the body written so far, or {@code null} if it exceeded the limit.
+     */
+    byte @Nullable [] body() {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        return this.copy == null ? null : this.copy.toByteArray();
+    }
+
+    private void copy(final byte[] bytes, final int offset, final int length) {
+        if (this.copy == null) {
+            return;
+        }
+        if (this.copy.size() + length > this.limit) {
+            this.copy = null;
+            return;
+        }
+        this.copy.write(bytes, offset, length);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.outputStream == null) {
+            final ServletOutputStream delegate = super.getOutputStream();
+            this.outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return delegate.isReady();
+                }
+
+                @Override
+                public void setWriteListener(final WriteListener listener) {
+                    delegate.setWriteListener(listener);
+                }
+
+                @Override
+                public void write(final int b) throws IOException {
+                    delegate.write(b);
+                    TeeResponseWrapper.this.copy(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                    delegate.write(bytes, offset, length);
+                    TeeResponseWrapper.this.copy(bytes, offset, length);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    delegate.flush();
+                }
+            };
+        }
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            this.writer = new PrintWriter(new OutputStreamWriter(this.getOutputStream(), Charset.forName(this.getCharacterEncoding())));
+        }
+        return this.writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        super.flushBuffer();
+    }
+}
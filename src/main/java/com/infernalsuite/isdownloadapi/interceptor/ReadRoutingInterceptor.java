@@ -0,0 +1,83 @@
+package com.infernalsuite.isdownloadapi.interceptor;
+
+import com.infernalsuite.isdownloadapi.configuration.ReadRoutingConfiguration;
+import com.infernalsuite.isdownloadapi.database.ReadRouting;
+import com.mongodb.ReadPreference;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes the queries of public read requests to the configured read preference, usually secondaries with a
+ * bounded staleness. Admin requests, writes, and requests that ask for {@value #CONSISTENCY_HEADER}:
+ * {@value #CONSISTENCY_PRIMARY} read from the primary, so callers can read their own writes.
+ *
+ * <p>Requests that may read from a secondary carry how stale their reads may be in the {@link #STALENESS_ATTRIBUTE},
+ * {@link Duration#ZERO} when that is not bounded, so that their responses are not kept for longer than that.</p>
+ */
+public class ReadRoutingInterceptor implements HandlerInterceptor {
+    public static final String CONSISTENCY_HEADER = "X-Read-Consistency";
+    public static final String CONSISTENCY_PRIMARY = "primary";
+    public static final String STALENESS_ATTRIBUTE = ReadRoutingInterceptor.class.getName() + ".staleness";
+    private static final String ADMIN_PATH = "/v1/admin";
+
+    private final @Nullable ReadPreference publicReads;
+    private final @Nullable Duration staleness;
+    private final boolean allowPrimaryOverride;
+
+    public ReadRoutingInterceptor(final ReadRoutingConfiguration configuration) {
+        this.publicReads = configuration.isEnabled() ? readPreference(configuration) : null;
+        this.staleness = this.publicReads == null || this.publicReads.equals(ReadPreference.primary())
+                ? null
+                : (configuration.getMaxStaleness() == null ? Duration.ZERO : configuration.getMaxStaleness());
+        this.allowPrimaryOverride = configuration.isAllowPrimaryOverride();
+    }
+
+    private static ReadPreference readPreference(final ReadRoutingConfiguration configuration) {
+        final ReadPreference preference = ReadPreference.valueOf(configuration.getReadPreference());
+        if (preference.equals(ReadPreference.primary()) || configuration.getMaxStaleness() == null) {
+            return preference;
+        }
+        return ReadPreference.valueOf(
+                configuration.getReadPreference(),
+                List.of(),
+                configuration.getMaxStaleness().toSeconds(),
+                TimeUnit.SECONDS
+        );
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (this.publicReads != null && this.isPublicRead(request)) {
+            ReadRouting.set(this.publicReads);
+            if (this.staleness != null) {
+                request.setAttribute(STALENESS_ATTRIBUTE, this.staleness);
+            }
+        } else {
+            ReadRouting.clear();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final @Nullable Exception ex) {
+        ReadRouting.clear();
+    }
+
+    private boolean isPublicRead(final HttpServletRequest request) {
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return false;
+        }
+        if (request.getRequestURI().startsWith(request.getContextPath() + ADMIN_PATH)) {
+            return false;
+        }
+        return !(this.allowPrimaryOverride && CONSISTENCY_PRIMARY.equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.infernalsuite.isdownloadapi.interceptor;
+
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+
+/**
+ * Marks the responses of handlers that can produce several media types as varying by {@code Accept}, so that shared
+ * caches keep one copy per format. This covers responses negotiated by message converters as well as those written
+ * in the {@link com.infernalsuite.isdownloadapi.util.ResponseFormat} picked by hand, since both are only possible
+ * where the mapping lists several types.
+ */
+public class VaryAcceptInterceptor implements HandlerInterceptor {
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE) instanceof Collection<?> producible && producible.size() > 1) {
+            HTTP.vary(response, HttpHeaders.ACCEPT);
+        }
+        return true;
+    }
+}
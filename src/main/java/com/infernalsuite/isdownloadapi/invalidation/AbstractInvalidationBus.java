@@ -0,0 +1,28 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+abstract class AbstractInvalidationBus implements InvalidationBus {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractInvalidationBus.class);
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void subscribe(final Consumer<InvalidationEvent> listener) {
+        this.listeners.add(listener);
+    }
+
+    protected void deliver(final InvalidationEvent event) {
+        for (final Consumer<InvalidationEvent> listener : this.listeners) {
+            try {
+                listener.accept(event);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Invalidation listener failed for {}", event, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.SubscriptionRequest;
+import org.springframework.data.mongodb.core.messaging.TailableCursorRequest;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Follows a capped collection through a tailable cursor. Works on standalone servers. The collection keeps the
+ * most recent events up to the configured size, and the cursor skips those published before this node started.
+ *
+ * <p>A tailable cursor returns documents in insertion order, which ids do not follow across nodes, so the cursor is
+ * trusted as it is. It starts at the beginning of the collection, after a failure too, and the ids this node has
+ * already seen are remembered to skip the events it replays. Ids forgotten once more events than remembered arrived
+ * are delivered again, which only drops entries already dropped.</p>
+ */
+public class CappedInvalidationBus extends MongoInvalidationBus {
+    private static final int SEEN = 65_536;
+    private final DataSize size;
+    private final Set<ObjectId> seen = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ObjectId, Boolean> eldest) {
+            return this.size() > SEEN;
+        }
+    });
+
+    public CappedInvalidationBus(final MongoTemplate mongo, final String collection, final DataSize size) {
+        super(mongo, collection);
+        this.size = size;
+    }
+
+    @Override
+    protected void prepare() {
+        if (!this.mongo.collectionExists(this.collection)) {
+            this.mongo.createCollection(this.collection, CollectionOptions.empty().capped().size(this.size.toBytes()));
+            // a tailable cursor on an empty collection is closed immediately
+            this.mongo.insert(InvalidationMessage.from("", InvalidationEvent.all()), this.collection);
+        }
+        // what is there now was published before this node started
+        final Query existing = new Query();
+        existing.fields().include("_id");
+        for (final Document document : this.mongo.find(existing, Document.class, this.collection)) {
+            this.seen(document.getObjectId("_id"));
+        }
+    }
+
+    @Override
+    protected SubscriptionRequest<?, InvalidationMessage, ?> request() {
+        return TailableCursorRequest.<InvalidationMessage>builder(this::received)
+                .collection(this.collection)
+                .build();
+    }
+
+    private void received(final Message<Document, InvalidationMessage> message) {
+        final InvalidationMessage body = message.getBody();
+        if (body != null && this.seen(body._id())) {
+            this.receive(body);
+        }
+    }
+
+    /**
+     * @return whether the id was new
+     */
+    private boolean seen(final ObjectId id) {
+        synchronized (this.seen) {
+            return this.seen.add(id);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.SubscriptionRequest;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Duration;
+
+/**
+ * Follows inserts into a regular collection through a change stream. Requires a replica set. Events expire
+ * from the collection after the configured retention.
+ */
+public class ChangeStreamInvalidationBus extends MongoInvalidationBus {
+    private final Duration retention;
+    private volatile @Nullable BsonValue resumeToken;
+
+    public ChangeStreamInvalidationBus(final MongoTemplate mongo, final String collection, final Duration retention) {
+        super(mongo, collection);
+        this.retention = retention;
+    }
+
+    @Override
+    protected void prepare() {
+        this.mongo.indexOps(this.collection).ensureIndex(new Index("time", Sort.Direction.ASC).expire(this.retention));
+    }
+
+    @Override
+    protected SubscriptionRequest<?, InvalidationMessage, ?> request() {
+        final ChangeStreamRequest.ChangeStreamRequestBuilder<InvalidationMessage> builder = ChangeStreamRequest.<InvalidationMessage>builder(this::received)
+                .collection(this.collection)
+                .filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").is("insert"))));
+        final BsonValue resumeToken = this.resumeToken;
+        if (resumeToken != null) {
+            builder.resumeToken(resumeToken);
+        }
+        return builder.build();
+    }
+
+    private void received(final Message<ChangeStreamDocument<Document>, InvalidationMessage> message) {
+        final ChangeStreamDocument<Document> raw = message.getRaw();
+        if (raw != null) {
+            this.resumeToken = raw.getResumeToken();
+        }
+        this.receive(message.getBody());
+    }
+}
@@ -0,0 +1,12 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link InvalidationEvent}s to every node of the deployment, including the one publishing them.
+ */
+public interface InvalidationBus {
+    void publish(InvalidationEvent event);
+
+    void subscribe(Consumer<InvalidationEvent> listener);
+}
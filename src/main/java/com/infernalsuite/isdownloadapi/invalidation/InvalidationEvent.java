@@ -0,0 +1,35 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Announces that data below a project, version or build changed. Missing components widen the event: an event
+ * without a project invalidates everything.
+ */
+public record InvalidationEvent(
+        @Nullable String project,
+        @Nullable String version,
+        @Nullable Integer build
+) {
+    private static final InvalidationEvent ALL = new InvalidationEvent(null, null, null);
+
+    public static InvalidationEvent all() {
+        return ALL;
+    }
+
+    public static InvalidationEvent project(final String project) {
+        return new InvalidationEvent(project, null, null);
+    }
+
+    public static InvalidationEvent build(final String project, final String version, final int build) {
+        return new InvalidationEvent(project, version, build);
+    }
+
+    public boolean affects(final String project) {
+        return this.project == null || this.project.equals(project);
+    }
+
+    public boolean affects(final String project, final String version) {
+        return this.affects(project) && (this.version == null || this.version.equals(version));
+    }
+}
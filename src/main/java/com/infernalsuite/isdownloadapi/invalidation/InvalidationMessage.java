@@ -0,0 +1,27 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+/**
+ * An {@link InvalidationEvent} as stored by the Mongo backed buses.
+ */
+record InvalidationMessage(
+        @Id ObjectId _id,
+        String origin,
+        Instant time,
+        @Nullable String project,
+        @Nullable String version,
+        @Nullable Integer build
+) {
+    static InvalidationMessage from(final String origin, final InvalidationEvent event) {
+        return new InvalidationMessage(new ObjectId(), origin, Instant.now(), event.project(), event.version(), event.build());
+    }
+
+    InvalidationEvent event() {
+        return new InvalidationEvent(this.project, this.version, this.build);
+    }
+}
@@ -0,0 +1,11 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+/**
+ * Delivers events synchronously within this process. Suitable for a single node and for tests.
+ */
+public class LocalInvalidationBus extends AbstractInvalidationBus {
+    @Override
+    public void publish(final InvalidationEvent event) {
+        this.deliver(event);
+    }
+}
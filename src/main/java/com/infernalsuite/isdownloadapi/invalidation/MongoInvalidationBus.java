@@ -0,0 +1,114 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.data.mongodb.core.messaging.SubscriptionRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events by inserting them into a collection and receives them by following that collection. Events
+ * are delivered to local listeners right away, so a node skips its own events when they come back.
+ *
+ * <p>When following the collection fails, events may have been missed, so local listeners are told to drop
+ * everything before the subscription is renewed.</p>
+ */
+abstract class MongoInvalidationBus extends AbstractInvalidationBus implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoInvalidationBus.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    protected final MongoTemplate mongo;
+    protected final String collection;
+    private final String origin = UUID.randomUUID().toString();
+    private final MessageListenerContainer container;
+    private @Nullable ScheduledExecutorService retries;
+    private volatile @Nullable Subscription subscription;
+    private volatile boolean running;
+
+    MongoInvalidationBus(final MongoTemplate mongo, final String collection) {
+        this.mongo = mongo;
+        this.collection = collection;
+        this.container = new DefaultMessageListenerContainer(mongo);
+    }
+
+    @Override
+    public void publish(final InvalidationEvent event) {
+        this.deliver(event);
+        this.mongo.insert(InvalidationMessage.from(this.origin, event), this.collection);
+    }
+
+    /**
+     * Prepares the collection before it is followed.
+     */
+    protected abstract void prepare();
+
+    /**
+     * Creates the request following the collection, resuming after the last received event where possible.
+     */
+    protected abstract SubscriptionRequest<?, InvalidationMessage, ?> request();
+
+    protected void receive(final @Nullable InvalidationMessage message) {
+        if (message != null && !this.origin.equals(message.origin())) {
+            this.deliver(message.event());
+        }
+    }
+
+    private synchronized void subscribe() {
+        if (this.running) {
+            this.subscription = this.container.register(this.request(), InvalidationMessage.class, this::failed);
+        }
+    }
+
+    void failed(final Throwable error) {
+        LOGGER.warn("Following invalidations in {} failed, dropping local caches", this.collection, error);
+        this.deliver(InvalidationEvent.all());
+        // called on the container's thread, which must not be held up while waiting to retry
+        synchronized (this) {
+            final Subscription failed = this.subscription;
+            if (failed != null) {
+                this.container.remove(failed);
+                this.subscription = null;
+            }
+            if (this.running && this.retries != null) {
+                this.retries.schedule(this::subscribe, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        this.prepare();
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "invalidation-resubscribe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.container.start();
+        this.running = true;
+        this.subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        this.running = false;
+        if (this.retries != null) {
+            this.retries.shutdownNow();
+        }
+        this.container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+}
@@ -0,0 +1,197 @@
+package com.infernalsuite.isdownloadapi.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
+import com.infernalsuite.isdownloadapi.exception.NotFound;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.util.BloomFilter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers lookups that cannot succeed, so that requests for made-up names are answered without querying the
+ * database. A Bloom filter of every project, version and version group name rules out names that never existed,
+ * and a short-lived cache of recent misses covers everything else. Both follow the changes the
+ * {@link InvalidationBus} reports, and the filter is also rebuilt periodically, so that a name whose event was lost
+ * is not refused for longer than the rebuild interval.
+ */
+public class NegativeLookupCache implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NegativeLookupCache.class);
+    private final ProjectCollection projects;
+    private final VersionCollection versions;
+    private final VersionFamilyCollection families;
+    private final Settings settings;
+    private final Cache<String, Miss> misses;
+    // bumped on every invalidation, so misses looked up across one are not stored
+    private final AtomicLong generation = new AtomicLong();
+    // projects changed since the last rebuild started, added again once it completes
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    // null until the first rebuild completes, every name might exist until then
+    private volatile @Nullable BloomFilter names;
+    private @Nullable ScheduledExecutorService loader;
+    private volatile boolean running;
+
+    public NegativeLookupCache(
+            final ProjectCollection projects,
+            final VersionCollection versions,
+            final VersionFamilyCollection families,
+            final InvalidationBus invalidations,
+            final Settings settings
+    ) {
+        this.projects = projects;
+        this.versions = versions;
+        this.families = families;
+        this.settings = settings;
+        this.misses = Caffeine.newBuilder()
+                .expireAfterWrite(settings.missTtl())
+                .maximumSize(settings.maxMisses())
+                .build();
+        invalidations.subscribe(this::invalidate);
+    }
+
+    @Override
+    public synchronized void start() {
+        this.loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "negative-lookup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = this.settings.rebuildInterval().toMillis();
+        this.loader.scheduleWithFixedDelay(this::rebuild, 0, interval, TimeUnit.MILLISECONDS);
+        this.running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        this.running = false;
+        if (this.loader != null) {
+            this.loader.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    public boolean mightExist(final String project) {
+        return this.mightContain(projectKey(project));
+    }
+
+    public boolean mightExistVersion(final String project, final String version) {
+        return this.mightContain(versionKey(project, version));
+    }
+
+    public boolean mightExistFamily(final String project, final String family) {
+        return this.mightContain(familyKey(project, family));
+    }
+
+    private boolean mightContain(final String key) {
+        final BloomFilter names = this.names;
+        return names == null || names.mightContain(key);
+    }
+
+    public @Nullable NotFound miss(final String key) {
+        final Miss miss = this.misses.getIfPresent(key);
+        return miss == null ? null : miss.exception();
+    }
+
+    public long generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Remembers that {@code key} was not found, unless the data of {@code project} changed since {@code generation}.
+     */
+    public void recordMiss(final String key, final String project, final NotFound exception, final long generation) {
+        final Miss miss = new Miss(project, exception);
+        this.misses.asMap().putIfAbsent(key, miss);
+        if (generation != this.generation.get()) {
+            this.misses.asMap().remove(key, miss);
+        }
+    }
+
+    private void invalidate(final InvalidationEvent event) {
+        this.generation.incrementAndGet();
+        if (event.project() == null) {
+            this.misses.invalidateAll();
+            final ExecutorService loader = this.loader;
+            if (loader != null) {
+                loader.execute(this::rebuild);
+            }
+            return;
+        }
+        this.misses.asMap().values().removeIf(miss -> event.affects(miss.project()));
+        // added right away rather than by the loader, so that a client reading its own upload finds it
+        this.add(event.project());
+    }
+
+    private void rebuild() {
+        try {
+            this.changed.clear();
+            final BloomFilter names = new BloomFilter(this.settings.expectedNames(), this.settings.falsePositiveRate());
+            for (final Project project : this.projects.findAll()) {
+                this.add(names, project);
+            }
+            this.names = names;
+            for (final String project : this.changed) {
+                this.add(project);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not load the known names, lookups will not be filtered until the next rebuild", e);
+        }
+    }
+
+    private void add(final String projectName) {
+        this.changed.add(projectName);
+        final BloomFilter names = this.names;
+        if (names != null) {
+            this.projects.findByName(projectName).ifPresent(project -> this.add(names, project));
+        }
+    }
+
+    private void add(final BloomFilter names, final Project project) {
+        names.add(projectKey(project.name()));
+        for (final VersionName version : this.versions.findAllByProject(project._id(), VersionName.class)) {
+            names.add(versionKey(project.name(), version.name()));
+        }
+        for (final VersionName family : this.families.findAllByProject(project._id(), VersionName.class)) {
+            names.add(familyKey(project.name(), family.name()));
+        }
+    }
+
+    private static String projectKey(final String project) {
+        return project;
+    }
+
+    private static String versionKey(final String project, final String version) {
+        return project + "/v/" + version;
+    }
+
+    private static String familyKey(final String project, final String family) {
+        return project + "/f/" + family;
+    }
+
+    private record Miss(String project, NotFound exception) {
+    }
+
+    public record Settings(int expectedNames, double falsePositiveRate, Duration missTtl, long maxMisses, Duration rebuildInterval) {
+    }
+}
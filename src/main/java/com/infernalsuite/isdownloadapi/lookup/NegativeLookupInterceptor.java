@@ -0,0 +1,85 @@
+package com.infernalsuite.isdownloadapi.lookup;
+
+import com.infernalsuite.isdownloadapi.exception.NotFound;
+import com.infernalsuite.isdownloadapi.exception.ProjectNotFound;
+import com.infernalsuite.isdownloadapi.exception.VersionNotFound;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Answers public reads of projects, versions and version groups that cannot exist from the
+ * {@link NegativeLookupCache} before the handler runs, and records the misses of the handlers that do run.
+ */
+public class NegativeLookupInterceptor implements HandlerInterceptor {
+    private static final String PREFIX = "/v1/projects/";
+    private static final String GENERATION = NegativeLookupInterceptor.class.getName() + ".generation";
+
+    private final NegativeLookupCache cache;
+
+    public NegativeLookupInterceptor(final NegativeLookupCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        final String project = project(request);
+        if (project == null) {
+            return true;
+        }
+        final Map<String, String> variables = variables(request);
+        if (!this.cache.mightExist(project)) {
+            throw ProjectNotFound.INSTANCE;
+        }
+        final String version = variables.get("version");
+        if (version != null && !this.cache.mightExistVersion(project, version)) {
+            throw VersionNotFound.INSTANCE;
+        }
+        final String family = variables.get("family");
+        if (family != null && !this.cache.mightExistFamily(project, family)) {
+            throw VersionNotFound.INSTANCE;
+        }
+        final NotFound miss = this.cache.miss(key(request));
+        if (miss != null) {
+            throw miss;
+        }
+        request.setAttribute(GENERATION, this.cache.generation());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final @Nullable Exception ex) {
+        // handled exceptions are not passed in, the dispatcher leaves them in this attribute
+        if (request.getAttribute(GENERATION) instanceof Long generation
+                && request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE) instanceof NotFound exception) {
+            this.cache.recordMiss(key(request), project(request), exception, generation);
+        }
+    }
+
+    private static @Nullable String project(final HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return null;
+        }
+        if (!request.getRequestURI().startsWith(request.getContextPath() + PREFIX)) {
+            return null;
+        }
+        return variables(request).get("project");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> variables(final HttpServletRequest request) {
+        final Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> ? (Map<String, String>) variables : Map.of();
+    }
+
+    private static String key(final HttpServletRequest request) {
+        final String query = request.getQueryString();
+        return request.getRequestURI().substring(request.getContextPath().length()) + (query == null ? "" : "?" + query);
+    }
+}
@@ -0,0 +1,99 @@
+package com.infernalsuite.isdownloadapi.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The files behind artifact downloads, laid out as project/version/build/artifact/download under the storage path.
+ * Uploads are written to temporary files inside the same tree and hashed as they arrive, then renamed into place,
+ * so downloads never observe a partial file and nothing is read twice.
+ */
+public class ArtifactStorage {
+    // not a valid project name, so it can never be reached through a download
+    static final String UPLOADS = ".uploads";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path uploads;
+
+    public ArtifactStorage(final Path root) {
+        this.root = root;
+        this.uploads = root.resolve(UPLOADS);
+    }
+
+    public Path path(final String project, final String version, final int build, final String artifact, final String download) {
+        return this.root
+                .resolve(project)
+                .resolve(version)
+                .resolve(String.valueOf(build))
+                .resolve(artifact)
+                .resolve(download);
+    }
+
+    /**
+     * Writes a stream to a new temporary file, hashing it on the way.
+     */
+    public Received receive(final InputStream in) throws IOException {
+        final Path file = this.temporary();
+        try (final DigestOutputStream out = new DigestOutputStream(Files.newOutputStream(file), sha256())) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+            return new Received(file, size, HexFormat.of().formatHex(out.getMessageDigest().digest()));
+        } catch (final IOException e) {
+            this.discard(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Renames a received file to its final path, replacing what was there.
+     */
+    public void place(final Path received, final Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(received, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void discard(final Path received) {
+        try {
+            Files.deleteIfExists(received);
+        } catch (final IOException ignored) {
+            // left for whoever cleans the upload directory
+        }
+    }
+
+    Path uploads() {
+        return this.uploads;
+    }
+
+    Path temporary() throws IOException {
+        Files.createDirectories(this.uploads);
+        return Files.createTempFile(this.uploads, "upload-", ".part");
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every Java platform", e);
+        }
+    }
+
+    /**
+     * @param sha256 the lowercase hex digest of the file
+     */
+    public record Received(Path file, long size, String sha256) {
+    }
+}
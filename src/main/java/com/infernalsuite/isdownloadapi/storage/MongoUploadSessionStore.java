@@ -0,0 +1,46 @@
+package com.infernalsuite.isdownloadapi.storage;
+
+import com.infernalsuite.isdownloadapi.database.model.UploadSessionState;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class MongoUploadSessionStore implements UploadSessionStore {
+    private final MongoOperations mongo;
+
+    public MongoUploadSessionStore(final MongoOperations mongo) {
+        this.mongo = mongo;
+    }
+
+    @Override
+    public void create(final UploadSessionState state) {
+        this.mongo.insert(state);
+    }
+
+    @Override
+    public Optional<UploadSessionState> find(final String id) {
+        return Optional.ofNullable(this.mongo.findById(id, UploadSessionState.class));
+    }
+
+    @Override
+    public void advance(final String id, final long offset, final Instant touched) {
+        // $max, a chunk finishing late on another instance must not move the offset back
+        this.mongo.updateFirst(query(where("_id").is(id)), new Update().max("offset", offset).max("touched", touched), UploadSessionState.class);
+    }
+
+    @Override
+    public void remove(final String id) {
+        this.mongo.remove(query(where("_id").is(id)), UploadSessionState.class);
+    }
+
+    @Override
+    public List<UploadSessionState> findAll() {
+        return this.mongo.findAll(UploadSessionState.class);
+    }
+}
@@ -0,0 +1,146 @@
+package com.infernalsuite.isdownloadapi.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A file uploaded in chunks, each continuing where the previous one stopped. The digest follows every byte written,
+ * so the hash of a complete upload is known without reading the file again, and a chunk cut off halfway keeps the
+ * bytes that did arrive.
+ */
+public final class UploadSession {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String id;
+    private final Path file;
+    private final long length;
+    private final MessageDigest digest = ArtifactStorage.sha256();
+    // one chunk at a time, a client retrying while its previous connection lingers is turned away
+    private final ReentrantLock appending = new ReentrantLock();
+    private volatile long offset;
+    private volatile Instant touched;
+
+    UploadSession(final String id, final Path file, final long length, final Instant now) {
+        this.id = id;
+        this.file = file;
+        this.length = length;
+        this.touched = now;
+    }
+
+    /**
+     * Takes over an upload another instance, or an earlier run of this one, made progress on. The bytes written so far
+     * are read once to bring the digest to where the upload stands.
+     */
+    static UploadSession resume(final String id, final Path file, final long length, final long offset, final Instant touched) throws IOException {
+        final UploadSession session = new UploadSession(id, file, length, touched);
+        try (final InputStream in = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            long left = offset;
+            while (left > 0) {
+                final int read = in.read(buffer, 0, (int) Math.min(buffer.length, left));
+                if (read < 0) {
+                    throw new EOFException("upload " + id + " is recorded at " + offset + " bytes, its file ends before");
+                }
+                session.digest.update(buffer, 0, read);
+                left -= read;
+            }
+        }
+        session.offset = offset;
+        return session;
+    }
+
+    public String id() {
+        return this.id;
+    }
+
+    public long length() {
+        return this.length;
+    }
+
+    public long offset() {
+        return this.offset;
+    }
+
+    public boolean isComplete() {
+        return this.offset == this.length;
+    }
+
+    Path file() {
+        return this.file;
+    }
+
+    Instant touched() {
+        return this.touched;
+    }
+
+    /**
+     * Writes a chunk at {@code offset}, stopping at the declared length.
+     *
+     * @return the offset after the chunk, or nothing if {@code offset} is not where the upload stands or another
+     * chunk is being written
+     * @throws IllegalArgumentException if the chunk goes past the declared length
+     */
+    public OptionalLong append(final InputStream in, final long offset, final Instant now) throws IOException {
+        if (!this.appending.tryLock()) {
+            return OptionalLong.empty();
+        }
+        try {
+            if (offset != this.offset) {
+                return OptionalLong.empty();
+            }
+            this.touched = now;
+            try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                final ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+                int read;
+                while (this.offset < this.length && (read = in.read(buffer, 0, (int) Math.min(buffer.length, this.length - this.offset))) >= 0) {
+                    wrapped.clear().limit(read);
+                    while (wrapped.hasRemaining()) {
+                        channel.write(wrapped, this.offset + wrapped.position());
+                    }
+                    // only bytes on disk count, so a resumed chunk starts right after them
+                    this.digest.update(buffer, 0, read);
+                    this.offset += read;
+                }
+            } finally {
+                this.touched = now;
+            }
+            if (this.offset == this.length && in.read() >= 0) {
+                throw new IllegalArgumentException("chunk goes past the declared length of " + this.length + " bytes");
+            }
+            return OptionalLong.of(this.offset);
+        } finally {
+            this.appending.unlock();
+        }
+    }
+
+    /**
+     * @return the lowercase hex digest of the complete file
+     * @throws IllegalStateException if the upload is not complete
+     */
+    public String sha256() {
+        this.appending.lock();
+        try {
+            if (!this.isComplete()) {
+                throw new IllegalStateException("upload " + this.id + " is at " + this.offset + " of " + this.length + " bytes");
+            }
+            // a clone, finishing the digest resets it
+            return HexFormat.of().formatHex(((MessageDigest) this.digest.clone()).digest());
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digests can be cloned on every Java platform", e);
+        } finally {
+            this.appending.unlock();
+        }
+    }
+}
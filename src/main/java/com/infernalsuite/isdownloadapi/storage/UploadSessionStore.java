@@ -0,0 +1,26 @@
+package com.infernalsuite.isdownloadapi.storage;
+
+import com.infernalsuite.isdownloadapi.database.model.UploadSessionState;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where the state of resumable uploads is kept, so that an upload can continue on any instance sharing the storage
+ * path, and after a restart.
+ */
+public interface UploadSessionStore {
+    void create(final UploadSessionState state);
+
+    Optional<UploadSessionState> find(final String id);
+
+    /**
+     * Records that an upload reached {@code offset}. Offsets only move forward.
+     */
+    void advance(final String id, final long offset, final Instant touched);
+
+    void remove(final String id);
+
+    List<UploadSessionState> findAll();
+}
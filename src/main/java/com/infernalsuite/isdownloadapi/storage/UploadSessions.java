@@ -0,0 +1,199 @@
+package com.infernalsuite.isdownloadapi.storage;
+
+import com.infernalsuite.isdownloadapi.database.model.UploadSessionState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The resumable uploads in progress. Each is backed by a sparse file of its declared length in the upload directory of
+ * the {@link ArtifactStorage}, and its state is kept in an {@link UploadSessionStore}, so that a chunk can land on any
+ * instance sharing the storage path, or arrive after a restart. An instance keeps the sessions it worked on with their
+ * running digest, and takes a session over from the store when another instance moved it further. A sweeper drops
+ * sessions idle for longer than the TTL together with files in the upload directory nobody claims.
+ */
+public class UploadSessions implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessions.class);
+    private final ArtifactStorage storage;
+    private final UploadSessionStore store;
+    private final Settings settings;
+    private final Clock clock;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+    private volatile boolean running;
+
+    public UploadSessions(final ArtifactStorage storage, final UploadSessionStore store, final Settings settings) {
+        this(storage, store, settings, Clock.systemUTC());
+    }
+
+    UploadSessions(final ArtifactStorage storage, final UploadSessionStore store, final Settings settings, final Clock clock) {
+        this.storage = storage;
+        this.store = store;
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void start() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "upload-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = this.settings.sweepInterval().toMillis();
+        this.sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        this.running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        this.running = false;
+        if (this.sweeper != null) {
+            this.sweeper.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code length} is negative or above the maximum file size
+     */
+    public UploadSession create(final long length) throws IOException {
+        if (length < 0 || length > this.settings.maxFileSize()) {
+            throw new IllegalArgumentException("upload length " + length + " outside of 0 to " + this.settings.maxFileSize());
+        }
+        final Path file = this.storage.temporary();
+        try (final RandomAccessFile sparse = new RandomAccessFile(file.toFile(), "rw")) {
+            // extends the file without writing, so the space is only taken as chunks arrive
+            sparse.setLength(length);
+        } catch (final IOException e) {
+            this.storage.discard(file);
+            throw e;
+        }
+        final UploadSession session = new UploadSession(UUID.randomUUID().toString().replace("-", ""), file, length, this.clock.instant());
+        try {
+            this.store.create(new UploadSessionState(session.id(), file.getFileName().toString(), length, 0, session.touched()));
+        } catch (final RuntimeException e) {
+            this.storage.discard(file);
+            throw e;
+        }
+        this.sessions.put(session.id(), session);
+        return session;
+    }
+
+    /**
+     * Finds an upload, taking it over if it is unknown here or another instance moved it further.
+     */
+    public Optional<UploadSession> find(final String id) throws IOException {
+        final Optional<UploadSessionState> state = this.store.find(id);
+        if (state.isEmpty()) {
+            this.sessions.remove(id);
+            return Optional.empty();
+        }
+        final UploadSession known = this.sessions.get(id);
+        // an offset ahead of the stored one is a chunk in progress here
+        if (known != null && known.offset() >= state.get().offset()) {
+            return Optional.of(known);
+        }
+        final UploadSessionState taken = state.get();
+        final UploadSession resumed = UploadSession.resume(taken._id(), this.storage.uploads().resolve(taken.file()), taken.length(), taken.offset(), taken.touched());
+        this.sessions.put(id, resumed);
+        return Optional.of(resumed);
+    }
+
+    /**
+     * Writes a chunk to an upload and records how far it got, including when the chunk is cut off.
+     *
+     * @see UploadSession#append
+     */
+    public OptionalLong append(final UploadSession session, final InputStream in, final long offset) throws IOException {
+        final Instant now = this.clock.instant();
+        try {
+            return session.append(in, offset, now);
+        } finally {
+            this.store.advance(session.id(), session.offset(), now);
+        }
+    }
+
+    public Instant expires(final UploadSession session) {
+        return session.touched().plus(this.settings.ttl());
+    }
+
+    /**
+     * Moves the file of a complete upload to its final path and ends the session.
+     */
+    public void place(final UploadSession session, final Path target) throws IOException {
+        this.storage.place(session.file(), target);
+        this.store.remove(session.id());
+        this.sessions.remove(session.id(), session);
+    }
+
+    public void remove(final UploadSession session) {
+        this.store.remove(session.id());
+        this.sessions.remove(session.id());
+        this.storage.discard(session.file());
+    }
+
+    void sweep() {
+        final Instant expired = this.clock.instant().minus(this.settings.ttl());
+        final List<UploadSessionState> states;
+        try {
+            states = this.store.findAll();
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not read upload sessions to sweep", e);
+            return;
+        }
+        for (final UploadSessionState state : states) {
+            if (state.touched().isBefore(expired)) {
+                LOGGER.info("Dropping upload {}, idle since {} at {} of {} bytes", state._id(), state.touched(), state.offset(), state.length());
+                this.store.remove(state._id());
+                this.storage.discard(this.storage.uploads().resolve(state.file()));
+            }
+        }
+        // sessions another instance took over, or this one swept, are read again from the store if they come back
+        this.sessions.values().removeIf(session -> session.touched().isBefore(expired));
+        final Set<Path> claimed = states.stream()
+                .filter(state -> !state.touched().isBefore(expired))
+                .map(state -> this.storage.uploads().resolve(state.file()))
+                .collect(Collectors.toSet());
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(this.storage.uploads())) {
+            for (final Path file : files) {
+                if (!claimed.contains(file) && Files.getLastModifiedTime(file).toInstant().isBefore(expired)) {
+                    this.storage.discard(file);
+                }
+            }
+        } catch (final NoSuchFileException ignored) {
+            // nothing was ever uploaded
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Could not sweep abandoned upload files", e);
+        }
+    }
+
+    public record Settings(Duration ttl, Duration sweepInterval, long maxFileSize) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size Bloom filter of strings, safe for concurrent use. {@link #mightContain(String)} never answers
+ * {@code false} for a string that was added, and answers {@code true} for others at about the configured rate.
+ */
+public final class BloomFilter {
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    public BloomFilter(final int expectedInsertions, final double falsePositiveRate) {
+        final double ln2 = Math.log(2);
+        final long optimalBits = (long) Math.ceil(-Math.max(1, expectedInsertions) * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.words = new AtomicLongArray((this.bits + Long.SIZE - 1) / Long.SIZE);
+        this.hashes = Math.max(1, (int) Math.round((double) this.bits / Math.max(1, expectedInsertions) * ln2));
+    }
+
+    public void add(final String value) {
+        final long hash = hash(value);
+        for (int i = 0; i < this.hashes; i++) {
+            final int bit = this.bit(hash, i);
+            this.words.getAndUpdate(bit / Long.SIZE, word -> word | (1L << bit));
+        }
+    }
+
+    public boolean mightContain(final String value) {
+        final long hash = hash(value);
+        for (int i = 0; i < this.hashes; i++) {
+            final int bit = this.bit(hash, i);
+            if ((this.words.get(bit / Long.SIZE) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // double hashing, deriving every index from the two halves of one 64-bit hash
+    private int bit(final long hash, final int i) {
+        return Math.floorMod((int) hash + i * (int) (hash >>> 32), this.bits);
+    }
+
+    // shared with the RateLimiter, which needs the same well spread 64 bits from its keys
+    static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        // FNV-1a spreads poorly over the high bits, finish with the murmur3 mixer
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
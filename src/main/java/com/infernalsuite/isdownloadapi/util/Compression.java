@@ -0,0 +1,69 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+public final class Compression {
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+    private static final boolean BROTLI_AVAILABLE = brotliAvailable();
+
+    private Compression() {
+    }
+
+    public static boolean isBrotliAvailable() {
+        return BROTLI_AVAILABLE;
+    }
+
+    public static byte[] gzip(final byte[] bytes) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2 + 64);
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Compresses with the given quality. Returns {@code null} when brotli is not available on this platform.
+     */
+    public static byte @Nullable [] brotli(final byte[] bytes, final int quality) {
+        if (!BROTLI_AVAILABLE) {
+            return null;
+        }
+        try {
+            return Encoder.compress(bytes, new Encoder.Parameters().setQuality(quality));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wraps {@code out} in a stream compressing with {@code encoding}, one of {@link #GZIP} or {@link #BROTLI}.
+     * Closing the returned stream finishes the compressed data and closes {@code out}.
+     */
+    public static OutputStream compressing(final OutputStream out, final String encoding, final int brotliQuality) throws IOException {
+        return switch (encoding) {
+            case GZIP -> new GZIPOutputStream(out, 8192, true);
+            case BROTLI -> new BrotliOutputStream(out, new Encoder.Parameters().setQuality(brotliQuality));
+            default -> throw new IllegalArgumentException("Unsupported encoding " + encoding);
+        };
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return Brotli4jLoader.isAvailable();
+        } catch (final LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.infernalsuite.isdownloadapi.util;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
@@ -12,6 +15,10 @@ import java.time.Duration;
 public final class HTTP {
     public static final String APPLICATION_JAVA_ARCHIVE_VALUE = "application/java-archive";
     public static final MediaType APPLICATION_JAVA_ARCHIVE = new MediaType("application", "java-archive");
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final String APPLICATION_MSGPACK_VALUE = "application/msgpack";
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
 
     private HTTP() {
     }
@@ -26,6 +33,64 @@ public final class HTTP {
                 .sMaxAge(sMaxAge);
     }
 
+    /**
+     * Adds request headers to the {@code Vary} of a response, leaving out those it already names.
+     */
+    public static void vary(final HttpServletResponse response, final String... headers) {
+        for (final String header : headers) {
+            if (!varies(response, header)) {
+                response.addHeader(HttpHeaders.VARY, header);
+            }
+        }
+    }
+
+    private static boolean varies(final HttpServletResponse response, final String header) {
+        for (final String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (final String named : vary.split(",")) {
+                if (named.trim().equalsIgnoreCase(header) || named.trim().equals("*")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether an {@code Accept-Encoding} header accepts the encoding, honouring {@code q=0} and {@code *}.
+     */
+    public static boolean acceptsEncoding(final @Nullable String acceptEncoding, final String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (final String part : acceptEncoding.split(",")) {
+            final String[] parameters = part.split(";");
+            final String coding = parameters[0].trim();
+            final boolean accepted = !isZeroQuality(parameters);
+            if (coding.equalsIgnoreCase(encoding)) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    private static boolean isZeroQuality(final String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
     public static ContentDisposition attachmentDisposition(final Path filename) {
         return ContentDisposition.attachment().filename(filename.getFileName().toString(), StandardCharsets.UTF_8).build();
     }
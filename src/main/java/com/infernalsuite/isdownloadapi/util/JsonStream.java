@@ -0,0 +1,77 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes JSON responses element by element straight to the servlet output, so that the memory used by a
+ * request does not grow with the number of elements in a listing. The document is encoded in the
+ * {@link ResponseFormat} the request accepts.
+ */
+public final class JsonStream {
+    private JsonStream() {
+    }
+
+    public static void write(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final ResponseFormat.Mappers mappers,
+            final CacheControl cache,
+            final Body body
+    ) throws IOException {
+        // the etag filter would otherwise buffer the whole response to hash it
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        response.setStatus(HttpServletResponse.SC_OK);
+        final ResponseFormat format = ResponseFormat.of(request);
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cache.getHeaderValue());
+        try (final JsonGenerator generator = mappers.get(format).createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            body.write(generator);
+        }
+    }
+
+    /**
+     * Writes {@code elements} as an array field, stopping after {@code limit} elements if it is positive.
+     *
+     * @return the last written element if more elements were available past the limit, otherwise {@code null}
+     */
+    public static <T> @Nullable T writeArrayField(
+            final JsonGenerator generator,
+            final String field,
+            final Stream<T> elements,
+            final int limit,
+            final Function<T, ?> mapper
+    ) throws IOException {
+        generator.writeArrayFieldStart(field);
+        final Iterator<T> iterator = elements.iterator();
+        T last = null;
+        int written = 0;
+        while (iterator.hasNext()) {
+            if (limit > 0 && written == limit) {
+                generator.writeEndArray();
+                return last;
+            }
+            last = iterator.next();
+            generator.writeObject(mapper.apply(last));
+            written++;
+        }
+        generator.writeEndArray();
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void write(final JsonGenerator generator) throws IOException;
+    }
+}
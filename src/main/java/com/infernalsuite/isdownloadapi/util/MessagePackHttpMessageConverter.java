@@ -0,0 +1,17 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+/**
+ * Reads and writes MessagePack with an object mapper backed by a {@link MessagePackFactory}, the counterpart of
+ * the CBOR and Smile converters Spring ships with.
+ */
+public final class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    public MessagePackHttpMessageConverter(final ObjectMapper mapper) {
+        super(mapper, HTTP.APPLICATION_MSGPACK);
+        Assert.isInstanceOf(MessagePackFactory.class, mapper.getFactory(), "MessagePackFactory required");
+    }
+}
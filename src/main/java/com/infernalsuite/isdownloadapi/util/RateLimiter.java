@@ -0,0 +1,145 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of clients, kept with the generic cell rate algorithm as one theoretical arrival time per bucket in
+ * fixed size shards of slots, so acquiring never locks or allocates and memory stays bounded however many clients
+ * show up. A bucket that finds no slot of its own near its hash takes over the one closest to being full again,
+ * which at worst forgets the recent requests of another client.
+ */
+public final class RateLimiter {
+    public static final int MAX_SHARDS = 1 << 10;
+    public static final int MAX_SLOTS_PER_SHARD = 1 << 20;
+    // a slot packs a 24-bit fingerprint of its key above the arrival time in milliseconds since the limiter started,
+    // which lasts for 34 years; the slot index takes the low 20 bits of the hash and the shard the 10 above them
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final int SHARD_SHIFT = 20;
+    private static final int PROBES = 4;
+
+    private final AtomicLongArray[] shards;
+    private final int shardMask;
+    private final int slotMask;
+    private final LongSupplier clock;
+
+    public RateLimiter(final int shards, final int slotsPerShard) {
+        this(shards, slotsPerShard, monotonicMillis());
+    }
+
+    /**
+     * @param clock a monotonic clock in milliseconds, starting at or above zero
+     */
+    public RateLimiter(final int shards, final int slotsPerShard, final LongSupplier clock) {
+        final int shardCount = powerOfTwo(shards, MAX_SHARDS);
+        final int slotCount = powerOfTwo(slotsPerShard, MAX_SLOTS_PER_SHARD);
+        this.shards = new AtomicLongArray[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new AtomicLongArray(slotCount);
+        }
+        this.shardMask = shardCount - 1;
+        this.slotMask = slotCount - 1;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the bucket of a client in a group, if the limit allows it.
+     *
+     * @return the backlog of the bucket in milliseconds including this request, to be read with the {@link Limit};
+     * nothing is taken when the limit does not allow it
+     */
+    public long acquire(final String client, final int group, final Limit limit) {
+        long hash = BloomFilter.hash(client) ^ (group * 0x9e3779b97f4a7c15L);
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        final AtomicLongArray shard = this.shards[(int) (hash >>> SHARD_SHIFT) & this.shardMask];
+        final long fingerprint = (hash >>> TIME_BITS) | 1;
+        final int start = (int) hash & this.slotMask;
+        final long now = this.clock.getAsLong();
+        while (true) {
+            int slot = -1;
+            long current = 0;
+            long earliest = Long.MAX_VALUE;
+            for (int probe = 0; probe < PROBES; probe++) {
+                final int index = (start + probe) & this.slotMask;
+                final long value = shard.get(index);
+                if ((value >>> TIME_BITS) == fingerprint) {
+                    slot = index;
+                    current = value;
+                    earliest = -1;
+                    break;
+                }
+                // empty slots and buckets that have filled up again are due earliest, so they are taken first
+                if ((value & TIME_MASK) < earliest) {
+                    slot = index;
+                    current = value;
+                    earliest = value & TIME_MASK;
+                }
+            }
+            final long arrival = earliest < 0 ? Math.max(current & TIME_MASK, now) : now;
+            final long backlog = arrival + limit.interval() - now;
+            if (!limit.allows(backlog)) {
+                return backlog;
+            }
+            if (shard.compareAndSet(slot, current, (fingerprint << TIME_BITS) | (now + backlog))) {
+                return backlog;
+            }
+        }
+    }
+
+    private static int powerOfTwo(final int value, final int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException("expected 1 to " + max + ", got " + value);
+        }
+        return Integer.highestOneBit(value) == value ? value : Integer.highestOneBit(value) << 1;
+    }
+
+    private static LongSupplier monotonicMillis() {
+        final long origin = System.nanoTime();
+        return () -> (System.nanoTime() - origin) / 1_000_000;
+    }
+
+    /**
+     * A number of requests per period, replenished evenly; the whole period's worth may be used in a burst.
+     *
+     * @param interval the milliseconds it takes to replenish one request
+     * @param period   the milliseconds it takes to replenish all of them
+     */
+    public record Limit(long interval, long period) {
+        public static Limit of(final int requests, final Duration period) {
+            final long interval = period.toMillis() / requests;
+            if (interval < 1) {
+                throw new IllegalArgumentException("more than one request per millisecond: " + requests + " per " + period);
+            }
+            return new Limit(interval, interval * requests);
+        }
+
+        public long requests() {
+            return this.period / this.interval;
+        }
+
+        public boolean allows(final long backlog) {
+            return backlog <= this.period;
+        }
+
+        public long remaining(final long backlog) {
+            return this.allows(backlog) ? (this.period - backlog) / this.interval : 0;
+        }
+
+        /**
+         * @return the milliseconds until the bucket is full again
+         */
+        public long reset(final long backlog) {
+            return this.allows(backlog) ? backlog : backlog - this.interval;
+        }
+
+        /**
+         * @return the milliseconds until the next request is allowed
+         */
+        public long retryAfter(final long backlog) {
+            return Math.max(0, backlog - this.period);
+        }
+    }
+}
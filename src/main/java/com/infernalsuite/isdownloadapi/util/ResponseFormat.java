@@ -0,0 +1,93 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The encodings read endpoints can answer in. Every format writes the same documents as JSON, only the wire
+ * encoding differs.
+ */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(MediaType.APPLICATION_CBOR, CBORFactory::new),
+    SMILE(HTTP.APPLICATION_SMILE, SmileFactory::new),
+    MSGPACK(HTTP.APPLICATION_MSGPACK, MessagePackFactory::new);
+
+    private final MediaType mediaType;
+    private final @Nullable Supplier<JsonFactory> factory;
+
+    ResponseFormat(final MediaType mediaType, final @Nullable Supplier<JsonFactory> factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType mediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * Picks the format of the most preferred media type in the request's {@code Accept} header, falling back to
+     * JSON when the header is missing, malformed or names none of the formats.
+     */
+    public static ResponseFormat of(final HttpServletRequest request) {
+        return of(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    public static ResponseFormat of(final @Nullable String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        final List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (final InvalidMediaTypeException e) {
+            return JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (final MediaType type : accepted) {
+            if (type.getQualityValue() <= 0) {
+                break;
+            }
+            // wildcards resolve to the first listed format, which is JSON
+            for (final ResponseFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Copies of an object mapper for every format, sharing its configuration and modules so that the documents
+     * keep the same shape whatever the encoding.
+     */
+    public static final class Mappers {
+        private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+
+        public Mappers(final ObjectMapper json) {
+            for (final ResponseFormat format : values()) {
+                this.mappers.put(format, format.factory == null ? json : json.copyWith(format.factory.get()));
+            }
+        }
+
+        public ObjectMapper get(final ResponseFormat format) {
+            return this.mappers.get(format);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Packs names matching {@link com.infernalsuite.isdownloadapi.database.model.Version#PATTERN} into a single
+ * {@code long} whose natural ordering is the semantic ordering of the names.
+ *
+ * <p>Layout, from the most significant bit: four 12-bit numeric components, a 2-bit qualifier rank
+ * ({@code SNAPSHOT} &lt; {@code pre} &lt; release) and a 13-bit qualifier number. Components beyond the fourth
+ * are ignored and oversized values are clamped, so {@code 1.9 < 1.10 < 1.10.1-SNAPSHOT < 1.10.1-pre2 < 1.10.1}.</p>
+ */
+public final class SemanticVersion {
+    private static final int COMPONENTS = 4;
+    private static final int COMPONENT_BITS = 12;
+    private static final int RANK_BITS = 2;
+    private static final int QUALIFIER_BITS = 13;
+    private static final int COMPONENT_MAX = (1 << COMPONENT_BITS) - 1;
+    private static final int QUALIFIER_MAX = (1 << QUALIFIER_BITS) - 1;
+
+    private static final int RANK_SNAPSHOT = 1;
+    private static final int RANK_PRE = 2;
+    private static final int RANK_RELEASE = 3;
+
+    private SemanticVersion() {
+    }
+
+    /**
+     * Computes the sort key of a version name. A {@code null} name has the key {@code 0}, which sorts before
+     * any other name.
+     */
+    public static long sortKey(final @Nullable CharSequence name) {
+        if (name == null) {
+            return 0;
+        }
+        final int length = name.length();
+        long key = 0;
+        int component = 0;
+        int value = 0;
+        int i = 0;
+        for (; i < length; i++) {
+            final char c = name.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = Math.min(value * 10 + (c - '0'), COMPONENT_MAX);
+            } else if (c == '.') {
+                if (component < COMPONENTS) {
+                    key = pushComponent(key, component++, value);
+                }
+                value = 0;
+            } else {
+                break;
+            }
+        }
+        if (component < COMPONENTS) {
+            key = pushComponent(key, component, value);
+        }
+
+        if (i < length && name.charAt(i) == '-') {
+            i++;
+        }
+        int rank = RANK_RELEASE;
+        if (name.length() - i >= 3 && regionMatches(name, i, "pre")) {
+            rank = RANK_PRE;
+            i += 3;
+        } else if (name.length() - i >= 8 && regionMatches(name, i, "SNAPSHOT")) {
+            rank = RANK_SNAPSHOT;
+            i += 8;
+        }
+
+        if (i < length && name.charAt(i) == '.') {
+            i++;
+        }
+        int qualifier = 0;
+        for (; i < length; i++) {
+            final char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            qualifier = Math.min(qualifier * 10 + (c - '0'), QUALIFIER_MAX);
+        }
+        return key | ((long) rank << QUALIFIER_BITS) | qualifier;
+    }
+
+    private static long pushComponent(final long key, final int index, final int value) {
+        final int shift = RANK_BITS + QUALIFIER_BITS + (COMPONENTS - 1 - index) * COMPONENT_BITS;
+        return key | ((long) value << shift);
+    }
+
+    private static boolean regionMatches(final CharSequence name, final int offset, final String expected) {
+        for (int j = 0; j < expected.length(); j++) {
+            if (name.charAt(offset + j) != expected.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.infernalsuite.isdownloadapi.exception.LookupTimedOut;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share one computation. The first caller computes the value on
+ * its own thread and gets back a completed future, or the exception. Callers arriving meanwhile get a future of
+ * the same value or exception without blocking, meant to be returned as an async result so that they hold no
+ * thread while the computation runs. Their futures fail with {@link LookupTimedOut} after the timeout, the
+ * computation itself is bounded by whatever it calls.
+ */
+public final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Executor timeouts;
+
+    public SingleFlight(final Duration timeout) {
+        this.timeouts = CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public CompletableFuture<V> get(final K key, final Supplier<? extends V> loader) {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existing = this.flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            return this.await(existing);
+        }
+        try {
+            final V value = loader.get();
+            flight.complete(value);
+            return flight;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.flights.remove(key, flight);
+        }
+    }
+
+    private CompletableFuture<V> await(final CompletableFuture<V> flight) {
+        final CompletableFuture<V> waiter = new CompletableFuture<>();
+        flight.whenComplete((value, failure) -> {
+            if (failure == null) {
+                waiter.complete(value);
+            } else {
+                waiter.completeExceptionally(failure);
+            }
+        });
+        // a waiter giving up leaves the flight to the others
+        this.timeouts.execute(() -> waiter.completeExceptionally(new LookupTimedOut()));
+        return waiter;
+    }
+}
@@ -0,0 +1,5 @@
+package com.infernalsuite.isdownloadapi.util;
+
+public interface SortKeySource {
+    long sortKey();
+}
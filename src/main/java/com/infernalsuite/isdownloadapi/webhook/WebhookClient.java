@@ -0,0 +1,90 @@
+package com.infernalsuite.isdownloadapi.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infernalsuite.isdownloadapi.database.model.WebhookDelivery;
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import com.infernalsuite.isdownloadapi.feed.FeedEvent;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Posts a batch of deliveries to a subscription as {@code {"events": [...]}}, in the same shape as the feed events.
+ * With a secret, the body is signed with HMAC-SHA256 in the {@value #SIGNATURE} header.
+ */
+public class WebhookClient {
+    public static final String SIGNATURE = "X-Webhook-Signature";
+    public static final String DELIVERY = "X-Webhook-Delivery";
+    private static final String HMAC = "HmacSHA256";
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final Duration timeout;
+
+    public WebhookClient(final ObjectMapper json, final Duration timeout) {
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.json = json;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sends the deliveries, returning {@code null} when the endpoint accepted them or else why it did not.
+     */
+    public @Nullable String send(final WebhookSubscription subscription, final List<WebhookDelivery> deliveries) {
+        final byte[] body;
+        try {
+            body = this.json.writeValueAsBytes(new Payload(deliveries.stream().map(WebhookClient::event).toList()));
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(subscription.url()))
+                .timeout(this.timeout)
+                .header("Content-Type", "application/json")
+                .header(DELIVERY, deliveries.get(0)._id().toHexString())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (subscription.secret() != null) {
+            request.header(SIGNATURE, "sha256=" + sign(subscription.secret(), body));
+        }
+        try {
+            final HttpResponse<Void> response = this.http.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            final int status = response.statusCode();
+            return status >= 200 && status < 300 ? null : "HTTP " + status;
+        } catch (final IOException | IllegalArgumentException e) {
+            return e.toString();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    static String sign(final String secret, final byte[] body) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC));
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FeedEvent event(final WebhookDelivery delivery) {
+        return new FeedEvent(Long.toString(delivery.sequence()), delivery.project(), delivery.version(), delivery.build(), delivery.channel(), delivery.time());
+    }
+
+    private record Payload(List<FeedEvent> events) {
+    }
+}
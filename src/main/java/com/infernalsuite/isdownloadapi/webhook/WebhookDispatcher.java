@@ -0,0 +1,205 @@
+package com.infernalsuite.isdownloadapi.webhook;
+
+import com.infernalsuite.isdownloadapi.database.model.WebhookDelivery;
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import org.bson.types.ObjectId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Sends the outbox. A single poller finds subscriptions with due deliveries and leases them, so each endpoint is served
+ * by one worker on one node at a time and sees its builds in order; a bounded pool delivers to different endpoints in
+ * parallel, in batches. A failed batch is retried with exponential backoff, holding back later deliveries to the same
+ * endpoint, and is marked dead after the last attempt.
+ */
+public class WebhookDispatcher implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookDispatcher.class);
+    private final MongoOperations mongo;
+    private final WebhookClient client;
+    private final Settings settings;
+    private final String owner = UUID.randomUUID().toString();
+    private final Set<ObjectId> inFlight = ConcurrentHashMap.newKeySet();
+    private @Nullable ScheduledExecutorService poller;
+    private @Nullable ExecutorService workers;
+    private volatile boolean running;
+
+    public WebhookDispatcher(final MongoOperations mongo, final WebhookClient client, final Settings settings) {
+        this.mongo = mongo;
+        this.client = client;
+        this.settings = settings;
+    }
+
+    @Override
+    public synchronized void start() {
+        this.workers = Executors.newFixedThreadPool(this.settings.workers(), runnable -> daemon(runnable, "webhook-worker"));
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "webhook-poller"));
+        this.poller.scheduleWithFixedDelay(this::poll, 0, this.settings.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        this.running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        this.running = false;
+        if (this.poller != null) {
+            this.poller.shutdownNow();
+        }
+        if (this.workers != null) {
+            this.workers.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private static Thread daemon(final Runnable runnable, final String name) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void poll() {
+        try {
+            final Instant now = Instant.now();
+            final List<ObjectId> due = this.mongo.findDistinct(
+                    query(where("dead").is(false).and("nextAttempt").lte(now)),
+                    "subscription",
+                    WebhookDelivery.class,
+                    ObjectId.class
+            );
+            for (final ObjectId subscription : due) {
+                // never queue more endpoints than the workers can take on
+                if (this.inFlight.size() >= this.settings.workers()) {
+                    return;
+                }
+                if (!this.inFlight.add(subscription)) {
+                    continue;
+                }
+                final WebhookSubscription leased = this.lease(subscription, now);
+                if (leased == null) {
+                    this.inFlight.remove(subscription);
+                    continue;
+                }
+                this.workers.execute(() -> {
+                    try {
+                        this.drain(leased);
+                    } catch (final RuntimeException e) {
+                        LOGGER.warn("Failed to deliver webhooks to {}", leased.url(), e);
+                    } finally {
+                        this.release(subscription);
+                        this.inFlight.remove(subscription);
+                    }
+                });
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to poll the webhook outbox", e);
+        }
+    }
+
+    private @Nullable WebhookSubscription lease(final ObjectId subscription, final Instant now) {
+        final Query query = query(where("_id").is(subscription).and("enabled").is(true)
+                .orOperator(where("leaseUntil").is(null), where("leaseUntil").lt(now)));
+        final Update update = new Update()
+                .set("leaseOwner", this.owner)
+                .set("leaseUntil", now.plus(this.settings.lease()));
+        return this.mongo.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), WebhookSubscription.class);
+    }
+
+    private void renew(final ObjectId subscription) {
+        this.mongo.updateFirst(
+                query(where("_id").is(subscription).and("leaseOwner").is(this.owner)),
+                new Update().set("leaseUntil", Instant.now().plus(this.settings.lease())),
+                WebhookSubscription.class
+        );
+    }
+
+    private void release(final ObjectId subscription) {
+        this.mongo.updateFirst(
+                query(where("_id").is(subscription).and("leaseOwner").is(this.owner)),
+                new Update().unset("leaseOwner").unset("leaseUntil"),
+                WebhookSubscription.class
+        );
+    }
+
+    private void drain(final WebhookSubscription subscription) {
+        while (this.running) {
+            final List<WebhookDelivery> batch = this.mongo.find(
+                    query(pending(subscription._id())).with(Sort.by("sequence", "_id")).limit(this.settings.batchSize()),
+                    WebhookDelivery.class
+            );
+            if (batch.isEmpty()) {
+                return;
+            }
+            final Instant now = Instant.now();
+            // the oldest delivery is backing off; sending newer ones first would break the order
+            if (batch.get(0).nextAttempt().isAfter(now)) {
+                return;
+            }
+            final List<ObjectId> ids = batch.stream().map(WebhookDelivery::_id).toList();
+            final String error = this.client.send(subscription, batch);
+            if (error == null) {
+                this.mongo.remove(query(where("_id").in(ids)), WebhookDelivery.class);
+                this.renew(subscription._id());
+                continue;
+            }
+            final int attempts = batch.get(0).attempts() + 1;
+            final Update update = new Update().set("attempts", attempts).set("lastError", error);
+            if (attempts >= this.settings.maxAttempts()) {
+                LOGGER.warn("Giving up on {} webhook deliveries to {}: {}", ids.size(), subscription.url(), error);
+                update.set("dead", true);
+            } else {
+                update.set("nextAttempt", now.plus(this.backoff(attempts)));
+            }
+            this.mongo.updateMulti(query(where("_id").in(ids)), update, WebhookDelivery.class);
+            return;
+        }
+    }
+
+    private static Criteria pending(final ObjectId subscription) {
+        return where("subscription").is(subscription).and("dead").is(false);
+    }
+
+    private Duration backoff(final int attempts) {
+        final long base = this.settings.backoff().toMillis();
+        final long exponential = base << Math.min(attempts - 1, 20);
+        final long capped = Math.min(exponential, this.settings.maxBackoff().toMillis());
+        // spread retries so endpoints that fail together do not retry together
+        final long jitter = ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+        return Duration.ofMillis(capped - capped / 10 + jitter);
+    }
+
+    public record Settings(
+            int workers,
+            int batchSize,
+            int maxAttempts,
+            Duration pollInterval,
+            Duration lease,
+            Duration backoff,
+            Duration maxBackoff
+    ) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.infernalsuite.isdownloadapi.webhook;
+
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import com.infernalsuite.isdownloadapi.database.model.WebhookDelivery;
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookDeliveryCollection;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookSubscriptionCollection;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records the notifications a new build owes, for the {@link WebhookDispatcher} to send later. Enqueueing is a couple
+ * of local writes, so uploads never wait on subscribers.
+ */
+public class WebhookOutbox {
+    private final WebhookSubscriptionCollection subscriptions;
+    private final WebhookDeliveryCollection deliveries;
+
+    public WebhookOutbox(final WebhookSubscriptionCollection subscriptions, final WebhookDeliveryCollection deliveries) {
+        this.subscriptions = subscriptions;
+        this.deliveries = deliveries;
+    }
+
+    public int enqueue(final BuildView view) {
+        final Instant now = Instant.now();
+        final List<WebhookDelivery> pending = this.subscriptions.findAllByEnabledTrue().stream()
+                .filter(subscription -> subscription.matches(view.project(), view.channel()))
+                .map(subscription -> WebhookDelivery.of(subscription, view, now))
+                .toList();
+        if (!pending.isEmpty()) {
+            this.deliveries.insert(pending);
+        }
+        return pending.size();
+    }
+
+    public void remove(final WebhookSubscription subscription) {
+        this.deliveries.deleteAllBySubscription(subscription._id());
+        this.subscriptions.delete(subscription);
+    }
+}
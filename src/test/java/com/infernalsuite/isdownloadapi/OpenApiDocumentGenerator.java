@@ -0,0 +1,50 @@
+package com.infernalsuite.isdownloadapi;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Writes the OpenAPI document springdoc produces for the application, so that it can be served as is at runtime.
+ * Run through the {@code generateOpenApi} task rather than with the other tests.
+ */
+@SpringBootTest(properties = {
+        "springdoc.api-docs.enabled=true",
+        "springdoc.writer-with-order-by-keys=true",
+        "spring.data.mongodb.uri=mongodb://127.0.0.1:1/library",
+        "app.indexes.migrate=false",
+        "app.indexes.verify=false",
+        "app.webhooks.enabled=false"
+})
+@AutoConfigureMockMvc
+@Tag("openapi")
+class OpenApiDocumentGenerator {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void generate() throws Exception {
+        final Path output = Path.of(System.getProperty("openapi.output", "build/generated/openapi"));
+        Files.createDirectories(output);
+        this.write(output.resolve("openapi.json"), "/openapi");
+        this.write(output.resolve("openapi.yaml"), "/openapi.yaml");
+    }
+
+    private void write(final Path file, final String path) throws Exception {
+        final byte[] document = this.mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        Files.write(file, document);
+    }
+}
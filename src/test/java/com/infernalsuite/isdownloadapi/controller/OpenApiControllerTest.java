@@ -0,0 +1,38 @@
+package com.infernalsuite.isdownloadapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebMvcTest(value = OpenApiController.class)
+class OpenApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void givenGeneratedDocument_whenGetOpenApi_returnItWithEtag() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/openapi")).andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        JSONAssert.assertEquals("{\"info\":{\"title\":\"ISDownload API\"}}", result.getResponse().getContentAsString(), false);
+    }
+
+    @Test
+    public void givenMatchingEtag_whenGetOpenApiYaml_returnNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/openapi.yaml")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/openapi.yaml").header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        assertEquals(304, result.getResponse().getStatus());
+        assertEquals(0, result.getResponse().getContentLength());
+    }
+}
@@ -0,0 +1,131 @@
+package com.infernalsuite.isdownloadapi.controller.v1;
+
+import com.infernalsuite.isdownloadapi.database.model.Artifact;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import org.bson.types.ObjectId;
+import org.json.JSONStringer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebMvcTest(value = BatchLatestController.class)
+class BatchLatestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProjectCollection projectCollection;
+    @MockBean
+    private LatestCollection latestCollection;
+    @MockBean
+    private VersionCollection versionCollection;
+    @MockBean
+    private BuildCollection buildCollection;
+    @MockBean
+    private ArtifactCollection artifactCollection;
+
+    @Test
+    void givenProjectsAndVersions_whenGetBatchLatest_returnLatestOfEach() throws Exception {
+
+        ObjectId alphaId = new ObjectId();
+        ObjectId betaId = new ObjectId();
+        ObjectId alphaVersionId = new ObjectId();
+        ObjectId betaVersionId = new ObjectId();
+        ObjectId alphaBuildId = new ObjectId();
+        ObjectId betaBuildId = new ObjectId();
+
+        Instant now = Instant.now();
+
+        Project alpha = new Project(alphaId, "alpha", "Alpha");
+        Project beta = new Project(betaId, "beta", "Beta");
+        Version alphaVersion = new Version(alphaVersionId, alphaId, new ObjectId(), "1.20.4", null);
+        Version betaVersion = new Version(betaVersionId, betaId, new ObjectId(), "1.20.2", null);
+        Build alphaBuild = new Build(alphaBuildId, alphaId, alphaVersionId, 7, now, List.of(), Build.Channel.STABLE);
+        Artifact alphaArtifact = new Artifact(new ObjectId(), alphaId, alphaVersionId, alphaBuildId, "server", Map.of("normal", new Artifact.Download("1", "1")));
+        // alpha's pointer predates snapshots, beta's is answered from its snapshot alone
+        Latest alphaLatest = new Latest(new ObjectId(), alphaId, alphaVersionId, alphaBuildId);
+        Latest betaLatest = new Latest(new ObjectId(), betaId, betaVersionId, betaBuildId, Latest.Scope.VERSION, Latest.key(betaVersionId, null), now, 3,
+                new Latest.Snapshot("beta", "Beta", "1.20.2", Build.Channel.STABLE, List.of()));
+
+        Mockito.when(projectCollection.findAllByNameIn(Mockito.anyCollection())).thenReturn(List.of(alpha, beta));
+        Mockito.when(versionCollection.findAllByProjectInAndNameIn(Mockito.anyCollection(), Mockito.anyCollection())).thenReturn(List.of(betaVersion));
+        Mockito.when(latestCollection.findAllByProjectInAndScopeInAndKeyIn(Mockito.anyCollection(), Mockito.anyCollection(), Mockito.anyCollection())).thenReturn(List.of(alphaLatest, betaLatest));
+        Mockito.when(buildCollection.findAllById(Mockito.anyIterable())).thenReturn(List.of(alphaBuild));
+        Mockito.when(versionCollection.findAllById(Mockito.anyIterable())).thenReturn(List.of(alphaVersion));
+        Mockito.when(artifactCollection.findAllByProjectInAndVersionInAndBuildIn(Mockito.anyCollection(), Mockito.anyCollection(), Mockito.anyCollection())).thenReturn(List.of(alphaArtifact));
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/latest?project=alpha&project=beta:1.20.2&project=gamma");
+        MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("latest").array()
+                .object()
+                .key("project_id").value("alpha")
+                .key("project_name").value("Alpha")
+                .key("version").value("1.20.4")
+                .key("build").value(7)
+                .key("channel").value("stable")
+                .key("artifacts").array()
+                .object()
+                .key("name").value("server")
+                .key("downloads").object()
+                .key("normal").object().key("name").value("1").key("sha256").value("1").endObject()
+                .endObject()
+                .endObject()
+                .endArray()
+                .endObject()
+                .object()
+                .key("project_id").value("beta")
+                .key("project_name").value("Beta")
+                .key("version").value("1.20.2")
+                .key("build").value(3)
+                .key("channel").value("stable")
+                .key("artifacts").array().endArray()
+                .endObject()
+                .endArray()
+                .key("not_found").array().value("gamma").endArray()
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), true);
+        Mockito.verify(projectCollection, Mockito.never()).findByName(Mockito.any());
+        Mockito.verify(latestCollection).findAllByProjectInAndScopeInAndKeyIn(
+                Set.of(alphaId, betaId), Set.of(Latest.Scope.PROJECT, Latest.Scope.VERSION), Set.of("", Latest.key(betaVersionId, null)));
+        Mockito.verify(buildCollection).findAllById(Set.of(alphaBuildId));
+    }
+
+    @Test
+    void givenTooManyTargets_whenGetBatchLatest_returnBadRequest() throws Exception {
+        StringBuilder query = new StringBuilder("/v1/latest?project=a");
+        for (int i = 0; i < 50; i++) {
+            query.append("&project=p").append((char) ('a' + i % 26)).append((char) ('a' + i / 26));
+        }
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(query.toString())).andReturn();
+
+        assertEquals(400, result.getResponse().getStatus());
+    }
+}
@@ -6,6 +6,7 @@ import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import org.bson.types.ObjectId;
@@ -40,6 +41,8 @@ class BuildArtifactControllerTest {
     private BuildCollection buildCollection;
     @MockBean
     private ArtifactCollection artifactCollection;
+    @MockBean
+    private BuildViewCollection buildViewCollection;
 
     @Test
     void givenArtifactAnd_whenGetArtifact_returnArtifact() throws Exception {
@@ -6,6 +6,7 @@ import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import org.bson.types.ObjectId;
@@ -42,6 +43,8 @@ class BuildArtifactsControllerTest {
     private BuildCollection buildCollection;
     @MockBean
     private ArtifactCollection artifactCollection;
+    @MockBean
+    private BuildViewCollection buildViewCollection;
 
     @Test
     void givenListOfArtifactsAndABuild_whenGetArtifactsFromBuild_returnArtifacts() throws Exception {
@@ -0,0 +1,85 @@
+package com.infernalsuite.isdownloadapi.controller.v1;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.feed.BuildFeed;
+import com.infernalsuite.isdownloadapi.feed.FeedEvent;
+import org.bson.types.ObjectId;
+import org.json.JSONStringer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebMvcTest(value = FeedController.class)
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BuildFeed feed;
+
+    @Test
+    void givenMissedBuild_whenPollAfter_returnMissedBuildAtOnce() throws Exception {
+
+        Instant now = Instant.parse("2023-10-18T12:00:00Z");
+        FeedEvent event = new FeedEvent("42", "project", "1.20.2", 10, Build.Channel.STABLE, now);
+
+        Mockito.when(this.feed.after(Set.of("project"), null, 41)).thenReturn(new BuildFeed.Replay(List.of(event), false));
+
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get("/v1/feed/poll?project=project&after=41")).andReturn();
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started)).andReturn();
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("events").array()
+                .object()
+                .key("id").value("42")
+                .key("project").value("project")
+                .key("version").value("1.20.2")
+                .key("build").value(10)
+                .key("channel").value("stable")
+                .endObject()
+                .endArray()
+                .key("last_event_id").value("42")
+                .key("truncated").value(false)
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), false);
+        Mockito.verify(this.feed).subscribe(ArgumentMatchers.any());
+    }
+
+    @Test
+    void givenBuildIdCursor_whenPoll_returnTruncatedAtOnce() throws Exception {
+        String after = new ObjectId().toHexString();
+
+        MvcResult started = mockMvc.perform(MockMvcRequestBuilders.get("/v1/feed/poll?project=project&after=" + after)).andReturn();
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started)).andReturn();
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("events").array().endArray()
+                .key("last_event_id").value(after)
+                .key("truncated").value(true)
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), false);
+        Mockito.verify(this.feed, Mockito.never()).after(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void givenInvalidCursor_whenPoll_returnBadRequest() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/feed/poll?project=project&after=nope")).andReturn();
+
+        assertEquals(400, result.getResponse().getStatus());
+    }
+}
@@ -1,15 +1,19 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infernalsuite.isdownloadapi.database.model.*;
 import com.infernalsuite.isdownloadapi.database.repository.*;
 import org.bson.types.ObjectId;
 import org.json.JSONStringer;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
@@ -38,6 +42,8 @@ class LatestControllerTest {
     private ArtifactCollection artifactCollection;
     @MockBean
     private LatestCollection latestCollection;
+    @MockBean
+    private VersionFamilyCollection versionFamilyCollection;
 
     @Test
     void givenProjectId_whenGetLatestVersion_returnLatestVersion() throws Exception {
@@ -67,9 +73,9 @@ class LatestControllerTest {
         Latest latest = new Latest(latestId, projectId, versionId, buildId);
 
         Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
-        Mockito.when(latestCollection.findByProject(projectId)).thenReturn(Optional.of(latest));
-        Mockito.when(versionCollection.findById(latest.version())).thenReturn(Optional.of(version));
-        Mockito.when(buildCollection.findById(latest.build())).thenReturn(Optional.of(build));
+        Mockito.when(latestCollection.findByProjectAndScopeAndKey(projectId, Latest.Scope.PROJECT, "")).thenReturn(Optional.of(latest));
+        Mockito.when(versionCollection.findOneById(latest.version())).thenReturn(Optional.of(version));
+        Mockito.when(buildCollection.findOneById(latest.build())).thenReturn(Optional.of(build));
         Mockito.when(artifactCollection.findAllByProjectAndVersionAndBuild(projectId, versionId, buildId)).thenReturn(List.of(artifact1, artifact2));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project/latest");
@@ -123,4 +129,87 @@ class LatestControllerTest {
         JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), true);
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenVersionAndChannel_whenGetLatestOfVersion_returnLatestOfThatScope() throws Exception {
+
+        ObjectId projectId = new ObjectId();
+        ObjectId versionFamilyId = new ObjectId();
+        ObjectId versionId = new ObjectId();
+        ObjectId buildId = new ObjectId();
+
+        Project project = new Project(projectId, "project", "project");
+        Version version = new Version(versionId, projectId, versionFamilyId, "1.20.2", null);
+        Build build = new Build(buildId, projectId, versionId, 7, Instant.now(), List.of(), Build.Channel.STABLE);
+        Latest latest = new Latest(new ObjectId(), projectId, versionId, buildId, Latest.Scope.VERSION_CHANNEL, Latest.key(versionId, Build.Channel.STABLE), build.time(), build.number(), null);
+
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
+        Mockito.when(versionCollection.findByProjectAndName(projectId, "1.20.2")).thenReturn(Optional.of(version));
+        Mockito.when(latestCollection.findByProjectAndScopeAndKey(projectId, Latest.Scope.VERSION_CHANNEL, latest.key())).thenReturn(Optional.of(latest));
+        Mockito.when(versionCollection.findOneById(versionId)).thenReturn(Optional.of(version));
+        Mockito.when(buildCollection.findOneById(buildId)).thenReturn(Optional.of(build));
+        Mockito.when(artifactCollection.findAllByProjectAndVersionAndBuild(projectId, versionId, buildId)).thenReturn(List.of());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.2/latest?channel=stable")).andReturn();
+
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("version").value("1.20.2")
+                .key("build").value(7)
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), false);
+    }
+
+    @Test
+    void givenSnapshot_whenGetLatestVersion_answerFromTheSnapshotAlone() throws Exception {
+
+        ObjectId projectId = new ObjectId();
+        Latest.Snapshot snapshot = new Latest.Snapshot("project", "Project", "1.20.2", Build.Channel.STABLE,
+                List.of(new BuildView.ArtifactView("server", Map.of("normal", new Artifact.Download("server.jar", "1")))));
+        Latest latest = new Latest(new ObjectId(), projectId, new ObjectId(), new ObjectId(), Latest.Scope.PROJECT, "", Instant.now(), 12, snapshot);
+
+        Mockito.when(latestCollection.findBySnapshotProjectAndScopeAndKey("project", Latest.Scope.PROJECT, "")).thenReturn(Optional.of(latest));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/latest")).andReturn();
+
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("project_id").value("project")
+                .key("project_name").value("Project")
+                .key("version").value("1.20.2")
+                .key("build").value(12)
+                .key("artifacts").array()
+                .object()
+                .key("name").value("server")
+                .key("downloads").object()
+                .key("normal").object().key("name").value("server.jar").key("sha256").value("1").endObject()
+                .endObject()
+                .endObject()
+                .endArray()
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), true);
+        Mockito.verifyNoInteractions(projectCollection, versionCollection, buildCollection, artifactCollection);
+    }
+
+    @Test
+    void givenMessagePackAccepted_whenGetLatestVersion_returnSameDocumentAsJson() throws Exception {
+
+        ObjectId projectId = new ObjectId();
+        Latest.Snapshot snapshot = new Latest.Snapshot("project", "Project", "1.20.2", Build.Channel.STABLE,
+                List.of(new BuildView.ArtifactView("server", Map.of("normal", new Artifact.Download("server.jar", "1")))));
+        Latest latest = new Latest(new ObjectId(), projectId, new ObjectId(), new ObjectId(), Latest.Scope.PROJECT, "", Instant.now(), 12, snapshot);
+
+        Mockito.when(latestCollection.findBySnapshotProjectAndScopeAndKey("project", Latest.Scope.PROJECT, "")).thenReturn(Optional.of(latest));
+
+        MvcResult json = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/latest")).andReturn();
+        MvcResult msgpack = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/latest").accept("application/msgpack")).andReturn();
+
+        assertEquals("application/msgpack", msgpack.getResponse().getContentType());
+        // a shared cache must not hand the one format to clients asking for the other
+        assertTrue(json.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        assertTrue(msgpack.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        JsonNode expected = new ObjectMapper().readTree(json.getResponse().getContentAsByteArray());
+        assertEquals(expected, new ObjectMapper(new MessagePackFactory()).readTree(msgpack.getResponse().getContentAsByteArray()));
+    }
+}
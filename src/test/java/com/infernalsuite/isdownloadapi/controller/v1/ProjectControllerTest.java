@@ -1,8 +1,7 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
 import com.infernalsuite.isdownloadapi.database.model.Project;
-import com.infernalsuite.isdownloadapi.database.model.Version;
-import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
@@ -14,6 +13,7 @@ import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
@@ -22,6 +22,8 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 @WebMvcTest(value = ProjectController.class)
 class ProjectControllerTest {
 
@@ -41,15 +43,13 @@ class ProjectControllerTest {
 
         Project project1 = new Project(id1, "project", "project1");
 
-        ObjectId versionFamilyId1 = new ObjectId();
-        VersionFamily versionFamily = new VersionFamily(versionFamilyId1, id1, "1.20", null);
+        VersionName versionFamily = new VersionName("1.20", null, 0);
 
-        ObjectId versionId1 = new ObjectId();
-        Version version = new Version(versionId1, id1, versionFamilyId1, "1.20.1", null);
+        VersionName version = new VersionName("1.20.1", null, 0);
 
         Mockito.when(projectCollection.findByName(Mockito.anyString())).thenReturn(Optional.of(project1));
-        Mockito.when(versionFamilyCollection.findAllByProject(Mockito.any(ObjectId.class))).thenReturn(List.of(versionFamily));
-        Mockito.when(versionCollection.findAllByProject(Mockito.any(ObjectId.class))).thenReturn(List.of(version));
+        Mockito.when(versionFamilyCollection.findAllByProject(Mockito.any(ObjectId.class), Mockito.eq(VersionName.class))).thenReturn(List.of(versionFamily));
+        Mockito.when(versionCollection.findAllByProject(Mockito.any(ObjectId.class), Mockito.eq(VersionName.class))).thenReturn(List.of(version));
 
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project").accept("application/json");
@@ -74,4 +74,44 @@ class ProjectControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenVersionsWithoutTime_whenGetProject_returnVersionsInSemanticOrder() throws Exception {
+        ObjectId projectId = new ObjectId();
+
+        Project project = new Project(projectId, "project", "project1");
+        VersionName family1 = new VersionName("1.10", null, 0);
+        VersionName family2 = new VersionName("1.9", null, 0);
+        VersionName version1 = new VersionName("1.10.1", null, 0);
+        VersionName version2 = new VersionName("1.10.1-pre2", null, 0);
+        VersionName version3 = new VersionName("1.10.1-SNAPSHOT", null, 0);
+        VersionName version4 = new VersionName("1.9.4", null, 0);
+
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
+        Mockito.when(versionFamilyCollection.findAllByProject(projectId, VersionName.class)).thenReturn(List.of(family1, family2));
+        Mockito.when(versionCollection.findAllByProject(projectId, VersionName.class)).thenReturn(List.of(version1, version2, version3, version4));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project")).andReturn();
+
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("project_id").value("project")
+                .key("project_name").value("project1")
+                .key("version_groups").array().value("1.9").value("1.10").endArray()
+                .key("versions").array().value("1.9.4").value("1.10.1-SNAPSHOT").value("1.10.1-pre2").value("1.10.1").endArray()
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), true);
+    }
+
+    @Test
+    public void givenUnknownProject_whenGetProject_returnCacheableNotFound() throws Exception {
+
+        Mockito.when(projectCollection.findByName("ghost")).thenReturn(Optional.empty());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/ghost")).andReturn();
+
+        assertEquals(404, result.getResponse().getStatus());
+        assertEquals("max-age=30, public", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        JSONAssert.assertEquals("{\"error\":\"Project not found.\"}", result.getResponse().getContentAsString(), true);
+    }
+}
@@ -1,9 +1,11 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
 import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import org.bson.types.ObjectId;
@@ -37,6 +39,8 @@ class VersionBuildControllerTest {
     private VersionCollection versionCollection;
     @MockBean
     private BuildCollection buildCollection;
+    @MockBean
+    private BuildViewCollection buildViewCollection;
 
     @Test
     void givenBuildsAndAVersion_whenGetBuildFromVersion_returnBuild() throws Exception {
@@ -83,4 +87,38 @@ class VersionBuildControllerTest {
         JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), false);
     }
 
+    @Test
+    void givenBuildView_whenGetBuildFromVersion_returnBuildWithoutOtherLookups() throws Exception {
+
+        Instant now = Instant.now();
+        Build.Change change = new Build.Change("1", "1", "1");
+
+        BuildView view = new BuildView(new ObjectId(), 1, "project", "Project", "1.20.2", 1, now, List.of(change), Build.Channel.EXPERIMENTAL, List.of());
+
+        Mockito.when(buildViewCollection.findByProjectAndVersionAndNumber("project", "1.20.2", 1)).thenReturn(Optional.of(view));
+
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.2/builds/1");
+        MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+        JSONStringer expected = new JSONStringer();
+
+        expected.object()
+                .key("project_id").value("project")
+                .key("project_name").value("Project")
+                .key("version").value("1.20.2")
+                .key("build").value(1)
+                .key("time").value(now)
+                .key("changes").array()
+                    .object()
+                        .key("commit").value("1")
+                        .key("summary").value("1")
+                        .key("message").value("1")
+                    .endObject()
+                .endArray()
+                .key("channel").value("experimental")
+                .endObject();
+
+        JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), false);
+        Mockito.verifyNoInteractions(projectCollection, versionCollection, buildCollection);
+    }
+
 }
\ No newline at end of file
@@ -4,24 +4,32 @@ import com.infernalsuite.isdownloadapi.database.model.Build;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildQuery;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import org.bson.types.ObjectId;
 import org.json.JSONStringer;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @WebMvcTest(value = VersionBuildsController.class)
 class VersionBuildsControllerTest {
@@ -56,7 +64,8 @@ class VersionBuildsControllerTest {
 
         Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
         Mockito.when(versionCollection.findByProjectAndName(projectId, "1.20.1")).thenReturn(Optional.of(version));
-        Mockito.when(buildCollection.findAllByProjectAndVersion(projectId, versionId1)).thenReturn(List.of(build1, build2));
+        Mockito.when(buildCollection.streamPage(Mockito.eq(projectId), Mockito.eq(Set.of(versionId1)), Mockito.any(BuildQuery.class)))
+                .thenReturn(Stream.of(build1, build2));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.1/builds");
         MvcResult result = mockMvc.perform(requestBuilder).andReturn();
@@ -98,5 +107,54 @@ class VersionBuildsControllerTest {
 
     }
 
+    @Test
+    void givenPagingParameters_whenGetBuilds_returnPageWithNextCursor() throws Exception {
+        ObjectId projectId = new ObjectId();
+        ObjectId versionId = new ObjectId();
+        ObjectId buildId = new ObjectId();
+
+        Project project = new Project(projectId, "project", "Test Project Description");
+        Version version = new Version(versionId, projectId, new ObjectId(), "1.20.1", null);
+        Build build1 = new Build(buildId, projectId, versionId, 7, now, List.of(change1), null);
+        Build build2 = new Build(new ObjectId(), projectId, versionId, 6, now, List.of(change2), null);
+        BuildQuery.Cursor next = new BuildQuery.Cursor(BuildQuery.Order.NUMBER, Sort.Direction.DESC, 7L, buildId);
+
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
+        Mockito.when(versionCollection.findByProjectAndName(projectId, "1.20.1")).thenReturn(Optional.of(version));
+        ArgumentCaptor<BuildQuery> query = ArgumentCaptor.forClass(BuildQuery.class);
+        Mockito.when(buildCollection.streamPage(Mockito.eq(projectId), Mockito.eq(Set.of(versionId)), query.capture()))
+                .thenReturn(Stream.of(build1, build2));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.1/builds")
+                        .param("channel", "stable")
+                        .param("direction", "desc")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.builds[0].build").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.builds[0].channel").value("stable"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.builds.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value(next.encode()));
+
+        assertEquals(Build.Channel.STABLE, query.getValue().channel());
+        assertEquals(BuildQuery.Order.NUMBER, query.getValue().order());
+        assertEquals(Sort.Direction.DESC, query.getValue().direction());
+        assertEquals(1, query.getValue().limit());
+        assertNull(query.getValue().after());
+        assertEquals(next, BuildQuery.Cursor.decode(next.encode()));
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetBuilds_returnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.1/builds").param("after", "not-a-cursor"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void givenCursorOfAnotherOrder_whenGetBuilds_returnBadRequest() throws Exception {
+        String after = new BuildQuery.Cursor(BuildQuery.Order.TIME, Sort.Direction.DESC, null, new ObjectId()).encode();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.1/builds").param("direction", "desc").param("after", after))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
 
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.infernalsuite.isdownloadapi.controller.v1;
 import com.infernalsuite.isdownloadapi.database.model.Build;
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.projection.BuildNumber;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
@@ -22,6 +23,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,7 +60,8 @@ class VersionControllerTest {
 
         Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
         Mockito.when(versionCollection.findByProjectAndName(projectId, "1.20.1")).thenReturn(Optional.of(version));
-        Mockito.when(buildCollection.findAllByProjectAndVersion(projectId, versionId1)).thenReturn(List.of(build1, build2));
+        Mockito.when(buildCollection.streamAllByProjectAndVersionOrderByNumber(projectId, versionId1, BuildNumber.class))
+                .thenReturn(Stream.of(new BuildNumber(build1.number()), new BuildNumber(build2.number())));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project/versions/1.20.1");
         MvcResult result = mockMvc.perform(requestBuilder).andReturn();
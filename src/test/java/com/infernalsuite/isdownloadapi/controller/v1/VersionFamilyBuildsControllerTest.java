@@ -5,6 +5,7 @@ import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
 import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildQuery;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
@@ -25,6 +26,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @WebMvcTest(value = VersionFamilyBuildsController.class)
 class VersionFamilyBuildsControllerTest {
@@ -78,7 +80,8 @@ class VersionFamilyBuildsControllerTest {
         Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
         Mockito.when(versionFamilyCollection.findByProjectAndName(projectId, "1.20")).thenReturn(Optional.of(versionFamily));
         Mockito.when(versionCollection.findAllByProjectAndGroup(projectId, versionFamilyId)).thenReturn(List.of(version1, version2, version3));
-        Mockito.when(buildCollection.findAllByProjectAndVersionIn(projectId, versionIds)).thenReturn(List.of(build1, build2, build3, build4, build5, build6));
+        Mockito.when(buildCollection.streamPage(Mockito.eq(projectId), Mockito.eq(versionIds), Mockito.any(BuildQuery.class)))
+                .thenReturn(Stream.of(build1, build2, build3, build4, build5, build6));
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project/version_group/1.20/builds");
         MvcResult result = mockMvc.perform(requestBuilder).andReturn();
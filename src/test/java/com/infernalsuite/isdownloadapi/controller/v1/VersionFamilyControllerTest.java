@@ -1,8 +1,11 @@
 package com.infernalsuite.isdownloadapi.controller.v1;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.infernalsuite.isdownloadapi.database.model.Project;
-import com.infernalsuite.isdownloadapi.database.model.Version;
 import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
 import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
@@ -41,20 +44,17 @@ class VersionFamilyControllerTest {
 
         ObjectId projectId = new ObjectId();
         ObjectId familyId = new ObjectId();
-        ObjectId versionId1 = new ObjectId();
-        ObjectId versionId2 = new ObjectId();
-        ObjectId versionId3 = new ObjectId();
 
         Project project = new Project(projectId, "project", "project1");
         VersionFamily family = new VersionFamily(familyId, projectId, "1.20", null);
-        Version version1 = new Version(versionId1, projectId, familyId, "1.20.1", null);
-        Version version2 = new Version(versionId2, projectId, familyId, "1.20.2", null);
-        Version version3 = new Version(versionId3, projectId, familyId, "1.20.3", null);
-        List<Version> versions = List.of(version1, version2, version3);
+        VersionName version1 = new VersionName("1.20.1", null, 0);
+        VersionName version2 = new VersionName("1.20.2", null, 0);
+        VersionName version3 = new VersionName("1.20.3", null, 0);
+        List<VersionName> versions = List.of(version1, version2, version3);
 
         Mockito.when(this.projects.findByName("project")).thenReturn(Optional.of(project));
         Mockito.when(this.families.findByProjectAndName(projectId, "1.20")).thenReturn(Optional.of(family));
-        Mockito.when(this.versions.findAllByProjectAndGroup(projectId, familyId)).thenReturn(versions);
+        Mockito.when(this.versions.findAllByProjectAndGroup(projectId, familyId, VersionName.class)).thenReturn(versions);
 
         RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/v1/projects/project/version_group/1.20").accept("application/json");
         MvcResult result = mockMvc.perform(requestBuilder).andReturn();
@@ -69,4 +69,25 @@ class VersionFamilyControllerTest {
         JSONAssert.assertEquals(expected.toString(), result.getResponse().getContentAsString(), false);
     }
 
+    @Test
+    public void givenCborAccepted_whenGetVersionFamily_returnSameDocumentAsJson() throws Exception {
+
+        ObjectId projectId = new ObjectId();
+        ObjectId familyId = new ObjectId();
+
+        Project project = new Project(projectId, "project", "project1");
+        VersionFamily family = new VersionFamily(familyId, projectId, "1.20", null);
+
+        Mockito.when(this.projects.findByName("project")).thenReturn(Optional.of(project));
+        Mockito.when(this.families.findByProjectAndName(projectId, "1.20")).thenReturn(Optional.of(family));
+        Mockito.when(this.versions.findAllByProjectAndGroup(projectId, familyId, VersionName.class)).thenReturn(List.of(new VersionName("1.20.1", null, 0)));
+
+        MvcResult json = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/version_group/1.20")).andReturn();
+        MvcResult cbor = mockMvc.perform(MockMvcRequestBuilders.get("/v1/projects/project/version_group/1.20").accept("application/cbor")).andReturn();
+
+        assertEquals("application/cbor", cbor.getResponse().getContentType());
+        JsonNode expected = new ObjectMapper().readTree(json.getResponse().getContentAsByteArray());
+        assertEquals(expected, new ObjectMapper(new CBORFactory()).readTree(cbor.getResponse().getContentAsByteArray()));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.infernalsuite.isdownloadapi.database.Sequences;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = BuildViewAdminController.class)
+class BuildViewAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProjectCollection projectCollection;
+    @MockBean
+    private VersionCollection versionCollection;
+    @MockBean
+    private BuildCollection buildCollection;
+    @MockBean
+    private ArtifactCollection artifactCollection;
+    @MockBean
+    private BuildViewCollection buildViewCollection;
+    @MockBean
+    private Sequences sequences;
+    @MockBean
+    private InvalidationBus invalidationBus;
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void givenStaleViews_whenRebuild_replaceViewsInPlaceAndDeleteTheRestAfterwards() throws Exception {
+
+        ObjectId projectId = new ObjectId();
+        ObjectId versionId = new ObjectId();
+        Instant now = Instant.now();
+
+        Project project = new Project(projectId, "project", "Project");
+        Version version = new Version(versionId, projectId, new ObjectId(), "1.20.1", null);
+        Build kept = new Build(new ObjectId(), projectId, versionId, 1, now, List.of(), null);
+        Build added = new Build(new ObjectId(), projectId, versionId, 2, now, List.of(), null);
+        BuildView keptView = new BuildView(kept._id(), 5, "project", "Project", "1.20.1", 1, now, List.of(), Build.Channel.STABLE, List.of());
+        BuildView goneView = new BuildView(new ObjectId(), 6, "project", "Project", "1.20.1", 3, now, List.of(), Build.Channel.STABLE, List.of());
+
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(project));
+        Mockito.when(versionCollection.findAllByProject(projectId)).thenReturn(List.of(version));
+        Mockito.when(buildCollection.findAllByProjectAndVersion(projectId, versionId)).thenReturn(List.of(kept, added));
+        Mockito.when(buildViewCollection.findAllByProject("project")).thenReturn(List.of(keptView, goneView));
+        Mockito.when(sequences.next(BuildView.SEQUENCE, 1)).thenReturn(7L);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/admin/build_views/rebuild").param("project", "project"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$.rebuilt").value(2));
+
+        ArgumentCaptor<List<BuildView>> saved = ArgumentCaptor.forClass(List.class);
+        InOrder order = Mockito.inOrder(buildViewCollection);
+        order.verify(buildViewCollection).saveAll(saved.capture());
+        order.verify(buildViewCollection).deleteAllById(Set.of(goneView._id()));
+        assertEquals(List.of(5L, 7L), saved.getValue().stream().map(BuildView::sequence).toList());
+    }
+
+    @Test
+    void givenUnknownProject_whenRebuild_returnNotFoundThatIsNotStored() throws Exception {
+
+        Mockito.when(projectCollection.findByName("ghost")).thenReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/admin/build_views/rebuild").param("project", "ghost"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$.error").value("Project not found."));
+    }
+}
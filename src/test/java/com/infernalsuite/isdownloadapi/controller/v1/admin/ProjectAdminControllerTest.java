@@ -2,6 +2,7 @@ package com.infernalsuite.isdownloadapi.controller.v1.admin;
 
 import com.infernalsuite.isdownloadapi.database.model.Project;
 import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
 import com.sun.source.tree.BinaryTree;
 import org.bson.types.ObjectId;
 import org.json.JSONStringer;
@@ -27,6 +28,8 @@ class ProjectAdminControllerTest {
 
     @MockBean
     private ProjectCollection projectCollection;
+    @MockBean
+    private InvalidationBus invalidationBus;
 
     @Test
     void givenProject_whenCreateProject_returnProject() throws Exception {
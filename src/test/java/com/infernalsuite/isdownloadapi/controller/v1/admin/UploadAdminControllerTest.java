@@ -1,14 +1,25 @@
 package com.infernalsuite.isdownloadapi.controller.v1.admin;
 
+import com.infernalsuite.isdownloadapi.database.Sequences;
 import com.infernalsuite.isdownloadapi.database.model.*;
 import com.infernalsuite.isdownloadapi.database.repository.*;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationBus;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.storage.ArtifactStorage;
+import com.infernalsuite.isdownloadapi.storage.UploadSessions;
+import com.infernalsuite.isdownloadapi.webhook.WebhookOutbox;
 import org.bson.types.ObjectId;
 import org.json.JSONStringer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
@@ -16,16 +27,36 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @WebMvcTest(value = UploadAdminController.class)
 class UploadAdminControllerTest {
 
+    private static final String BOUNDARY = "upload-boundary";
+
+    @TempDir
+    static Path storage;
+
+    @TestConfiguration
+    static class Storage {
+        @Bean
+        ArtifactStorage artifactStorage() {
+            return new ArtifactStorage(storage);
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -41,6 +72,16 @@ class UploadAdminControllerTest {
     private ArtifactCollection artifactCollection;
     @MockBean
     private LatestCollection latestCollection;
+    @MockBean
+    private BuildViewCollection buildViewCollection;
+    @MockBean
+    private Sequences sequences;
+    @MockBean
+    private InvalidationBus invalidationBus;
+    @MockBean
+    private WebhookOutbox webhookOutbox;
+    @MockBean
+    private UploadSessions uploadSessions;
 
     @Test
     void uploadTest() throws Exception {
@@ -115,4 +156,144 @@ class UploadAdminControllerTest {
                 .contentType("application/json"))
                 .andExpect(MockMvcResultMatchers.status().isCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenFilesMatchingMetadata_whenUploadMultipart_placeFilesAndAddBuild() throws Exception {
+        byte[] jar = "not really a jar".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+
+        mockMvc.perform(multipart(metadata(7, sha256(jar)), jar))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        assertArrayEquals(jar, Files.readAllBytes(storage.resolve("project/1.20.2/7/server/server.jar")));
+        Mockito.verify(buildCollection).insert(Mockito.any(Build.class));
+    }
+
+    @Test
+    void givenFileNotMatchingSha256_whenUploadMultipart_rejectAndKeepNothing() throws Exception {
+        byte[] jar = "not really a jar".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+
+        mockMvc.perform(multipart(metadata(8, sha256("something else".getBytes(StandardCharsets.UTF_8))), jar))
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+
+        assertFalse(Files.exists(storage.resolve("project/1.20.2/8/server/server.jar")));
+        try (Stream<Path> uploads = Files.list(storage.resolve(".uploads"))) {
+            assertEquals(0, uploads.count());
+        }
+        Mockito.verify(buildCollection, Mockito.never()).insert(Mockito.any(Build.class));
+    }
+
+    @Test
+    void givenBuildReservedByConcurrentUpload_whenUploadMultipart_conflictWithoutTouchingItsFiles() throws Exception {
+        byte[] jar = "not really a jar".getBytes(StandardCharsets.UTF_8);
+        byte[] winner = "the other upload's jar".getBytes(StandardCharsets.UTF_8);
+        Path target = storage.resolve("project/1.20.2/9/server/server.jar");
+        Files.createDirectories(target.getParent());
+        Files.write(target, winner);
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+        Mockito.when(buildCollection.insert(Mockito.any(Build.class))).thenThrow(new DuplicateKeyException("builds"));
+
+        mockMvc.perform(multipart(metadata(9, sha256(jar)), jar))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+
+        assertArrayEquals(winner, Files.readAllBytes(target));
+        try (Stream<Path> uploads = Files.list(storage.resolve(".uploads"))) {
+            assertEquals(0, uploads.count());
+        }
+    }
+
+    @Test
+    void givenViewNotStored_whenUploadMultipart_removeBuildAndFiles() throws Exception {
+        byte[] jar = "not really a jar".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+        Mockito.when(buildViewCollection.save(Mockito.any(BuildView.class))).thenThrow(new DataIntegrityViolationException("build_views"));
+
+        mockMvc.perform(multipart(metadata(10, sha256(jar)), jar))
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError());
+
+        assertFalse(Files.exists(storage.resolve("project/1.20.2/10/server/server.jar")));
+        Mockito.verify(buildCollection).delete(Mockito.any(Build.class));
+    }
+
+    @Test
+    void givenPointersNotAdvanced_whenUploadMultipart_stillInvalidateCachedResponses() throws Exception {
+        byte[] jar = "not really a jar".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+        Mockito.when(latestCollection.advance(Mockito.any(Latest.class))).thenThrow(new DataIntegrityViolationException("latest"));
+
+        mockMvc.perform(multipart(metadata(12, sha256(jar)), jar))
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError());
+
+        Mockito.verify(buildCollection, Mockito.never()).delete(Mockito.any(Build.class));
+        Mockito.verify(webhookOutbox).enqueue(Mockito.any(BuildView.class));
+        Mockito.verify(invalidationBus.publish(InvalidationEvent.build("project", "1.20.2", 12));
+    }
+
+    @Test
+    void givenWebhooksNotQueued_whenUploadMultipart_stillAdvancePointers() throws Exception {
+        byte[] jar = "not really a jar".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+        Mockito.when(webhookOutbox.enqueue(Mockito.any(BuildView.class))).thenThrow(new DataIntegrityViolationException("webhook_deliveries"));
+
+        mockMvc.perform(multipart(metadata(13, sha256(jar)), jar))
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError());
+
+        Mockito.verify(latestCollection, Mockito.atLeastOnce()).advance(Mockito.any(Latest.class));
+        Mockito.verify(invalidationBus).publish(InvalidationEvent.build("project", "1.20.2", 13));
+    }
+
+    @Test
+    void givenNoBuildTime_whenUpload_rejectBeforeStoringAnything() throws Exception {
+        Mockito.when(projectCollection.findByName("project")).thenReturn(Optional.of(new Project(new ObjectId(), "project", "project")));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/admin/upload")
+                        .content(metadata(11, "0".repeat(64)).replace("\"buildTime\"", "\"time\""))
+                        .contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(buildCollection, Mockito.never()).insert(Mockito.any(Build.class));
+        Mockito.verifyNoInteractions(latestCollection);
+    }
+
+    private static String metadata(int build, String sha256) throws Exception {
+        return new JSONStringer()
+                .object()
+                    .key("projectName").value("project")
+                    .key("version").value("1.20.2")
+                    .key("build").value(build)
+                    .key("buildTime").value(Instant.now().toString())
+                    .key("buildChanges").array().endArray()
+                    .key("artifacts").object()
+                        .key("server").object()
+                            .key("application").object()
+                                .key("name").value("server.jar")
+                                .key("sha256").value(sha256)
+                            .endObject()
+                        .endObject()
+                    .endObject()
+                    .key("channel").value("STABLE")
+                .endObject()
+                .toString();
+    }
+
+    private static RequestBuilder multipart(String metadata, byte[] jar) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"metadata\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + metadata + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"server\"; filename=\"server.jar\"\r\n"
+                + "Content-Type: application/java-archive\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(jar);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return MockMvcRequestBuilders.post("/v1/admin/upload")
+                .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                .content(body.toByteArray());
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,83 @@
+package com.infernalsuite.isdownloadapi.controller.v1.admin;
+
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookDeliveryCollection;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookSubscriptionCollection;
+import com.infernalsuite.isdownloadapi.webhook.WebhookOutbox;
+import org.bson.types.ObjectId;
+import org.json.JSONStringer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = WebhookAdminController.class)
+class WebhookAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WebhookSubscriptionCollection subscriptionCollection;
+    @MockBean
+    private WebhookDeliveryCollection deliveryCollection;
+    @MockBean
+    private WebhookOutbox webhookOutbox;
+
+    @Test
+    void givenWebhook_whenCreateWebhook_returnWebhookWithoutSecret() throws Exception {
+
+        Mockito.when(subscriptionCollection.insert(Mockito.any(WebhookSubscription.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/admin/webhooks")
+                        .content(new JSONStringer()
+                                .object()
+                                .key("url").value("https://example.com/hook")
+                                .key("secret").value("secret")
+                                .key("projects").array().value("project").endArray()
+                                .endObject()
+                                .toString())
+                        .contentType("application/json"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.url").value("https://example.com/hook"))
+                .andExpect(jsonPath("$.projects[0]").value("project"))
+                .andExpect(jsonPath("$.secret").doesNotExist());
+    }
+
+    @Test
+    void givenWebhooks_whenListWebhooks_neverStoreTheResponse() throws Exception {
+
+        Mockito.when(subscriptionCollection.findAll()).thenReturn(List.of(
+                new WebhookSubscription(new ObjectId(), "https://example.com/hook", "secret", List.of(), List.of(), true, null, null)
+        ));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/admin/webhooks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$[0].url").value("https://example.com/hook"));
+    }
+
+    @Test
+    void givenNonHttpUrl_whenCreateWebhook_returnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/admin/webhooks")
+                        .content(new JSONStringer()
+                                .object()
+                                .key("url").value("file:///etc/passwd")
+                                .endObject()
+                                .toString())
+                        .contentType("application/json"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(subscriptionCollection);
+    }
+}
@@ -0,0 +1,155 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.infernalsuite.isdownloadapi.database.model.Artifact;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.BuildView;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.model.Version;
+import com.infernalsuite.isdownloadapi.database.model.VersionFamily;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Checks that imported builds are deduplicated within and across batches and leave the same documents as uploads.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class BuildImporterTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private MongoTemplate template;
+    @Autowired
+    private MongoMappingContext context;
+    @Autowired
+    private LatestCollection latest;
+
+    private final Project project = new Project(new ObjectId(), "project", "Project");
+    private final Instant start = Instant.parse("2023-10-18T12:00:00Z");
+
+    @BeforeEach
+    public void createProject() {
+        for (final Class<?> type : List.of(Project.class, VersionFamily.class, Version.class, Build.class, Artifact.class, BuildView.class, Latest.class)) {
+            this.template.remove(new Query(), type);
+        }
+        new IndexManager(this.template, this.context).reconcile(true);
+        this.template.insert(this.project);
+    }
+
+    @Test
+    public void givenBatch_whenWritten_storeEachBuildOnceAndPointAtTheNewest() {
+        final BuildImporter.Session session = new BuildImporter(this.template, this.latest, new Sequences(this.template)).begin();
+
+        final List<BuildImporter.Result> results = session.write(List.of(
+                this.entry(1, "project", "1.20.1", 1),
+                this.entry(2, "project", "1.20.1", 2),
+                this.entry(3, "project", "1.20.2", 1),
+                this.entry(4, "project", "1.20.1", 2),
+                this.entry(5, "unknown", "1.20.1", 1)
+        ));
+
+        assertEquals(List.of(
+                BuildImporter.Status.CREATED,
+                BuildImporter.Status.CREATED,
+                BuildImporter.Status.CREATED,
+                BuildImporter.Status.CONFLICT,
+                BuildImporter.Status.FAILED
+        ), results.stream().map(BuildImporter.Result::status).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(BuildImporter.Result::line).toList());
+        assertEquals(1, this.template.count(new Query(), VersionFamily.class));
+        assertEquals(2, this.template.count(new Query(), Version.class));
+        assertEquals(3, this.template.count(new Query(), Build.class));
+        assertEquals(3, this.template.count(new Query(), Artifact.class));
+        assertEquals(3, this.template.count(new Query(), BuildView.class));
+        assertEquals(List.of("1.20.1/1", "1.20.1/2", "1.20.2/1"), this.template.find(new Query().with(Sort.by("sequence")), BuildView.class).stream()
+                .map(view -> view.version() + "/" + view.number())
+                .toList());
+
+        final Latest newest = this.latest.findByProject(this.project._id()).orElseThrow();
+        assertEquals(1, newest.number());
+        assertEquals("1.20.2", newest.snapshot().version());
+    }
+
+    @Test
+    public void givenStoredBuilds_whenImportedAgain_reportConflictsAndReuseVersions() {
+        new BuildImporter(this.template, this.latest, new Sequences(this.template)).begin().write(List.of(this.entry(1, "project", "1.20.1", 1)));
+
+        final List<BuildImporter.Result> results = new BuildImporter(this.template, this.latest, new Sequences(this.template)).begin().write(List.of(
+                this.entry(1, "project", "1.20.1", 1),
+                this.entry(2, "project", "1.20.1", 2)
+        ));
+
+        assertEquals(BuildImporter.Status.CONFLICT, results.get(0).status());
+        assertEquals(BuildImporter.Status.CREATED, results.get(1).status());
+        assertEquals(1, this.template.count(new Query(), Version.class));
+        assertEquals(2, this.template.count(new Query(), Build.class));
+    }
+
+    @Test
+    public void givenVersionStoredSinceTheSessionRead_whenWritten_buildIntoTheStoredVersion() {
+        final BuildImporter.Session session = new BuildImporter(this.template, this.latest, new Sequences(this.template)).begin();
+        session.write(List.of(this.entry(1, "project", "1.20.1", 1)));
+        final VersionFamily family = this.template.findOne(query(where("name").is("1.20")), VersionFamily.class);
+        final Version stored = this.template.insert(new Version(new ObjectId(), this.project._id(), family._id(), "1.20.2", null));
+
+        final List<BuildImporter.Result> results = session.write(List.of(this.entry(2, "project", "1.20.2", 1)));
+
+        assertEquals(BuildImporter.Status.CREATED, results.get(0).status());
+        assertEquals(2, this.template.count(new Query(), Version.class));
+        assertEquals(1, this.template.count(query(where("version").is(stored._id())), Build.class));
+    }
+
+    @Test
+    public void givenViewNotStored_whenWritten_deleteItsBuildAndArtifacts() {
+        this.template.insert(new BuildView(new ObjectId(), 1, "project", "Project", "1.20.1", 1, this.start, List.of(), Build.Channel.STABLE, List.of()));
+
+        final List<BuildImporter.Result> results = new BuildImporter(this.template, this.latest, new Sequences(this.template)).begin().write(List.of(
+                this.entry(1, "project", "1.20.1", 1)
+        ));
+
+        assertEquals(BuildImporter.Status.FAILED, results.get(0).status());
+        assertEquals(0, this.template.count(new Query(), Build.class));
+        assertEquals(0, this.template.count(new Query(), Artifact.class));
+    }
+
+    private BuildImporter.Entry entry(final long line, final String project, final String version, final int number) {
+        final int minor = Integer.parseInt(version.substring(version.lastIndexOf('.') + 1));
+        return new BuildImporter.Entry(
+                line,
+                project,
+                version.substring(0, version.lastIndexOf('.')),
+                null,
+                version,
+                null,
+                number,
+                this.start.plusSeconds(minor * 1000L + number),
+                List.of(new Build.Change("abc1234", "Change", "Change")),
+                Build.Channel.STABLE,
+                Map.of("server", Map.of("server", new Artifact.Download("server-" + version + "-" + number + ".jar", "0".repeat(64))))
+        );
+    }
+}
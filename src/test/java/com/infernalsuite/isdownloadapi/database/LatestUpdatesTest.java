@@ -0,0 +1,109 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that latest pointers only move forward, including under concurrent uploads.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class LatestUpdatesTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private MongoTemplate template;
+    @Autowired
+    private MongoMappingContext context;
+    @Autowired
+    private LatestCollection latest;
+
+    private final ObjectId project = new ObjectId();
+    private final ObjectId version = new ObjectId();
+    private final Instant start = Instant.parse("2023-10-18T12:00:00Z");
+
+    @BeforeEach
+    public void createIndexes() {
+        this.latest.deleteAll();
+        new IndexManager(this.template, this.context).reconcile(true);
+    }
+
+    @Test
+    public void pointerMovesForwardOnly() {
+        assertTrue(this.latest.advance(this.pointer(2)));
+        assertFalse(this.latest.advance(this.pointer(1)));
+        assertFalse(this.latest.advance(this.pointer(2)));
+        assertTrue(this.latest.advance(this.pointer(3)));
+
+        assertEquals(3, this.latest.findByProject(this.project).orElseThrow().number());
+        assertEquals(1, this.latest.count());
+    }
+
+    @Test
+    public void concurrentUploadsLeaveOnePointerAtTheNewestBuild() throws Exception {
+        final List<Integer> numbers = new ArrayList<>(IntStream.rangeClosed(1, 200).boxed().toList());
+        Collections.shuffle(numbers);
+        final ExecutorService uploads = Executors.newFixedThreadPool(16);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (final int number : numbers) {
+                results.add(uploads.submit(() -> this.latest.advance(this.pointer(number))));
+            }
+            for (final Future<Boolean> result : results) {
+                result.get();
+            }
+        } finally {
+            uploads.shutdown();
+        }
+
+        assertEquals(1, this.latest.count());
+        assertEquals(200, this.latest.findByProject(this.project).orElseThrow().number());
+    }
+
+    @Test
+    public void migrationKeepsThePointerAtTheMostRecentBuild() {
+        // pointers saved by releases before the unique index, the later saved one at an older build
+        this.template.remove(new Query(), Build.class);
+        this.template.indexOps(Latest.class).dropAllIndexes();
+        final Build newer = this.template.insert(new Build(new ObjectId(), this.project, this.version, 2, this.start.plusSeconds(2), List.of(), null));
+        final Build older = this.template.insert(new Build(new ObjectId(), this.project, this.version, 1, this.start.plusSeconds(1), List.of(), null));
+        this.template.insert(new Latest(new ObjectId(), this.project, this.version, newer._id()));
+        this.template.insert(new Latest(new ObjectId(), this.project, this.version, older._id()));
+
+        new LatestMigration(this.template).run();
+
+        assertEquals(1, this.latest.count());
+        assertEquals(newer._id(), this.latest.findByProject(this.project).orElseThrow().build());
+    }
+
+    private Latest pointer(final int number) {
+        return new Latest(new ObjectId(), this.project, this.version, new ObjectId(), Latest.Scope.PROJECT, "", this.start.plusSeconds(number), number, null);
+    }
+}
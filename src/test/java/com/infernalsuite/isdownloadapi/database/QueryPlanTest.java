@@ -0,0 +1,245 @@
+package com.infernalsuite.isdownloadapi.database;
+
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import com.infernalsuite.isdownloadapi.database.model.WebhookDelivery;
+import com.infernalsuite.isdownloadapi.database.projection.BuildNumber;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
+import com.infernalsuite.isdownloadapi.database.repository.ArtifactCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildCollection;
+import com.infernalsuite.isdownloadapi.database.repository.BuildQuery;
+import com.infernalsuite.isdownloadapi.database.repository.BuildViewCollection;
+import com.infernalsuite.isdownloadapi.database.repository.LatestCollection;
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
+import com.infernalsuite.isdownloadapi.database.repository.WebhookDeliveryCollection;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Runs every repository query against a real server, explains the commands it sends and fails when any of them
+ * would scan a whole collection.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "delete", "update");
+    private static final Set<String> EXPLAINED_FIELDS = Set.of("find", "filter", "sort", "projection", "limit", "skip", "hint", "aggregate", "pipeline", "cursor", "count", "query", "distinct", "key", "delete", "deletes", "update", "updates");
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private MongoTemplate template;
+    @Autowired
+    private MongoMappingContext context;
+    @Autowired
+    private CommandRecorder recorder;
+    @Autowired
+    private ProjectCollection projects;
+    @Autowired
+    private VersionCollection versions;
+    @Autowired
+    private VersionFamilyCollection families;
+    @Autowired
+    private BuildCollection builds;
+    @Autowired
+    private ArtifactCollection artifacts;
+    @Autowired
+    private LatestCollection latest;
+    @Autowired
+    private BuildViewCollection views;
+    @Autowired
+    private WebhookDeliveryCollection deliveries;
+
+    private final ObjectId project = new ObjectId();
+    private final ObjectId version = new ObjectId();
+    private final ObjectId build = new ObjectId();
+
+    @BeforeEach
+    public void createIndexes() {
+        final IndexManager.Report report = new IndexManager(this.template, this.context).reconcile(true);
+        assertTrue(report.missing().isEmpty(), () -> "missing indexes: " + report.missing());
+    }
+
+    @Test
+    public void projectQueriesUseIndexes() {
+        this.assertIndexed(() -> this.projects.findByName("project"));
+        this.assertIndexed(() -> this.projects.findAllByNameIn(List.of("project", "other")));
+    }
+
+    @Test
+    public void versionQueriesUseIndexes() {
+        this.assertIndexed(() -> this.versions.findAllByProject(this.project));
+        this.assertIndexed(() -> this.versions.findOneById(this.version));
+        this.assertIndexed(() -> this.versions.findAllByProject(this.project, VersionName.class));
+        this.assertIndexed(() -> this.versions.findAllByProjectAndGroup(this.project, this.version));
+        this.assertIndexed(() -> this.versions.findAllByProjectAndGroup(this.project, this.version, VersionName.class));
+        this.assertIndexed(() -> this.versions.findByProjectAndName(this.project, "1.20.1"));
+        this.assertIndexed(() -> this.versions.findAllByProjectInAndNameIn(List.of(this.project, new ObjectId()), List.of("1.20.1", "1.20.2")));
+    }
+
+    @Test
+    public void versionFamilyQueriesUseIndexes() {
+        this.assertIndexed(() -> this.families.findAllByProject(this.project));
+        this.assertIndexed(() -> this.families.findAllByProject(this.project, VersionName.class));
+        this.assertIndexed(() -> this.families.findByProjectAndName(this.project, "1.20"));
+    }
+
+    @Test
+    public void buildQueriesUseIndexes() {
+        this.assertIndexed(() -> this.builds.findAllByProjectAndVersion(this.project, this.version));
+        this.assertIndexed(() -> this.builds.findAllByProjectAndVersionIn(this.project, List.of(this.version, new ObjectId())));
+        this.assertIndexed(() -> this.builds.findByProjectAndVersionAndNumber(this.project, this.version, 1));
+        this.assertIndexed(() -> this.builds.findOneById(this.build));
+        this.assertIndexed(() -> drain(this.builds.streamAllByProjectAndVersionOrderByNumber(this.project, this.version, BuildNumber.class)));
+    }
+
+    @Test
+    public void buildPagesUseIndexes() {
+        final String after = new BuildQuery.Cursor(BuildQuery.Order.NUMBER, Sort.Direction.ASC, 10L, this.build).encode();
+        final String before = new BuildQuery.Cursor(BuildQuery.Order.TIME, Sort.Direction.DESC, Instant.now().toEpochMilli(), this.build).encode();
+        this.assertIndexed(() -> drain(this.builds.streamPage(this.project, List.of(this.version),
+                BuildQuery.of(null, null, null, "number", "asc", after, 100))));
+        this.assertIndexed(() -> drain(this.builds.streamPage(this.project, List.of(this.version),
+                BuildQuery.of("stable", null, null, "number", "desc", null, 100))));
+        this.assertIndexed(() -> drain(this.builds.streamPage(this.project, List.of(this.version, new ObjectId()),
+                BuildQuery.of(null, Instant.EPOCH, Instant.now(), "time", "desc", before, 100))));
+    }
+
+    @Test
+    public void artifactQueriesUseIndexes() {
+        this.assertIndexed(() -> this.artifacts.findAllByProjectAndVersion(this.project, this.version));
+        this.assertIndexed(() -> this.artifacts.findAllByProjectInAndVersionInAndBuildIn(List.of(this.project), List.of(this.version), List.of(this.build, new ObjectId())));
+        this.assertIndexed(() -> this.artifacts.findAllByProjectAndVersionAndBuild(this.project, this.version, this.build));
+        this.assertIndexed(() -> this.artifacts.findByProjectAndVersionAndBuildAndName(this.project, this.version, this.build, "server"));
+    }
+
+    @Test
+    public void buildViewQueriesUseIndexes() {
+        this.assertIndexed(() -> this.views.findByProjectAndVersionAndNumber("project", "1.20.1", 1));
+        this.assertIndexed(() -> this.views.findAfter(List.of("project"), 0, PageRequest.ofSize(100)));
+        this.assertIndexed(() -> this.views.findAllByProject("project"));
+    }
+
+    @Test
+    public void webhookQueriesUseIndexes() {
+        final ObjectId subscription = new ObjectId();
+        this.assertIndexed(() -> this.deliveries.countBySubscriptionAndDeadFalse(subscription));
+        this.assertIndexed(() -> this.deliveries.deleteAllBySubscription(subscription));
+        this.assertIndexed(() -> this.template.findDistinct(
+                query(where("dead").is(false).and("nextAttempt").lte(Instant.now())), "subscription", WebhookDelivery.class, ObjectId.class));
+        this.assertIndexed(() -> this.template.find(
+                query(where("subscription").is(subscription).and("dead").is(false)).with(Sort.by("sequence", "_id")).limit(50), WebhookDelivery.class));
+    }
+
+    @Test
+    public void latestQueriesUseIndexes() {
+        this.assertIndexed(() -> this.latest.findByProject(this.project));
+        this.assertIndexed(() -> this.latest.findByProjectAndScopeAndKey(this.project, Latest.Scope.VERSION_CHANNEL, Latest.key(this.version, Build.Channel.STABLE)));
+        this.assertIndexed(() -> this.latest.findAllByProjectInAndScopeInAndKeyIn(List.of(this.project, new ObjectId()), List.of(Latest.Scope.PROJECT, Latest.Scope.VERSION), List.of("", Latest.key(this.version, null))));
+        this.assertIndexed(() -> this.latest.advance(new Latest(new ObjectId(), this.project, this.version, this.build, Latest.Scope.PROJECT, "", Instant.now(), 1, null)));
+        this.assertIndexed(() -> this.latest.findBySnapshotProjectAndScopeAndKey("project", Latest.Scope.CHANNEL, Latest.key(null, Build.Channel.STABLE)));
+    }
+
+    private void assertIndexed(final Runnable query) {
+        this.recorder.commands.clear();
+        query.run();
+        final List<BsonDocument> commands = new ArrayList<>(this.recorder.commands);
+        assertFalse(commands.isEmpty(), "no query was sent");
+        for (final BsonDocument command : commands) {
+            final BsonDocument explain = new BsonDocument("explain", explainable(command))
+                    .append("verbosity", new BsonString("queryPlanner"));
+            final Document result = this.template.getDb().runCommand(explain);
+            final Object plan = result.get("queryPlanner", Document.class).get("winningPlan");
+            assertFalse(scansCollection(plan), () -> "collection scan for " + command.toJson() + ": " + ((Document) plan).toJson());
+        }
+    }
+
+    private static BsonDocument explainable(final BsonDocument command) {
+        final BsonDocument explainable = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (EXPLAINED_FIELDS.contains(key)) {
+                explainable.append(key, value);
+            }
+        });
+        return explainable;
+    }
+
+    private static boolean scansCollection(final Object plan) {
+        if (plan instanceof Map<?, ?> stage) {
+            if ("COLLSCAN".equals(stage.get("stage"))) {
+                return true;
+            }
+            return stage.values().stream().anyMatch(QueryPlanTest::scansCollection);
+        }
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(QueryPlanTest::scansCollection);
+        }
+        return false;
+    }
+
+    private static void drain(final Stream<?> stream) {
+        try (stream) {
+            stream.forEach(element -> { });
+        }
+    }
+
+    static class CommandRecorder implements CommandListener {
+        final Queue<BsonDocument> commands = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void commandStarted(final CommandStartedEvent event) {
+            if (QUERY_COMMANDS.contains(event.getCommandName())) {
+                this.commands.add(event.getCommand().clone());
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfiguration {
+        @Bean
+        CommandRecorder commandRecorder() {
+            return new CommandRecorder();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer recordCommands(final CommandRecorder recorder) {
+            return settings -> settings.addCommandListener(recorder);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.infernalsuite.isdownloadapi.database.repository;
+
+import com.infernalsuite.isdownloadapi.database.IndexManager;
+import com.infernalsuite.isdownloadapi.database.model.Latest;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks how a pointer update resolves losing the race to create a scope's pointer, which thread timing alone cannot
+ * be relied on to produce.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class LatestUpdatesImplTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private MongoTemplate template;
+    @Autowired
+    private MongoMappingContext context;
+
+    private final ObjectId project = new ObjectId();
+    private final ObjectId version = new ObjectId();
+    private final Instant start = Instant.parse("2023-10-18T12:00:00Z");
+
+    @BeforeEach
+    public void createIndexes() {
+        this.template.remove(new Query(), Latest.class);
+        new IndexManager(this.template, this.context).reconcile(true);
+    }
+
+    @Test
+    public void givenOlderPointerInsertedFirst_whenUpsertCollides_moveItToTheNewerBuild() {
+        final Latest older = this.pointer(1);
+        final Latest newer = this.pointer(2);
+
+        assertTrue(this.racing(older).advance(newer));
+
+        final Latest stored = this.template.findOne(new Query(), Latest.class);
+        assertEquals(newer.build(), stored.build());
+        assertEquals(1, this.template.count(new Query(), Latest.class));
+    }
+
+    @Test
+    public void givenNewerPointerInsertedFirst_whenUpsertCollides_leaveIt() {
+        final Latest newer = this.pointer(2);
+
+        assertFalse(this.racing(newer).advance(this.pointer(1)));
+
+        assertEquals(newer.build(), this.template.findOne(new Query(), Latest.class).build());
+    }
+
+    /**
+     * Updates pointers through a template whose upsert finds the scope empty, and then collides with {@code first}
+     * inserted by another upload before its own insert.
+     */
+    private LatestUpdatesImpl racing(final Latest first) {
+        final MongoTemplate racing = Mockito.spy(this.template);
+        Mockito.doAnswer(invocation -> {
+            this.template.insert(first);
+            throw new DuplicateKeyException("latest");
+        }).when(racing).upsert(Mockito.any(Query.class), Mockito.any(Update.class), Mockito.eq(Latest.class));
+        return new LatestUpdatesImpl(racing);
+    }
+
+    private Latest pointer(final int number) {
+        return new Latest(new ObjectId(), this.project, this.version, new ObjectId(), Latest.Scope.PROJECT, "", this.start.plusSeconds(number), number, null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.util.HTTP;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionFilterTest {
+    private static final CompressionPolicy POLICY = new CompressionPolicy(1024, List.of(MediaType.APPLICATION_JSON), 4);
+
+    private final CompressionFilter filter = new CompressionFilter(POLICY);
+
+    @Test
+    public void givenLargeJson_whenGzipAccepted_compressResponse() throws Exception {
+        final byte[] body = ("{\"builds\":[" + "{\"build\":1,\"channel\":\"default\"},".repeat(100) + "{}]}").getBytes(StandardCharsets.UTF_8);
+
+        final MockHttpServletResponse response = this.perform(MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        try (final GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    public void givenSmallJson_whenGzipAccepted_leaveResponseUncompressed() throws Exception {
+        final byte[] body = "{\"build\":1}".getBytes(StandardCharsets.UTF_8);
+
+        final MockHttpServletResponse response = this.perform(MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertArrayEquals(body, response.getContentAsByteArray());
+        assertEquals(body.length, response.getContentLength());
+    }
+
+    @Test
+    public void givenJar_whenGzipAccepted_leaveResponseUncompressed() throws Exception {
+        final byte[] body = new byte[4096];
+
+        final MockHttpServletResponse response = this.perform(HTTP.APPLICATION_JAVA_ARCHIVE_VALUE, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse perform(final String contentType, final byte[] body) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/projects/project");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final FilterChain chain = (req, res) -> {
+            res.setContentType(contentType);
+            res.setContentLength(body.length);
+            res.getOutputStream().write(body);
+        };
+        this.filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,92 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.util.RateLimiter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger handled = new AtomicInteger();
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(4, 1024, this.clock::get), List.of(
+            new RateLimitFilter.Group("download", List.of("/v1/projects/*/latest/download"), 2, Duration.ofSeconds(10)),
+            new RateLimitFilter.Group("api", List.of("/v1/**"), 5, Duration.ofSeconds(10))
+    ));
+
+    @Test
+    public void givenBurstWithinLimit_whenRequested_passEveryRequestAndCountDown() throws Exception {
+        for (int remaining = 4; remaining >= 0; remaining--) {
+            final MockHttpServletResponse response = this.perform("10.0.0.1", "/v1/projects/paper");
+
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            assertEquals("5", response.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT));
+            assertEquals(Integer.toString(remaining), response.getHeader(RateLimitFilter.RATE_LIMIT_REMAINING));
+            assertEquals("5;w=10", response.getHeader(RateLimitFilter.RATE_LIMIT_POLICY));
+        }
+        assertEquals(5, this.handled.get());
+    }
+
+    @Test
+    public void givenEmptyBucket_whenRequested_rejectUntilATokenIsBack() throws Exception {
+        this.perform("10.0.0.1", "/v1/projects/paper/latest/download");
+        this.perform("10.0.0.1", "/v1/projects/paper/latest/download");
+
+        final MockHttpServletResponse rejected = this.perform("10.0.0.1", "/v1/projects/paper/latest/download");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("0", rejected.getHeader(RateLimitFilter.RATE_LIMIT_REMAINING));
+        assertEquals("5", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("10", rejected.getHeader(RateLimitFilter.RATE_LIMIT_RESET));
+        assertEquals(2, this.handled.get());
+
+        this.clock.addAndGet(5_000);
+
+        assertEquals(HttpStatus.OK.value(), this.perform("10.0.0.1", "/v1/projects/paper/latest/download").getStatus());
+    }
+
+    @Test
+    public void givenEmptyBucket_whenOtherClientOrGroupRequests_passIt() throws Exception {
+        this.perform("10.0.0.1", "/v1/projects/paper/latest/download");
+        this.perform("10.0.0.1", "/v1/projects/paper/latest/download");
+
+        assertEquals(HttpStatus.OK.value(), this.perform("10.0.0.2", "/v1/projects/paper/latest/download").getStatus());
+        assertEquals(HttpStatus.OK.value(), this.perform("10.0.0.1", "/v1/projects/paper").getStatus());
+    }
+
+    @Test
+    public void givenEmptyBucket_whenSameIpv6PrefixRequests_rejectIt() throws Exception {
+        this.perform("2001:db8:0:1::1", "/v1/projects/paper/latest/download");
+        this.perform("2001:db8:0:1::2", "/v1/projects/paper/latest/download");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), this.perform("2001:db8:0:1:ffff::3", "/v1/projects/paper/latest/download").getStatus());
+        assertEquals(HttpStatus.OK.value(), this.perform("2001:db8:0:2::1", "/v1/projects/paper/latest/download").getStatus());
+        assertEquals("10.0.0.1", RateLimitFilter.client("::ffff:10.0.0.1"));
+    }
+
+    @Test
+    public void givenPathOutsideGroups_whenRequested_leaveItUnlimited() throws Exception {
+        final MockHttpServletResponse response = this.perform("10.0.0.1", "/docs/index.html");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.RATE_LIMIT_LIMIT));
+    }
+
+    private MockHttpServletResponse perform(final String address, final String path) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(address);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final FilterChain chain = (req, res) -> this.handled.incrementAndGet();
+        this.filter.doFilter(request, response, chain);
+        return response;
+    }
+}
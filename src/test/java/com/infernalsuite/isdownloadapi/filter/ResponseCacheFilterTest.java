@@ -0,0 +1,137 @@
+package com.infernalsuite.isdownloadapi.filter;
+
+import com.infernalsuite.isdownloadapi.interceptor.ReadRoutingInterceptor;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.invalidation.LocalInvalidationBus;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+    private static final CompressionPolicy POLICY = new CompressionPolicy(1024, List.of(MediaType.APPLICATION_JSON), 4);
+
+    private final LocalInvalidationBus invalidations = new LocalInvalidationBus();
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(this.invalidations, Duration.ofHours(1), 1024 * 1024, 64 * 1024, POLICY);
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    public void givenCachedResponse_whenRequestedAgain_answerWithoutHandling() throws Exception {
+        final MockHttpServletResponse miss = this.perform(this.request("/v1/projects/project"), this.handler());
+        final MockHttpServletResponse hit = this.perform(this.request("/v1/projects/project"), this.handler());
+
+        assertEquals(1, this.handled.get());
+        assertEquals(miss.getContentAsString(), hit.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, hit.getContentType());
+        assertNotNull(hit.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void givenCachedResponse_whenEtagMatches_answerNotModified() throws Exception {
+        final String etag = this.perform(this.request("/v1/projects/project"), this.handler()).getHeader(HttpHeaders.ETAG);
+        final MockHttpServletRequest request = this.request("/v1/projects/project");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        final MockHttpServletResponse response = this.perform(request, this.handler());
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentLength());
+    }
+
+    @Test
+    public void givenFailedResponse_whenRequestedAgain_handleAgain() throws Exception {
+        final FilterChain notFound = (req, res) -> {
+            this.handled.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(404);
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        this.perform(this.request("/v1/projects/missing"), notFound);
+        this.perform(this.request("/v1/projects/missing"), notFound);
+
+        assertEquals(2, this.handled.get());
+    }
+
+    @Test
+    public void givenProjectInvalidated_whenRequestedAgain_handleOnlyItsResponsesAgain() throws Exception {
+        this.perform(this.request("/v1/projects/project"), this.handler());
+        this.perform(this.request("/v1/projects/other"), this.handler());
+
+        this.invalidations.publish(InvalidationEvent.project("project"));
+        this.perform(this.request("/v1/projects/project"), this.handler());
+        this.perform(this.request("/v1/projects/other"), this.handler());
+
+        assertEquals(3, this.handled.get());
+    }
+
+    @Test
+    public void givenInvalidationWhileHandling_whenResponseReady_doNotStoreIt() throws Exception {
+        final FilterChain racing = (req, res) -> {
+            this.handler().doFilter(req, res);
+            // the response was read before the change being announced
+            this.invalidations.publish(InvalidationEvent.build("project", "1.20.2", 3));
+        };
+
+        this.perform(this.request("/v1/projects/project"), racing);
+        this.perform(this.request("/v1/projects/project"), this.handler());
+
+        assertEquals(2, this.handled.get());
+    }
+
+    @Test
+    public void givenReadsFromSecondaries_whenStalenessBoundPassed_handleAgain() throws Exception {
+        final MockHttpServletRequest first = this.request("/v1/projects/project");
+        first.setAttribute(ReadRoutingInterceptor.STALENESS_ATTRIBUTE, Duration.ofMillis(50));
+        this.perform(first, this.handler());
+        this.perform(this.request("/v1/projects/project"), this.handler());
+        assertEquals(1, this.handled.get());
+
+        Thread.sleep(100);
+        this.perform(this.request("/v1/projects/project"), this.handler());
+
+        assertEquals(2, this.handled.get());
+    }
+
+    @Test
+    public void givenReadsFromSecondariesWithoutBound_whenRequestedAgain_handleAgain() throws Exception {
+        final MockHttpServletRequest first = this.request("/v1/projects/project");
+        first.setAttribute(ReadRoutingInterceptor.STALENESS_ATTRIBUTE, Duration.ZERO);
+
+        this.perform(first, this.handler());
+        this.perform(this.request("/v1/projects/project"), this.handler());
+
+        assertEquals(2, this.handled.get());
+    }
+
+    private FilterChain handler() {
+        return (req, res) -> {
+            final byte[] body = ("{\"project\":\"project\",\"handled\":" + this.handled.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.setContentLength(body.length);
+            res.getOutputStream().write(body);
+        };
+    }
+
+    private MockHttpServletRequest request(final String path) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(final MockHttpServletRequest request, final FilterChain chain) throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, chain);
+        return response;
+    }
+}
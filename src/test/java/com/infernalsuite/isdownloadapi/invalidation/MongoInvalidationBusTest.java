@@ -0,0 +1,138 @@
+package com.infernalsuite.isdownloadapi.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two nodes of each Mongo backed bus against one server, which the container starts as a single node replica
+ * set so that change streams work.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+class MongoInvalidationBusTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private MongoTemplate template;
+
+    private final String collection = "invalidations-" + UUID.randomUUID();
+    private final List<MongoInvalidationBus> started = new ArrayList<>();
+
+    @AfterEach
+    public void stopBuses() {
+        this.started.forEach(MongoInvalidationBus::stop);
+    }
+
+    @Test
+    public void givenCappedBus_whenOneNodePublishes_otherNodesReceiveInOrderAndItselfOnce() throws Exception {
+        this.receiveInOrderAndOnce(() -> new CappedInvalidationBus(this.template, this.collection, DataSize.ofMegabytes(1)));
+    }
+
+    @Test
+    public void givenChangeStreamBus_whenOneNodePublishes_otherNodesReceiveInOrderAndItselfOnce() throws Exception {
+        this.receiveInOrderAndOnce(() -> new ChangeStreamInvalidationBus(this.template, this.collection, Duration.ofHours(1)));
+    }
+
+    @Test
+    public void givenCappedBus_whenNodeStarts_skipEventsPublishedBeforeIt() throws Exception {
+        final MongoInvalidationBus first = this.start(new CappedInvalidationBus(this.template, this.collection, DataSize.ofMegabytes(1)));
+        first.publish(InvalidationEvent.project("before"));
+
+        final MongoInvalidationBus second = this.start(new CappedInvalidationBus(this.template, this.collection, DataSize.ofMegabytes(1)));
+        final BlockingQueue<InvalidationEvent> received = listen(second);
+        first.publish(InvalidationEvent.project("after"));
+
+        assertEquals(InvalidationEvent.project("after"), received.poll(10, TimeUnit.SECONDS));
+        assertNull(received.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void givenFollowingFailed_whenResubscribed_dropEverythingAndReceiveLaterEvents() throws Exception {
+        final MongoInvalidationBus publisher = this.start(new ChangeStreamInvalidationBus(this.template, this.collection, Duration.ofHours(1)));
+        final MongoInvalidationBus follower = this.start(new ChangeStreamInvalidationBus(this.template, this.collection, Duration.ofHours(1)));
+        final BlockingQueue<InvalidationEvent> received = listen(follower);
+        following(publisher, received);
+
+        follower.failed(new IllegalStateException("cursor lost"));
+
+        assertEquals(InvalidationEvent.all(), received.poll(10, TimeUnit.SECONDS));
+        // the subscription is renewed after a delay, events published meanwhile are resumed from the last one seen
+        publisher.publish(InvalidationEvent.project("project"));
+        assertEquals(InvalidationEvent.project("project"), received.poll(10, TimeUnit.SECONDS));
+    }
+
+    private void receiveInOrderAndOnce(final Supplier<MongoInvalidationBus> node) throws Exception {
+        final MongoInvalidationBus publisher = this.start(node.get());
+        final MongoInvalidationBus follower = this.start(node.get());
+        final BlockingQueue<InvalidationEvent> published = listen(publisher);
+        final BlockingQueue<InvalidationEvent> received = listen(follower);
+        following(publisher, received);
+        published.clear();
+        final List<InvalidationEvent> events = List.of(
+                InvalidationEvent.project("alpha"),
+                InvalidationEvent.build("beta", "1.20.2", 3),
+                InvalidationEvent.all()
+        );
+
+        events.forEach(publisher::publish);
+
+        for (final InvalidationEvent event : events) {
+            assertEquals(event, received.poll(10, TimeUnit.SECONDS));
+            assertEquals(event, published.poll(10, TimeUnit.SECONDS));
+        }
+        assertNull(published.poll(500, TimeUnit.MILLISECONDS));
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private MongoInvalidationBus start(final MongoInvalidationBus bus) {
+        bus.start();
+        this.started.add(bus);
+        return bus;
+    }
+
+    /**
+     * Waits until {@code received} gets what {@code publisher} publishes, as a subscription starts in the background
+     * and a change stream only sees what is inserted after it opened.
+     */
+    private static void following(final InvalidationBus publisher, final BlockingQueue<InvalidationEvent> received) throws InterruptedException {
+        final InvalidationEvent probe = InvalidationEvent.project("probe");
+        for (int attempt = 0; attempt < 100; attempt++) {
+            publisher.publish(probe);
+            if (received.poll(100, TimeUnit.MILLISECONDS) != null) {
+                // probes published before the subscription opened never arrive, later ones may still be on their way
+                Thread.sleep(200);
+                received.clear();
+                return;
+            }
+        }
+        fail("Never started following the published invalidations");
+    }
+
+    private static BlockingQueue<InvalidationEvent> listen(final InvalidationBus bus) {
+        final BlockingQueue<InvalidationEvent> received = new LinkedBlockingQueue<>();
+        bus.subscribe(received::add);
+        return received;
+    }
+}
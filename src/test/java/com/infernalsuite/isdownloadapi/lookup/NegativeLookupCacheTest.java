@@ -0,0 +1,106 @@
+package com.infernalsuite.isdownloadapi.lookup;
+
+import com.infernalsuite.isdownloadapi.database.model.Project;
+import com.infernalsuite.isdownloadapi.database.projection.VersionName;
+import com.infernalsuite.isdownloadapi.database.repository.ProjectCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionCollection;
+import com.infernalsuite.isdownloadapi.database.repository.VersionFamilyCollection;
+import com.infernalsuite.isdownloadapi.exception.BuildNotFound;
+import com.infernalsuite.isdownloadapi.invalidation.InvalidationEvent;
+import com.infernalsuite.isdownloadapi.invalidation.LocalInvalidationBus;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegativeLookupCacheTest {
+    private final ProjectCollection projects = Mockito.mock(ProjectCollection.class);
+    private final VersionCollection versions = Mockito.mock(VersionCollection.class);
+    private final VersionFamilyCollection families = Mockito.mock(VersionFamilyCollection.class);
+    private final LocalInvalidationBus invalidations = new LocalInvalidationBus();
+    private final Project paper = new Project(new ObjectId(), "paper", "Paper");
+
+    private NegativeLookupCache cache;
+
+    @BeforeEach
+    public void start() throws InterruptedException {
+        Mockito.when(this.projects.findAll()).thenReturn(List.of(this.paper));
+        Mockito.when(this.versions.findAllByProject(this.paper._id(), VersionName.class)).thenReturn(List.of(new VersionName("1.20.1", null, 0)));
+        Mockito.when(this.families.findAllByProject(this.paper._id(), VersionName.class)).thenReturn(List.of(new VersionName("1.20", null, 0)));
+        this.cache = new NegativeLookupCache(this.projects, this.versions, this.families, this.invalidations,
+                new NegativeLookupCache.Settings(1000, 0.001, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10)));
+        this.cache.start();
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (this.cache.mightExist("ghost") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    public void stop() {
+        this.cache.stop();
+    }
+
+    @Test
+    public void knownNamesMightExistAndOthersDoNot() {
+        assertTrue(this.cache.mightExist("paper"));
+        assertTrue(this.cache.mightExistVersion("paper", "1.20.1"));
+        assertTrue(this.cache.mightExistFamily("paper", "1.20"));
+        assertFalse(this.cache.mightExist("ghost"));
+        assertFalse(this.cache.mightExistVersion("paper", "9.9.9"));
+        assertFalse(this.cache.mightExistFamily("paper", "9.9"));
+    }
+
+    @Test
+    public void uploadAddsNewNamesAndDropsMisses() {
+        final Project velocity = new Project(new ObjectId(), "velocity", "Velocity");
+        Mockito.when(this.projects.findByName("velocity")).thenReturn(Optional.of(velocity));
+        Mockito.when(this.versions.findAllByProject(velocity._id(), VersionName.class)).thenReturn(List.of(new VersionName("3.3.0", null, 0)));
+        Mockito.when(this.families.findAllByProject(velocity._id(), VersionName.class)).thenReturn(List.of());
+        this.cache.recordMiss("/v1/projects/velocity/versions/3.3.0/builds/1", "velocity", BuildNotFound.INSTANCE, this.cache.generation());
+        assertSame(BuildNotFound.INSTANCE, this.cache.miss("/v1/projects/velocity/versions/3.3.0/builds/1"));
+
+        this.invalidations.publish(InvalidationEvent.build("velocity", "3.3.0", 1));
+
+        assertTrue(this.cache.mightExist("velocity"));
+        assertTrue(this.cache.mightExistVersion("velocity", "3.3.0"));
+        assertNull(this.cache.miss("/v1/projects/velocity/versions/3.3.0/builds/1"));
+    }
+
+    @Test
+    public void missesRecordedAcrossAnInvalidationAreDropped() {
+        final long generation = this.cache.generation();
+
+        this.invalidations.publish(InvalidationEvent.project("paper"));
+        this.cache.recordMiss("/v1/projects/paper/versions/1.20.1/builds/7", "paper", BuildNotFound.INSTANCE, generation);
+
+        assertNull(this.cache.miss("/v1/projects/paper/versions/1.20.1/builds/7"));
+    }
+
+    @Test
+    public void namesWhoseEventWasLostAreFoundByTheNextRebuild() throws InterruptedException {
+        final Project folia = new Project(new ObjectId(), "folia", "Folia");
+        final NegativeLookupCache rebuilding = new NegativeLookupCache(this.projects, this.versions, this.families, this.invalidations,
+                new NegativeLookupCache.Settings(1000, 0.001, Duration.ofMinutes(1), 1000, Duration.ofMillis(50)));
+        rebuilding.start();
+        try {
+            Mockito.when(this.projects.findAll()).thenReturn(List.of(this.paper, folia));
+
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!rebuilding.mightExist("folia") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(rebuilding.mightExist("folia"));
+        } finally {
+            rebuilding.stop();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.infernalsuite.isdownloadapi.storage;
+
+import com.infernalsuite.isdownloadapi.database.model.UploadSessionState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadSessionsTest {
+    private static final byte[] FILE = "0123456789".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path root;
+
+    private final MutableClock clock = new MutableClock();
+    private final MemoryStore store = new MemoryStore();
+
+    @Test
+    public void givenChunkCutOff_whenResumedAtReportedOffset_completeWithHashOfWholeFile() throws Exception {
+        final UploadSessions sessions = this.sessions();
+        final UploadSession session = sessions.create(FILE.length);
+
+        assertThrows(IOException.class, () -> sessions.append(session, new CutOff(FILE, 30_000), 0));
+        assertEquals(30_000, session.offset());
+
+        assertEquals(OptionalLong.empty(), sessions.append(session, new ByteArrayInputStream(FILE), 0));
+        final OptionalLong written = sessions.append(session, new ByteArrayInputStream(FILE, 30_000, FILE.length - 30_000), 30_000);
+
+        assertEquals(OptionalLong.of(FILE.length), written);
+        assertTrue(session.isComplete());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(FILE)), session.sha256());
+
+        final Path target = this.root.resolve("project/1.20.2/1/server/server.jar");
+        sessions.place(session, target);
+
+        assertArrayEquals(FILE, Files.readAllBytes(target));
+        assertTrue(sessions.find(session.id()).isEmpty());
+    }
+
+    @Test
+    public void givenChunkCutOffOnOneInstance_whenResumedOnAnother_continueWithTheStoredOffsetAndDigest() throws Exception {
+        final UploadSessions first = this.sessions();
+        final UploadSession session = first.create(FILE.length);
+        assertThrows(IOException.class, () -> first.append(session, new CutOff(FILE, 40_000), 0));
+
+        final UploadSessions second = this.sessions();
+        final UploadSession resumed = second.find(session.id()).orElseThrow();
+        assertEquals(40_000, resumed.offset());
+        second.append(resumed, new ByteArrayInputStream(FILE, 40_000, FILE.length - 40_000), 40_000);
+
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(FILE)), resumed.sha256());
+        // the first instance sees it moved on and takes it over too
+        assertEquals(FILE.length, first.find(session.id()).orElseThrow().offset());
+    }
+
+    @Test
+    public void givenChunkPastLength_whenAppended_reject() throws Exception {
+        final UploadSessions sessions = this.sessions();
+        final UploadSession session = sessions.create(4);
+
+        assertThrows(IllegalArgumentException.class, () -> sessions.append(session, new ByteArrayInputStream(FILE), 0));
+    }
+
+    @Test
+    public void givenIdleSession_whenSwept_dropSessionAndFile() throws Exception {
+        final UploadSessions sessions = this.sessions();
+        final UploadSession idle = sessions.create(FILE.length);
+        this.clock.advance(Duration.ofMinutes(30));
+        final UploadSession active = sessions.create(FILE.length);
+        this.clock.advance(Duration.ofMinutes(45));
+
+        sessions.sweep();
+
+        assertTrue(sessions.find(idle.id()).isEmpty());
+        assertFalse(Files.exists(idle.file()));
+        assertTrue(sessions.find(active.id()).isPresent());
+        assertTrue(Files.exists(active.file()));
+    }
+
+    private UploadSessions sessions() {
+        return new UploadSessions(new ArtifactStorage(this.root), this.store, new UploadSessions.Settings(Duration.ofHours(1), Duration.ofMinutes(10), 1024 * 1024), this.clock);
+    }
+
+    /**
+     * A body whose connection drops after some bytes.
+     */
+    private static final class CutOff extends InputStream {
+        private final ByteArrayInputStream in;
+        private int left;
+
+        private CutOff(final byte[] bytes, final int length) {
+            this.in = new ByteArrayInputStream(bytes);
+            this.left = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] one = new byte[1];
+            return this.read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (this.left == 0) {
+                throw new IOException("connection reset");
+            }
+            final int read = this.in.read(bytes, offset, Math.min(length, this.left));
+            this.left -= read;
+            return read;
+        }
+    }
+
+    private static final class MemoryStore implements UploadSessionStore {
+        private final Map<String, UploadSessionState> states = new ConcurrentHashMap<>();
+
+        @Override
+        public void create(final UploadSessionState state) {
+            this.states.put(state._id(), state);
+        }
+
+        @Override
+        public Optional<UploadSessionState> find(final String id) {
+            return Optional.ofNullable(this.states.get(id));
+        }
+
+        @Override
+        public void advance(final String id, final long offset, final Instant touched) {
+            this.states.computeIfPresent(id, (key, state) -> new UploadSessionState(key, state.file(), state.length(),
+                    Math.max(state.offset(), offset), touched.isAfter(state.touched()) ? touched : state.touched()));
+        }
+
+        @Override
+        public void remove(final String id) {
+            this.states.remove(id);
+        }
+
+        @Override
+        public List<UploadSessionState> findAll() {
+            return List.copyOf(this.states.values());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2023-10-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+}
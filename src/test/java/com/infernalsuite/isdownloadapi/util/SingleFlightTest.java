@@ -0,0 +1,91 @@
+package com.infernalsuite.isdownloadapi.util;
+
+import com.infernalsuite.isdownloadapi.exception.LookupTimedOut;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private final SingleFlight<String, String> flights = new SingleFlight<>(Duration.ofSeconds(5));
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void givenFlightInProgress_whenSameKeyRequested_shareItsValueWithoutBlocking() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CompletableFuture<CompletableFuture<String>> leader = CompletableFuture.supplyAsync(() -> this.flights.get("key", () -> {
+            loads.incrementAndGet();
+            this.hold();
+            return "value";
+        }));
+        assertTrue(this.started.await(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<String> waiter = this.flights.get("key", () -> {
+            loads.incrementAndGet();
+            return "other";
+        });
+
+        assertFalse(waiter.isDone());
+        this.release.countDown();
+        assertEquals("value", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS).join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void givenFlightFailing_whenJoined_failWithTheSameException() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("lookup failed");
+        final CompletableFuture<CompletableFuture<String>> leader = CompletableFuture.supplyAsync(() -> this.flights.get("key", () -> {
+            this.hold();
+            throw failure;
+        }));
+        assertTrue(this.started.await(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<String> waiter = this.flights.get("key", () -> "other");
+        this.release.countDown();
+
+        final ExecutionException joined = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertSame(failure, joined.getCause());
+        final ExecutionException led = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertSame(failure, led.getCause());
+    }
+
+    @Test
+    public void givenSlowFlight_whenWaitingLongerThanTheTimeout_giveUpAlone() throws Exception {
+        final SingleFlight<String, String> flights = new SingleFlight<>(Duration.ofMillis(50));
+        final CompletableFuture<CompletableFuture<String>> leader = CompletableFuture.supplyAsync(() -> flights.get("key", () -> {
+            this.hold();
+            return "value";
+        }));
+        assertTrue(this.started.await(5, TimeUnit.SECONDS));
+
+        final CompletableFuture<String> waiter = flights.get("key", () -> "other");
+
+        final ExecutionException timedOut = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LookupTimedOut.class, timedOut.getCause());
+        this.release.countDown();
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS).join());
+    }
+
+    @Test
+    public void givenFlightDone_whenSameKeyRequestedAgain_loadAgain() {
+        assertEquals("first", this.flights.get("key", () -> "first").join());
+        assertEquals("second", this.flights.get("key", () -> "second").join());
+    }
+
+    private void hold() {
+        this.started.countDown();
+        try {
+            assertTrue(this.release.await(5, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.infernalsuite.isdownloadapi.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.infernalsuite.isdownloadapi.database.model.Build;
+import com.infernalsuite.isdownloadapi.database.model.WebhookDelivery;
+import com.infernalsuite.isdownloadapi.database.model.WebhookSubscription;
+import com.sun.net.httpserver.HttpServer;
+import org.bson.types.ObjectId;
+import org.json.JSONStringer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends deliveries to a local HTTP stub.
+ */
+class WebhookClientTest {
+
+    private final AtomicInteger status = new AtomicInteger(204);
+    private final AtomicReference<byte[]> body = new AtomicReference<>();
+    private final AtomicReference<String> signature = new AtomicReference<>();
+    private HttpServer server;
+    private WebhookClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/hook", exchange -> {
+            this.body.set(exchange.getRequestBody().readAllBytes());
+            this.signature.set(exchange.getRequestHeaders().getFirst(WebhookClient.SIGNATURE));
+            exchange.sendResponseHeaders(this.status.get(), -1);
+            exchange.close();
+        });
+        this.server.start();
+        this.client = new WebhookClient(new ObjectMapper().registerModule(new JavaTimeModule()), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void stop() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void givenBatch_whenSend_postSignedEventsInOrder() throws Exception {
+        WebhookSubscription subscription = this.subscription("secret");
+        List<WebhookDelivery> deliveries = List.of(this.delivery(subscription, 41, 1), this.delivery(subscription, 42, 2));
+
+        assertNull(this.client.send(subscription, deliveries));
+
+        JSONStringer expected = new JSONStringer();
+        expected.object()
+                .key("events").array()
+                .object().key("id").value("41").key("project").value("project").key("build").value(1).endObject()
+                .object().key("id").value("42").key("project").value("project").key("build").value(2).endObject()
+                .endArray()
+                .endObject();
+        JSONAssert.assertEquals(expected.toString(), new String(this.body.get(), StandardCharsets.UTF_8), false);
+        assertEquals("sha256=" + WebhookClient.sign("secret", this.body.get()), this.signature.get());
+    }
+
+    @Test
+    void givenFailingEndpoint_whenSend_returnError() {
+        this.status.set(503);
+        WebhookSubscription subscription = this.subscription(null);
+
+        assertEquals("HTTP 503", this.client.send(subscription, List.of(this.delivery(subscription, 1, 1))));
+        assertNull(this.signature.get());
+    }
+
+    private WebhookSubscription subscription(final String secret) {
+        String url = "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort() + "/hook";
+        return new WebhookSubscription(new ObjectId(), url, secret, List.of(), List.of(), true, null, null);
+    }
+
+    private WebhookDelivery delivery(final WebhookSubscription subscription, final long sequence, final int build) {
+        return new WebhookDelivery(new ObjectId(), subscription._id(), new ObjectId(), sequence, "project", "1.20.2", build, Build.Channel.STABLE, Instant.now(), 0, Instant.now(), null, false);
+    }
+}